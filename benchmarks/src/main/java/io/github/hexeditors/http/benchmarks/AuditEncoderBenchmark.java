@@ -0,0 +1,54 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.github.hexeditors.http.audit.AuditCategory;
+import io.github.hexeditors.http.audit.AuditEncoder;
+import io.github.hexeditors.http.audit.AuditEvent;
+import io.github.hexeditors.http.audit.AuditSeverity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AuditEncoder} writing a typical audit event as a JSON line and as a binary record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditEncoderBenchmark {
+
+    AuditEvent event;
+    AuditEncoder encoder;
+
+    @Setup
+    public void setup() {
+        event = AuditEvent.builder()
+                .timestamp(Instant.now())
+                .category(AuditCategory.PCI)
+                .severity(AuditSeverity.CRITICAL)
+                .serviceName("checkout-service")
+                .operation("HTTP_CLIENT_CALL")
+                .correlationId("5b3c1a0e-8d6f-4e2b-9a7c-1f0e2d3c4b5a")
+                .httpMethod("POST")
+                .url("https://payments.internal.example.com/v2/charges")
+                .httpStatus(201)
+                .piiLevel("SECRET")
+                .metadata(Map.of())
+                .build();
+        encoder = new AuditEncoder();
+    }
+
+    @Benchmark
+    public int jsonLine() {
+        return encoder.reset().jsonLine(event).length();
+    }
+
+    @Benchmark
+    public int binary() {
+        return encoder.reset().binary(event).length();
+    }
+}
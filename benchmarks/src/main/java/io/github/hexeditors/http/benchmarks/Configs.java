@@ -0,0 +1,105 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.smallrye.config.WithDefault;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds config mapping instances outside of Quarkus.
+ * Every method returns its override if present, otherwise the value of its {@link WithDefault} annotation,
+ * and empty optionals and collections for unset properties.
+ */
+public final class Configs {
+
+    private Configs() {
+    }
+
+    /**
+     * Creates a config mapping instance with the given overrides.
+     *
+     * @param <T>       the config mapping type
+     * @param type      the config mapping interface
+     * @param overrides property values keyed by method name
+     * @return the config instance
+     */
+    public static <T> T of(Class<T> type, Map<String, Object> overrides) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + overrides;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+            if (overrides.containsKey(method.getName())) {
+                return overrides.get(method.getName());
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return defaultValue(method);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> returnType = method.getReturnType();
+        WithDefault withDefault = method.getAnnotation(WithDefault.class);
+        if (withDefault != null) {
+            return convert(withDefault.value(), returnType);
+        }
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (returnType == Map.class) {
+            return Map.of();
+        }
+        if (returnType == Set.class) {
+            return Set.of();
+        }
+        if (returnType == List.class) {
+            return List.of();
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer.parseInt(value);
+        }
+        if (type == long.class || type == Long.class) {
+            return Long.parseLong(value);
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.parseDouble(value);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Boolean.parseBoolean(value);
+        }
+        if (type == Set.class) {
+            return Arrays.stream(value.split(",")).map(String::trim).collect(Collectors.toUnmodifiableSet());
+        }
+        if (type == List.class) {
+            return Arrays.stream(value.split(",")).map(String::trim).toList();
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+        throw new IllegalArgumentException("Unsupported config type " + type.getName());
+    }
+}
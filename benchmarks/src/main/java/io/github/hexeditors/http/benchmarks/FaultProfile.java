@@ -0,0 +1,64 @@
+package io.github.hexeditors.http.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Failure behaviour injected by {@link StubServer}.
+ * Latency follows a log-normal distribution fitted to the given median and p99, which matches the long right tail
+ * of real upstreams far better than a fixed or uniform delay.
+ *
+ * @param latencyMedianMillis median response latency in milliseconds, 0 for none
+ * @param latencyP99Millis    99th percentile response latency in milliseconds
+ * @param resetRate           probability of resetting the connection instead of answering
+ * @param burstEvery          length of the cycle, in requests, in which a 5xx burst occurs, 0 for no bursts
+ * @param burstLength         number of consecutive requests answered with 503 at the start of each cycle
+ * @param slowBodyRate        probability of trickling the response body in chunks
+ * @param slowBodyChunks      number of chunks a slow body is split into
+ * @param slowChunkDelayMillis delay between the chunks of a slow body in milliseconds
+ */
+public record FaultProfile(
+        double latencyMedianMillis,
+        double latencyP99Millis,
+        double resetRate,
+        int burstEvery,
+        int burstLength,
+        double slowBodyRate,
+        int slowBodyChunks,
+        long slowChunkDelayMillis
+) {
+
+    /**
+     * A profile that answers every request immediately and successfully.
+     */
+    public static final FaultProfile NONE = new FaultProfile(0, 0, 0, 0, 0, 0, 1, 0);
+
+    private static final double Z_99 = 2.326;
+
+    /**
+     * Samples the latency of the next response.
+     *
+     * @param random the random source
+     * @return the latency in milliseconds
+     */
+    public long sampleLatencyMillis(Random random) {
+        if (latencyMedianMillis <= 0) {
+            return 0;
+        }
+        if (latencyP99Millis <= latencyMedianMillis) {
+            return Math.round(latencyMedianMillis);
+        }
+        double mu = Math.log(latencyMedianMillis);
+        double sigma = (Math.log(latencyP99Millis) - mu) / Z_99;
+        return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Tells whether the request with the given sequence number falls into a 5xx burst.
+     *
+     * @param sequence the 0-based request sequence number
+     * @return true if the request should be answered with 503
+     */
+    public boolean inBurst(long sequence) {
+        return burstEvery > 0 && sequence % burstEvery < burstLength;
+    }
+}
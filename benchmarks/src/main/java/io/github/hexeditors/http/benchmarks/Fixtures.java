@@ -0,0 +1,207 @@
+package io.github.hexeditors.http.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.hexeditors.http.audit.AuditConfig;
+import io.github.hexeditors.http.audit.AuditPolicy;
+import io.github.hexeditors.http.audit.AuditPublisher;
+import io.github.hexeditors.http.audit.LoggingAuditSink;
+import io.github.hexeditors.http.balancer.DnsEndpointResolver;
+import io.github.hexeditors.http.balancer.ServiceRegistry;
+import io.github.hexeditors.http.codec.PayloadCodecs;
+import io.github.hexeditors.http.config.CorrelationIdConfig;
+import io.github.hexeditors.http.config.DeadlineConfig;
+import io.github.hexeditors.http.config.HttpClientConfig;
+import io.github.hexeditors.http.config.TlsConfig;
+import io.github.hexeditors.http.impl.VertxHttpClient;
+import io.github.hexeditors.http.impl.WebClientFactory;
+import io.github.hexeditors.http.logging.TraceSampler;
+import io.github.hexeditors.http.pii.JsonBodyMasker;
+import io.github.hexeditors.http.pii.PiiClassifier;
+import io.github.hexeditors.http.pii.PiiConfig;
+import io.github.hexeditors.http.pii.PiiMasker;
+import io.github.hexeditors.http.pii.PiiMaskingConfig;
+import io.github.hexeditors.http.pii.RegexPiiDetector;
+import io.github.hexeditors.http.ratelimit.RateLimiters;
+import io.github.hexeditors.http.util.CorrelationIdUtil;
+import io.github.hexeditors.http.util.DeadlineUtil;
+import io.github.hexeditors.http.util.UrlTemplates;
+import io.vertx.core.Vertx;
+import org.eclipse.microprofile.context.spi.ContextManagerProvider;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+/**
+ * Wires the runtime beans by hand, the way CDI would, so benchmarks measure the production code paths
+ * without booting Quarkus.
+ */
+public final class Fixtures {
+
+    /**
+     * Header rules used by all benchmarks.
+     */
+    public static final Map<String, String> HEADER_RULES = Map.of(
+            "Authorization", "SECRET",
+            "Cookie", "HIGH",
+            "X-Api-Key", "HIGH",
+            "X-User-Email", "MEDIUM"
+    );
+
+    /**
+     * JSON field rules used by all benchmarks.
+     */
+    public static final Map<String, String> JSON_RULES = Map.of(
+            "password", "SECRET",
+            "number", "SECRET",
+            "cvv", "SECRET",
+            "ssn", "SECRET",
+            "token", "HIGH",
+            "email", "MEDIUM",
+            "phone", "MEDIUM"
+    );
+
+    static {
+        // Outside Quarkus the context propagation provider is set up lazily, and concurrent first use races on it
+        ContextManagerProvider.instance();
+    }
+
+    private Fixtures() {
+    }
+
+    /**
+     * Creates the PII configuration shared by the benchmarks.
+     *
+     * @return the PII configuration
+     */
+    public static PiiConfig piiConfig() {
+        return Configs.of(PiiConfig.class, Map.of(
+                "headers", HEADER_RULES,
+                "json", JSON_RULES,
+                "masking", Configs.of(PiiMaskingConfig.class, Map.of())));
+    }
+
+    /**
+     * Creates a PII masker backed by {@link #piiConfig()}.
+     *
+     * @return the masker
+     */
+    public static PiiMasker piiMasker() {
+        PiiMasker masker = new PiiMasker();
+        inject(masker, piiConfig());
+        return masker;
+    }
+
+    /**
+     * Creates a PII classifier backed by {@link #piiConfig()}.
+     *
+     * @return the classifier
+     */
+    public static PiiClassifier piiClassifier() {
+        PiiClassifier classifier = new PiiClassifier();
+        inject(classifier, piiConfig());
+        return classifier;
+    }
+
+    /**
+     * Creates a JSON body masker backed by {@link #piiConfig()}.
+     *
+     * @param mapper the object mapper
+     * @return the masker
+     */
+    public static JsonBodyMasker jsonBodyMasker(ObjectMapper mapper) {
+        JsonBodyMasker masker = new JsonBodyMasker();
+        inject(masker, mapper, piiClassifier(), new RegexPiiDetector(), piiConfig(), piiMasker());
+        return masker;
+    }
+
+    /**
+     * Creates a fully wired HTTP client with trace logging and audit in their default (off) state.
+     *
+     * @param vertx the Vert.x instance
+     * @return the client
+     */
+    public static VertxHttpClient httpClient(Vertx vertx) {
+        return httpClient(vertx, Configs.of(HttpClientConfig.class, Map.of()));
+    }
+
+    /**
+     * Creates a fully wired HTTP client with the given client configuration.
+     *
+     * @param vertx            the Vert.x instance
+     * @param httpClientConfig the client configuration
+     * @return the client
+     */
+    public static VertxHttpClient httpClient(Vertx vertx, HttpClientConfig httpClientConfig) {
+        ObjectMapper mapper = new ObjectMapper();
+        io.vertx.mutiny.core.Vertx mutinyVertx = io.vertx.mutiny.core.Vertx.newInstance(vertx);
+        DnsEndpointResolver endpointResolver = new DnsEndpointResolver();
+        inject(endpointResolver, httpClientConfig);
+
+        WebClientFactory factory = new WebClientFactory();
+        inject(factory, mutinyVertx, Configs.of(TlsConfig.class, Map.of()), httpClientConfig, endpointResolver);
+
+        AuditPublisher auditPublisher = new AuditPublisher();
+        inject(auditPublisher, new LoggingAuditSink(), new AuditPolicy(), Configs.of(AuditConfig.class, Map.of()));
+
+        CorrelationIdUtil correlationIdUtil = new CorrelationIdUtil();
+        inject(correlationIdUtil, Configs.of(CorrelationIdConfig.class, Map.of()), vertx);
+
+        DeadlineUtil deadlineUtil = new DeadlineUtil();
+        inject(deadlineUtil, Configs.of(DeadlineConfig.class, Map.of()));
+
+        PayloadCodecs codecs = new PayloadCodecs();
+        inject(codecs, mapper);
+
+        ServiceRegistry services = new ServiceRegistry();
+        inject(services, httpClientConfig);
+
+        RateLimiters rateLimiters = new RateLimiters();
+        inject(rateLimiters, factory, mutinyVertx);
+
+        TraceSampler traceSampler = new TraceSampler();
+        inject(traceSampler, factory);
+
+        UrlTemplates urlTemplates = new UrlTemplates();
+        inject(urlTemplates, httpClientConfig);
+
+        VertxHttpClient client = new VertxHttpClient();
+        inject(client,
+                factory,
+                piiClassifier(),
+                new RegexPiiDetector(),
+                jsonBodyMasker(mapper),
+                piiMasker(),
+                auditPublisher,
+                httpClientConfig,
+                correlationIdUtil,
+                deadlineUtil,
+                mutinyVertx,
+                codecs,
+                services,
+                rateLimiters,
+                traceSampler,
+                urlTemplates);
+        return client;
+    }
+
+    /**
+     * Assigns each dependency to every declared field of the target whose type accepts it.
+     *
+     * @param target the bean to populate
+     * @param deps   the dependencies to inject
+     */
+    public static void inject(Object target, Object... deps) {
+        for (Object dep : deps) {
+            for (Field field : target.getClass().getDeclaredFields()) {
+                if (field.getType().isAssignableFrom(dep.getClass())) {
+                    field.setAccessible(true);
+                    try {
+                        field.set(target, dep);
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot inject " + field, e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.hexeditors.http.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.hexeditors.http.pii.JsonBodyMasker;
+import io.github.hexeditors.http.pii.MaskingResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonBodyMasker} on deserialized objects (the response path) and on encoded bytes (the request path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBodyMaskerBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    Payloads.Size size;
+
+    JsonBodyMasker masker;
+    Object document;
+    byte[] json;
+
+    @Setup
+    public void setup() {
+        masker = Fixtures.jsonBodyMasker(new ObjectMapper());
+        document = Payloads.document(size);
+        json = Payloads.json(size);
+    }
+
+    @Benchmark
+    public MaskingResult maskObject() {
+        return masker.mask(document);
+    }
+
+    @Benchmark
+    public MaskingResult maskEncoded() {
+        return masker.maskJson(json);
+    }
+}
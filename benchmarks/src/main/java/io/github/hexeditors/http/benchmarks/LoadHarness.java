@@ -0,0 +1,198 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.github.hexeditors.http.api.HttpResponse;
+import io.github.hexeditors.http.config.HttpClientConfig;
+import io.github.hexeditors.http.impl.VertxHttpClient;
+import io.vertx.core.Vertx;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drives {@link VertxHttpClient} at a fixed arrival rate against a fault-injecting {@link StubServer}.
+ * Latency is measured from the intended start time of each request, not from when a worker picked it up,
+ * so queueing behind slow calls shows up in the percentiles instead of being hidden (coordinated omission).
+ * Service time, measured from the actual start, is reported next to it for comparison.
+ *
+ * <p>Options are passed as {@code --name=value}:
+ * <ul>
+ *     <li>{@code rate} requests per second (default 200)</li>
+ *     <li>{@code duration} / {@code warmup} measured and warm-up seconds (default 30 / 5)</li>
+ *     <li>{@code workers} concurrent callers (default 64)</li>
+ *     <li>{@code method} GET or POST (default GET), {@code size} response payload size (default SMALL)</li>
+ *     <li>{@code timeout-millis} / {@code max-retries} client settings (default 5000 / 3)</li>
+ *     <li>{@code latency-median} / {@code latency-p99} upstream latency in ms (default 0 / 0)</li>
+ *     <li>{@code reset-rate} connection reset probability (default 0)</li>
+ *     <li>{@code burst-every} / {@code burst-length} 5xx burst cycle and length in requests (default 0 / 0)</li>
+ *     <li>{@code slow-rate} / {@code slow-chunks} / {@code slow-chunk-delay} slow body probability,
+ *     chunk count and delay in ms (default 0 / 10 / 50)</li>
+ * </ul>
+ */
+public final class LoadHarness {
+
+    // Strong reference, so the level set below is not lost when JUL drops unreferenced loggers
+    private static final Logger CLIENT_LOGGER = Logger.getLogger("io.github.hexeditors.http");
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Recorder responseTime = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Recorder serviceTime = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    private LoadHarness() {
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args options as {@code --name=value}
+     * @throws Exception if the stub server cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        CLIENT_LOGGER.setLevel(Level.parse(options.getOrDefault("client-log-level", "OFF")));
+
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int workers = Integer.parseInt(options.getOrDefault("workers", "64"));
+        String method = options.getOrDefault("method", "GET");
+        Payloads.Size size = Payloads.Size.valueOf(options.getOrDefault("size", "SMALL"));
+
+        FaultProfile faults = new FaultProfile(
+                Double.parseDouble(options.getOrDefault("latency-median", "0")),
+                Double.parseDouble(options.getOrDefault("latency-p99", "0")),
+                Double.parseDouble(options.getOrDefault("reset-rate", "0")),
+                Integer.parseInt(options.getOrDefault("burst-every", "0")),
+                Integer.parseInt(options.getOrDefault("burst-length", "0")),
+                Double.parseDouble(options.getOrDefault("slow-rate", "0")),
+                Integer.parseInt(options.getOrDefault("slow-chunks", "10")),
+                Long.parseLong(options.getOrDefault("slow-chunk-delay", "50"))
+        );
+        HttpClientConfig clientConfig = Configs.of(HttpClientConfig.class, Map.of(
+                "timeoutMillis", Integer.parseInt(options.getOrDefault("timeout-millis", "5000")),
+                "maxRetries", Integer.parseInt(options.getOrDefault("max-retries", "3"))
+        ));
+
+        Vertx vertx = Vertx.vertx();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try (StubServer server = StubServer.start(vertx, Payloads.json(size), faults)) {
+            VertxHttpClient client = Fixtures.httpClient(vertx, clientConfig);
+            Object requestBody = Payloads.document(Payloads.Size.SMALL);
+            String url = server.url("/orders");
+
+            System.out.printf("rate=%d/s duration=%ds warmup=%ds workers=%d method=%s size=%s faults=%s client=%s%n",
+                    rate, duration, warmup, workers, method, size, faults, clientConfig);
+
+            LoadHarness harness = new LoadHarness();
+            harness.drive(pool, client, method, url, requestBody, rate, warmup, false);
+            harness.drive(pool, client, method, url, requestBody, rate, duration, true);
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            harness.report(System.out, duration);
+        } finally {
+            pool.shutdownNow();
+            vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Issues requests at the given rate for the given number of seconds.
+     * The dispatcher never waits for completions; late workers are charged from the intended start.
+     * Only requests intended to start within a measured run are recorded, so warm-up calls still in flight are ignored.
+     */
+    private void drive(
+            ExecutorService pool,
+            VertxHttpClient client,
+            String method,
+            String url,
+            Object requestBody,
+            int rate,
+            int seconds,
+            boolean measured
+    ) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = (long) rate * seconds;
+        long start = System.nanoTime();
+        if (measured) {
+            measureFrom = start;
+        }
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            pool.execute(() -> {
+                long actual = System.nanoTime();
+                HttpResponse<Map> response = "POST".equalsIgnoreCase(method)
+                        ? client.post(url, Map.of(), Map.of(), requestBody, Map.class)
+                        : client.get(url, Map.of(), Map.of(), Map.class);
+                long end = System.nanoTime();
+                if (intended < measureFrom) {
+                    return;
+                }
+                responseTime.recordValue(Math.min(end - intended, MAX_LATENCY_NANOS));
+                serviceTime.recordValue(Math.min(end - actual, MAX_LATENCY_NANOS));
+                outcomes.computeIfAbsent(outcome(response.getStatusCode()), k -> new LongAdder()).increment();
+            });
+        }
+    }
+
+    private void report(PrintStream out, int seconds) {
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+
+        out.printf("%nrequests=%d achieved=%.1f/s outcomes=%s%n",
+                response.getTotalCount(), response.getTotalCount() / (double) seconds, outcomes);
+        out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "ms", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        summary(out, "response", response);
+        summary(out, "service", service);
+
+        out.printf("%nResponse time distribution (ms, measured from intended start):%n");
+        response.outputPercentileDistribution(out, 5, 1_000_000.0);
+    }
+
+    private static void summary(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-10s %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                label,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(90) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getValueAtPercentile(99.99) / 1e6,
+                histogram.getMaxValue() / 1e6);
+    }
+
+    private static String outcome(int status) {
+        if (status == 0) {
+            return "failure";
+        }
+        return (status / 100) + "xx";
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
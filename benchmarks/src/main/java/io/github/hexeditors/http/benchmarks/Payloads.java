@@ -0,0 +1,116 @@
+package io.github.hexeditors.http.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic payload corpus shaped like order-service traffic: a customer block with contact and card data,
+ * line items, and free-text notes that occasionally carry PII the field rules do not cover.
+ */
+public final class Payloads {
+
+    /**
+     * Payload sizes of the corpus.
+     */
+    public enum Size {
+        /**
+         * A single order with two items, around 0.5 KB.
+         */
+        SMALL(1, 2),
+        /**
+         * A single order with a hundred items, around 15 KB.
+         */
+        MEDIUM(1, 100),
+        /**
+         * A page of two hundred orders with twenty items each, around 600 KB.
+         */
+        LARGE(200, 20);
+
+        private final int orders;
+        private final int items;
+
+        Size(int orders, int items) {
+            this.orders = orders;
+            this.items = items;
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Payloads() {
+    }
+
+    /**
+     * Builds the payload of the given size as plain maps and lists, as it looks after deserialization.
+     *
+     * @param size the payload size
+     * @return the payload
+     */
+    public static Object document(Size size) {
+        Random random = new Random(42);
+        if (size.orders == 1) {
+            return order(random, 0, size.items);
+        }
+        List<Object> orders = new ArrayList<>(size.orders);
+        for (int i = 0; i < size.orders; i++) {
+            orders.add(order(random, i, size.items));
+        }
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("page", 1);
+        page.put("total", size.orders);
+        page.put("orders", orders);
+        return page;
+    }
+
+    /**
+     * Builds the payload of the given size encoded as JSON.
+     *
+     * @param size the payload size
+     * @return the encoded payload
+     */
+    public static byte[] json(Size size) {
+        try {
+            return MAPPER.writeValueAsBytes(document(size));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> order(Random random, int index, int items) {
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("number", "4111111111111111");
+        card.put("expiry", "12/29");
+        card.put("cvv", "123");
+
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("id", "cust-" + (10_000 + random.nextInt(90_000)));
+        customer.put("name", "Customer " + index);
+        customer.put("email", "customer" + index + "@example.com");
+        customer.put("phone", "+1-555-010-" + (1000 + random.nextInt(9000)));
+        customer.put("card", card);
+
+        List<Object> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("sku", "SKU-" + random.nextInt(1_000_000));
+            line.put("quantity", 1 + random.nextInt(5));
+            line.put("price", random.nextInt(100_000) / 100.0);
+            line.put("description", "Item " + i + " of order " + index);
+            line.put("note", random.nextInt(50) == 0 ? "ship to ssn 123-45-6789" : "leave at the door");
+            lines.add(line);
+        }
+
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderId", "ord-" + index + "-" + random.nextInt(1_000_000));
+        order.put("status", "CONFIRMED");
+        order.put("customer", customer);
+        order.put("items", lines);
+        return order;
+    }
+}
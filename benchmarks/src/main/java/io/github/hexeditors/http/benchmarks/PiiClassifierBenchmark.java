@@ -0,0 +1,46 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.github.hexeditors.http.pii.PiiClassifier;
+import io.github.hexeditors.http.pii.PiiLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PiiClassifier} lookups for configured and unconfigured header and field names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PiiClassifierBenchmark {
+
+    PiiClassifier classifier;
+
+    @Setup
+    public void setup() {
+        classifier = Fixtures.piiClassifier();
+    }
+
+    @Benchmark
+    public PiiLevel jsonFieldHit() {
+        return classifier.classifyJsonField("password");
+    }
+
+    @Benchmark
+    public PiiLevel jsonFieldMiss() {
+        return classifier.classifyJsonField("description");
+    }
+
+    @Benchmark
+    public PiiLevel headerHit() {
+        return classifier.classifyHeader("authorization");
+    }
+
+    @Benchmark
+    public PiiLevel headerMiss() {
+        return classifier.classifyHeader("Accept-Encoding");
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.github.hexeditors.http.pii.PiiLevel;
+import io.github.hexeditors.http.pii.RegexPiiDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RegexPiiDetector#detect(String)} on typical header and field values, with and without PII.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegexPiiDetectorBenchmark {
+
+    private static final Map<String, String> VALUES = Map.of(
+            "SHORT_CLEAN", "application/json",
+            "CARD", "4111111111111111",
+            "SSN", "123-45-6789",
+            "LONG_CLEAN", "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+                    + "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud "
+                    + "exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat 2024-01-15.",
+            "LONG_WITH_CARD", "Please charge the card 5500000000000004 for the remaining balance of order 77812 "
+                    + "and send the receipt to the billing address on file."
+    );
+
+    @Param({"SHORT_CLEAN", "CARD", "SSN", "LONG_CLEAN", "LONG_WITH_CARD"})
+    String input;
+
+    RegexPiiDetector detector;
+    String value;
+
+    @Setup
+    public void setup() {
+        detector = new RegexPiiDetector();
+        value = VALUES.get(input);
+    }
+
+    @Benchmark
+    public PiiLevel detect() {
+        return detector.detect(value);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local Vert.x HTTP server answering every request with a fixed JSON body, optionally injecting the faults
+ * described by a {@link FaultProfile}.
+ * Request bodies are read fully before responding, so uploads are measured end to end.
+ */
+public final class StubServer implements AutoCloseable {
+
+    private final Vertx vertx;
+    private final HttpServer server;
+    private final Buffer body;
+    private final FaultProfile faults;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private StubServer(Vertx vertx, Buffer body, FaultProfile faults) {
+        this.vertx = vertx;
+        this.body = body;
+        this.faults = faults;
+        // SO_LINGER 0 turns a close into a TCP reset, which is what the reset fault simulates
+        this.server = vertx.createHttpServer(new HttpServerOptions().setSoLinger(0));
+    }
+
+    /**
+     * Starts a server without faults on an ephemeral port.
+     *
+     * @param vertx the Vert.x instance
+     * @param body  the response body returned for every request
+     * @return the started server
+     * @throws Exception if the server cannot be started
+     */
+    public static StubServer start(Vertx vertx, byte[] body) throws Exception {
+        return start(vertx, body, FaultProfile.NONE);
+    }
+
+    /**
+     * Starts a fault-injecting server on an ephemeral port.
+     *
+     * @param vertx  the Vert.x instance
+     * @param body   the response body returned for every successful request
+     * @param faults the faults to inject
+     * @return the started server
+     * @throws Exception if the server cannot be started
+     */
+    public static StubServer start(Vertx vertx, byte[] body, FaultProfile faults) throws Exception {
+        StubServer stub = new StubServer(vertx, Buffer.buffer(body), faults);
+        stub.server.requestHandler(req -> req.body().onComplete(ignored -> stub.handle(req)))
+                .listen(0)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        return stub;
+    }
+
+    private void handle(HttpServerRequest req) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long n = sequence.getAndIncrement();
+
+        if (random.nextDouble() < faults.resetRate()) {
+            req.connection().close();
+            return;
+        }
+
+        long latency = faults.sampleLatencyMillis(random);
+        if (latency > 0) {
+            vertx.setTimer(latency, ignored -> respond(req, n, random.nextDouble() < faults.slowBodyRate()));
+        } else {
+            respond(req, n, random.nextDouble() < faults.slowBodyRate());
+        }
+    }
+
+    private void respond(HttpServerRequest req, long n, boolean slow) {
+        HttpServerResponse response = req.response();
+        if (faults.inBurst(n)) {
+            response.setStatusCode(503).end();
+            return;
+        }
+        response.putHeader("Content-Type", "application/json");
+        if (!slow || faults.slowBodyChunks() <= 1) {
+            response.end(body);
+            return;
+        }
+        response.setChunked(true);
+        writeChunk(response, 0, (body.length() + faults.slowBodyChunks() - 1) / faults.slowBodyChunks());
+    }
+
+    private void writeChunk(HttpServerResponse response, int offset, int chunkSize) {
+        int end = Math.min(offset + chunkSize, body.length());
+        if (end >= body.length()) {
+            response.end(body.slice(offset, end));
+            return;
+        }
+        response.write(body.slice(offset, end));
+        vertx.setTimer(Math.max(1, faults.slowChunkDelayMillis()), ignored -> writeChunk(response, end, chunkSize));
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the port
+     */
+    public int port() {
+        return server.actualPort();
+    }
+
+    /**
+     * Builds an absolute URL for the given path on this server.
+     *
+     * @param path the request path
+     * @return the URL
+     */
+    public String url(String path) {
+        return "http://localhost:" + port() + path;
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.hexeditors.http.benchmarks;
+
+import io.github.hexeditors.http.api.HttpResponse;
+import io.github.hexeditors.http.impl.VertxHttpClient;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput and latency of {@link VertxHttpClient} against a local Vert.x stub server.
+ * Covers the full hot path: correlation scoping, body encoding, the network round trip, JSON decoding,
+ * response masking and the audit decision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class VertxHttpClientBenchmark {
+
+    @Param({"SMALL", "MEDIUM"})
+    Payloads.Size size;
+
+    Vertx vertx;
+    StubServer server;
+    VertxHttpClient client;
+    Object requestBody;
+    String url;
+
+    @Setup
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        server = StubServer.start(vertx, Payloads.json(size));
+        client = Fixtures.httpClient(vertx);
+        requestBody = Payloads.document(Payloads.Size.SMALL);
+        url = server.url("/orders");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.close();
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public HttpResponse<Map> get() {
+        return client.get(url, Map.of(), Map.of(), Map.class);
+    }
+
+    @Benchmark
+    public HttpResponse<Map> post() {
+        return client.post(url, Map.of(), Map.of(), requestBody, Map.class);
+    }
+}
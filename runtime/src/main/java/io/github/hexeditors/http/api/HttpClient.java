@@ -1,5 +1,7 @@
 package io.github.hexeditors.http.api;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import java.util.Map;
 
 /**
@@ -32,7 +34,7 @@ public interface HttpClient {
      * @param url          the URL to send the POST request to
      * @param params       query parameters to include in the request
      * @param headers      headers to include in the request
-     * @param body         the request body to send
+     * @param body         the request body to send; a {@code byte[]} or Vert.x {@code Buffer} is sent as-is without JSON encoding
      * @param responseType the class type of the expected response body for deserialization
      * @return the HTTP response containing status, headers, and deserialized body
      */
@@ -51,7 +53,7 @@ public interface HttpClient {
      * @param url          the URL to send the PUT request to
      * @param params       query parameters to include in the request
      * @param headers      headers to include in the request
-     * @param body         the request body to send
+     * @param body         the request body to send; a {@code byte[]} or Vert.x {@code Buffer} is sent as-is without JSON encoding
      * @param responseType the class type of the expected response body for deserialization
      * @return the HTTP response containing status, headers, and deserialized body
      */
@@ -70,7 +72,7 @@ public interface HttpClient {
      * @param url          the URL to send the PATCH request to
      * @param params       query parameters to include in the request
      * @param headers      headers to include in the request
-     * @param body         the request body to send
+     * @param body         the request body to send; a {@code byte[]} or Vert.x {@code Buffer} is sent as-is without JSON encoding
      * @param responseType the class type of the expected response body for deserialization
      * @return the HTTP response containing status, headers, and deserialized body
      */
@@ -98,4 +100,95 @@ public interface HttpClient {
             Map<String, String> headers,
             Class<T> responseType
     );
+
+    /**
+     * Performs an HTTP GET request to the specified URL, deserializing the body into a generic type.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the GET request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param responseType the type reference of the expected response body, e.g. {@code new TypeReference<List<Order>>() {}}
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> get(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            TypeReference<T> responseType
+    );
+
+    /**
+     * Performs an HTTP POST request to the specified URL, deserializing the body into a generic type.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the POST request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param body         the request body to send; a {@code byte[]} or Vert.x {@code Buffer} is sent as-is without JSON encoding
+     * @param responseType the type reference of the expected response body
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> post(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Object body,
+            TypeReference<T> responseType
+    );
+
+    /**
+     * Performs an HTTP PUT request to the specified URL, deserializing the body into a generic type.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the PUT request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param body         the request body to send; a {@code byte[]} or Vert.x {@code Buffer} is sent as-is without JSON encoding
+     * @param responseType the type reference of the expected response body
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> put(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Object body,
+            TypeReference<T> responseType
+    );
+
+    /**
+     * Performs an HTTP PATCH request to the specified URL, deserializing the body into a generic type.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the PATCH request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param body         the request body to send; a {@code byte[]} or Vert.x {@code Buffer} is sent as-is without JSON encoding
+     * @param responseType the type reference of the expected response body
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> patch(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Object body,
+            TypeReference<T> responseType
+    );
+
+    /**
+     * Performs an HTTP DELETE request to the specified URL, deserializing the body into a generic type.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the DELETE request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param responseType the type reference of the expected response body
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> delete(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            TypeReference<T> responseType
+    );
 }
@@ -3,6 +3,7 @@ package io.github.hexeditors.http.api;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +20,7 @@ public class HttpResponse<T> {
     int statusCode;
     /**
      * The headers returned in the response.
+     * Responses from the client expose a lazy, read-only {@link MultiValueHeaders} view.
      */
     Map<String, String> headers;
     /**
@@ -33,4 +35,19 @@ public class HttpResponse<T> {
      * The correlation ID for tracking the request.
      */
     String correlationId;
+
+    /**
+     * Returns all values of the given response header.
+     * Falls back to the single mapped value when the headers are not a {@link MultiValueHeaders} view.
+     *
+     * @param name the header name
+     * @return the header values, or an empty list if the header is absent
+     */
+    public List<String> getHeaderValues(String name) {
+        if (headers instanceof MultiValueHeaders multiValueHeaders) {
+            return multiValueHeaders.getAll(name);
+        }
+        String value = headers == null ? null : headers.get(name);
+        return value == null ? List.of() : List.of(value);
+    }
 }
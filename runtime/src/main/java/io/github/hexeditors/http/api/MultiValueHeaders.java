@@ -0,0 +1,19 @@
+package io.github.hexeditors.http.api;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, case-insensitive view over HTTP headers that may carry several values per name.
+ * As a {@link Map}, each name resolves to its first value; {@link #getAll(String)} returns every value.
+ */
+public interface MultiValueHeaders extends Map<String, String> {
+
+    /**
+     * Returns all values of the given header, in the order they were received.
+     *
+     * @param name the header name, matched case-insensitively
+     * @return the header values, or an empty list if the header is absent
+     */
+    List<String> getAll(String name);
+}
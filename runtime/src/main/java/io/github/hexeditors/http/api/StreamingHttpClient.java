@@ -0,0 +1,116 @@
+package io.github.hexeditors.http.api;
+
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.core.buffer.Buffer;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Interface for HTTP operations whose bodies are streamed instead of being buffered in memory.
+ * Intended for large payloads such as exports, where {@link HttpClient} would hold the whole body on the heap.
+ */
+public interface StreamingHttpClient {
+
+    /**
+     * Performs an HTTP GET request and streams the response body into the given file.
+     * The body is written with backpressure and is never held in memory as a whole.
+     * The file is truncated on every attempt and contains whatever the server returned, including error bodies.
+     *
+     * @param url     the URL to send the GET request to
+     * @param params  query parameters to include in the request
+     * @param headers headers to include in the request
+     * @param target  the file the response body is written to
+     * @return the HTTP response whose body is the target path
+     */
+    HttpResponse<Path> download(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Path target
+    );
+
+    /**
+     * Performs an HTTP POST request streaming the given file as the request body.
+     * The file is read with backpressure and reopened on every retry attempt.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the POST request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param source       the file to send as the request body
+     * @param responseType the class type of the expected response body for deserialization
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> postFile(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Path source,
+            Class<T> responseType
+    );
+
+    /**
+     * Performs an HTTP PUT request streaming the given file as the request body.
+     * The file is read with backpressure and reopened on every retry attempt.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the PUT request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param source       the file to send as the request body
+     * @param responseType the class type of the expected response body for deserialization
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> putFile(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Path source,
+            Class<T> responseType
+    );
+
+    /**
+     * Performs an HTTP POST request streaming the given buffers as the request body.
+     * A Vert.x {@code ReadStream} can be passed through its {@code toMulti()} view.
+     * Since a stream cannot always be re-sent, retries only happen until the stream has emitted its first buffer.
+     * A retry subscribes to the stream again.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the POST request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param body         the stream of buffers to send as the request body
+     * @param responseType the class type of the expected response body for deserialization
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> postStream(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Multi<Buffer> body,
+            Class<T> responseType
+    );
+
+    /**
+     * Performs an HTTP PUT request streaming the given buffers as the request body.
+     * A Vert.x {@code ReadStream} can be passed through its {@code toMulti()} view.
+     * Since a stream cannot always be re-sent, retries only happen until the stream has emitted its first buffer.
+     * A retry subscribes to the stream again.
+     *
+     * @param <T>          the type of the response body
+     * @param url          the URL to send the PUT request to
+     * @param params       query parameters to include in the request
+     * @param headers      headers to include in the request
+     * @param body         the stream of buffers to send as the request body
+     * @param responseType the class type of the expected response body for deserialization
+     * @return the HTTP response containing status, headers, and deserialized body
+     */
+    <T> HttpResponse<T> putStream(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Multi<Buffer> body,
+            Class<T> responseType
+    );
+}
@@ -0,0 +1,196 @@
+package io.github.hexeditors.http.audit;
+
+import io.github.hexeditors.http.logging.LogUtil;
+import io.github.hexeditors.http.pii.PiiLevel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls up identical audit events over a time window into one summary event per window.
+ * Events are keyed by category, operation, method, URL, status and PII level; each window counts its events,
+ * keeps the first and last timestamps and a uniform sample of their correlation IDs (reservoir sampling).
+ * A daemon thread publishes the summaries at the end of every window. The number of keys per window is bounded,
+ * and events beyond the bound are left to the caller to publish one by one, so nothing is dropped.
+ */
+final class AuditAggregator {
+
+    private final AuditSink sink;
+    private final AuditPolicy policy;
+    private final String serviceName;
+    private final long windowMillis;
+    private final int sampleSize;
+    private final int maxKeys;
+
+    private final ConcurrentMap<Key, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an aggregator publishing its summaries every window.
+     *
+     * @param sink         the sink summaries are published to
+     * @param policy       the policy giving the severity of summaries
+     * @param serviceName  the service name of summaries
+     * @param windowMillis the window length in milliseconds
+     * @param sampleSize   the number of correlation IDs kept per window
+     * @param maxKeys      the maximum number of distinct events per window
+     */
+    AuditAggregator(AuditSink sink, AuditPolicy policy, String serviceName, long windowMillis, int sampleSize,
+                    int maxKeys) {
+        this.sink = sink;
+        this.policy = policy;
+        this.serviceName = serviceName;
+        this.windowMillis = windowMillis;
+        this.sampleSize = Math.max(0, sampleSize);
+        this.maxKeys = maxKeys;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new DefaultThreadFactory("http-client-audit-aggregator", true));
+        scheduler.scheduleAtFixedRate(this::flushSafely, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds an event to the window of its key.
+     *
+     * @param timestamp the time of the event
+     * @param category  the audit category
+     * @param operation the operation
+     * @param method    the HTTP method
+     * @param url       the URL
+     * @param status    the HTTP status
+     * @param cid       the correlation ID
+     * @param level     the PII level
+     * @return true if the event was aggregated, false if the window is full and the event must be published as is
+     */
+    boolean add(Instant timestamp, AuditCategory category, String operation, String method, String url, int status,
+                String cid, PiiLevel level) {
+        Key key = new Key(category, operation, method, url, status, level);
+        while (true) {
+            Window window = windows.get(key);
+            if (window == null) {
+                if (windows.size() >= maxKeys) {
+                    return false;
+                }
+                Window created = new Window(sampleSize);
+                window = windows.putIfAbsent(key, created);
+                if (window == null) {
+                    window = created;
+                }
+            }
+            if (window.add(timestamp, cid)) {
+                return true;
+            }
+            // the window was closed by a flush in between; the next lookup finds a fresh one
+        }
+    }
+
+    /**
+     * Publishes a summary of every open window and starts new ones.
+     */
+    void flush() {
+        for (Map.Entry<Key, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            window.close();
+            windows.remove(entry.getKey(), window);
+            if (window.count > 0) {
+                sink.publish(summary(entry.getKey(), window));
+            }
+        }
+    }
+
+    /**
+     * Stops the window timer and publishes the windows still open.
+     */
+    void close() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LogUtil.log.atWarning().withCause(e).log("Failed to publish aggregated audit events");
+        }
+    }
+
+    private AuditEvent summary(Key key, Window window) {
+        String[] sample = Arrays.copyOf(window.sample, (int) Math.min(window.count, window.sample.length));
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("count", Long.toString(window.count));
+        metadata.put("firstTimestamp", window.first.toString());
+        metadata.put("lastTimestamp", window.last.toString());
+        metadata.put("windowMillis", Long.toString(windowMillis));
+        metadata.put("correlationIds", String.join(",", sample));
+        return new AuditEvent(
+                window.first,
+                key.category,
+                policy.severity(key.level),
+                serviceName,
+                key.operation,
+                sample.length > 0 ? sample[0] : null,
+                key.method,
+                key.url,
+                key.status,
+                key.level.name(),
+                metadata
+        );
+    }
+
+    /**
+     * What makes two audit events identical for aggregation.
+     */
+    private record Key(AuditCategory category, String operation, String method, String url, int status,
+                       PiiLevel level) {
+    }
+
+    /**
+     * The events of one key in the current window. Guarded by its own monitor; a closed window takes no more events.
+     */
+    private static final class Window {
+
+        final String[] sample;
+        long count;
+        Instant first;
+        Instant last;
+        boolean closed;
+
+        Window(int sampleSize) {
+            sample = new String[sampleSize];
+        }
+
+        synchronized boolean add(Instant timestamp, String cid) {
+            if (closed) {
+                return false;
+            }
+            count++;
+            if (first == null || timestamp.isBefore(first)) {
+                first = timestamp;
+            }
+            if (last == null || timestamp.isAfter(last)) {
+                last = timestamp;
+            }
+            if (count <= sample.length) {
+                sample[(int) count - 1] = cid;
+            } else if (sample.length > 0) {
+                long slot = ThreadLocalRandom.current().nextLong(count);
+                if (slot < sample.length) {
+                    sample[(int) slot] = cid;
+                }
+            }
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package io.github.hexeditors.http.audit;
 
 import io.smallrye.config.ConfigMapping;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Configuration interface for audit functionality, mapped from properties with prefix "http.audit".
  */
@@ -39,4 +43,45 @@ public interface AuditConfig {
      */
     @io.smallrye.config.WithDefault("unknown-service")
     String serviceName();
+
+    /**
+     * The window over which identical audit events are rolled up into one summary event.
+     * Events are identical when category, operation, method, URL, status and PII level match.
+     *
+     * @return the aggregation window in milliseconds, or empty to publish every event
+     */
+    Optional<Long> aggregationWindowMillis();
+
+    /**
+     * The categories whose events are always published one by one, even when aggregation is enabled.
+     *
+     * @return the categories kept per event, defaults to PCI
+     */
+    @io.smallrye.config.WithDefault("PCI")
+    Set<AuditCategory> perEventCategories();
+
+    /**
+     * The number of correlation IDs sampled into each summary event.
+     *
+     * @return the sample size, defaults to 5
+     */
+    @io.smallrye.config.WithDefault("5")
+    int aggregationSampleSize();
+
+    /**
+     * The maximum number of distinct events aggregated in one window. Events beyond it are published one by one.
+     *
+     * @return the maximum number of aggregation keys, defaults to 10000
+     */
+    @io.smallrye.config.WithDefault("10000")
+    int aggregationMaxKeys();
+
+    /**
+     * Routing and isolation settings per sink, keyed by sink name. Sinks without settings get the defaults,
+     * receiving every event.
+     *
+     * @return map of sink name to sink settings
+     */
+    @io.smallrye.config.WithDefaults
+    Map<String, AuditSinkConfig> sinks();
 }
@@ -0,0 +1,535 @@
+package io.github.hexeditors.http.audit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes {@link AuditEvent}s into a reusable byte buffer, either as JSON objects, one per line, or as compact
+ * length-prefixed binary records that {@link #decode(byte[], int)} reads back.
+ * Field names, enum names and the timestamp are written without intermediate strings, and strings are encoded to
+ * UTF-8 in place, so once the buffer has grown to fit a record, encoding allocates nothing.
+ * An encoder is not thread-safe; keep one per thread or per consumer and {@link #reset()} it between uses.
+ */
+public final class AuditEncoder {
+
+    /**
+     * Version of the binary record layout, the first byte of every record payload.
+     */
+    static final byte BINARY_VERSION = 2;
+
+    private static final byte[] TIMESTAMP = ascii("{\"timestamp\":");
+    private static final byte[] CATEGORY = ascii(",\"category\":");
+    private static final byte[] SEVERITY = ascii(",\"severity\":");
+    private static final byte[] SERVICE = ascii(",\"service\":");
+    private static final byte[] OPERATION = ascii(",\"operation\":");
+    private static final byte[] METHOD = ascii(",\"method\":");
+    private static final byte[] URL = ascii(",\"url\":");
+    private static final byte[] STATUS = ascii(",\"status\":");
+    private static final byte[] PII_LEVEL = ascii(",\"piiLevel\":");
+    private static final byte[] CID = ascii(",\"cid\":");
+    private static final byte[] METADATA = ascii(",\"metadata\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+
+    private byte[] buffer;
+    private int length;
+
+    /**
+     * Creates an encoder with a buffer sized for a typical record.
+     */
+    public AuditEncoder() {
+        this(512);
+    }
+
+    /**
+     * Creates an encoder with the given initial buffer size; the buffer grows as needed.
+     *
+     * @param capacity the initial buffer size in bytes
+     */
+    public AuditEncoder(int capacity) {
+        buffer = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * Discards the encoded content, keeping the buffer.
+     *
+     * @return this encoder
+     */
+    public AuditEncoder reset() {
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Gets the number of bytes encoded since the last reset.
+     *
+     * @return the encoded length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the buffer holding the encoded content in its first {@link #length()} bytes.
+     * The buffer is replaced when it grows, so do not keep it across encodes.
+     *
+     * @return the backing buffer
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Writes the encoded content to a stream.
+     *
+     * @param out the stream
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    /**
+     * Appends an event as a JSON object.
+     *
+     * @param event the event
+     * @return this encoder
+     */
+    public AuditEncoder json(AuditEvent event) {
+        put(TIMESTAMP);
+        Instant timestamp = event.getTimestamp();
+        if (timestamp == null) {
+            put(NULL);
+        } else {
+            put((byte) '"');
+            timestamp(timestamp);
+            put((byte) '"');
+        }
+        put(CATEGORY);
+        jsonName(event.getCategory());
+        put(SEVERITY);
+        jsonName(event.getSeverity());
+        put(SERVICE);
+        jsonString(event.getServiceName());
+        put(OPERATION);
+        jsonString(event.getOperation());
+        put(METHOD);
+        jsonString(event.getHttpMethod());
+        put(URL);
+        jsonString(event.getUrl());
+        put(STATUS);
+        digits(event.getHttpStatus());
+        put(PII_LEVEL);
+        jsonString(event.getPiiLevel());
+        put(CID);
+        jsonString(event.getCorrelationId());
+        Map<String, String> metadata = event.getMetadata();
+        if (metadata != null && !metadata.isEmpty()) {
+            put(METADATA);
+            put((byte) '{');
+            boolean first = true;
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                if (!first) {
+                    put((byte) ',');
+                }
+                first = false;
+                jsonString(entry.getKey());
+                put((byte) ':');
+                jsonString(entry.getValue());
+            }
+            put((byte) '}');
+        }
+        put((byte) '}');
+        return this;
+    }
+
+    /**
+     * Appends an event as a JSON object followed by a newline, forming one line of a JSON lines stream.
+     *
+     * @param event the event
+     * @return this encoder
+     */
+    public AuditEncoder jsonLine(AuditEvent event) {
+        json(event);
+        put((byte) '\n');
+        return this;
+    }
+
+    /**
+     * Appends an event as a binary record: a 4-byte big-endian payload length, then the payload.
+     * Strings are UTF-8 with a 4-byte length, -1 standing for null. Enums are written as strings of their name,
+     * so spooled records stay readable when constants are added or reordered.
+     *
+     * @param event the event
+     * @return this encoder
+     */
+    public AuditEncoder binary(AuditEvent event) {
+        int start = length;
+        putInt(0);
+        put(BINARY_VERSION);
+        Instant timestamp = event.getTimestamp();
+        put((byte) (timestamp == null ? 0 : 1));
+        putLong(timestamp == null ? 0 : timestamp.getEpochSecond());
+        putInt(timestamp == null ? 0 : timestamp.getNano());
+        putInt(event.getHttpStatus());
+        binaryString(event.getCategory() == null ? null : event.getCategory().name());
+        binaryString(event.getSeverity() == null ? null : event.getSeverity().name());
+        binaryString(event.getServiceName());
+        binaryString(event.getOperation());
+        binaryString(event.getHttpMethod());
+        binaryString(event.getUrl());
+        binaryString(event.getPiiLevel());
+        binaryString(event.getCorrelationId());
+        Map<String, String> metadata = event.getMetadata();
+        putInt(metadata == null ? -1 : metadata.size());
+        if (metadata != null) {
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                binaryString(entry.getKey());
+                binaryString(entry.getValue());
+            }
+        }
+        setInt(start, length - start - 4);
+        return this;
+    }
+
+    /**
+     * Gets the total size of the binary record at the given offset, length prefix included.
+     *
+     * @param bytes  the buffer holding the record
+     * @param offset the offset of the record
+     * @return the size of the record in bytes
+     */
+    public static int recordLength(byte[] bytes, int offset) {
+        return 4 + getInt(bytes, offset);
+    }
+
+    /**
+     * Reads back a binary record written by {@link #binary(AuditEvent)}.
+     *
+     * @param bytes  the buffer holding the record
+     * @param offset the offset of the record, at its length prefix
+     * @return the decoded event
+     * @throws IllegalArgumentException if the record is malformed or of an unknown version
+     */
+    public static AuditEvent decode(byte[] bytes, int offset) {
+        Reader in = new Reader(bytes, offset + 4, offset + recordLength(bytes, offset));
+        try {
+            if (in.readByte() != BINARY_VERSION) {
+                throw new IllegalArgumentException("Unknown audit record version");
+            }
+            boolean hasTimestamp = in.readByte() != 0;
+            long seconds = in.readLong();
+            int nanos = in.readInt();
+            int status = in.readInt();
+            String category = in.readString();
+            String severity = in.readString();
+            String service = in.readString();
+            String operation = in.readString();
+            String method = in.readString();
+            String url = in.readString();
+            String piiLevel = in.readString();
+            String cid = in.readString();
+            int entries = in.readInt();
+            Map<String, String> metadata = null;
+            if (entries >= 0) {
+                metadata = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    metadata.put(in.readString(), in.readString());
+                }
+            }
+            return new AuditEvent(
+                    hasTimestamp ? Instant.ofEpochSecond(seconds, nanos) : null,
+                    category == null ? null : AuditCategory.valueOf(category),
+                    severity == null ? null : AuditSeverity.valueOf(severity),
+                    service,
+                    operation,
+                    cid,
+                    method,
+                    url,
+                    status,
+                    piiLevel,
+                    metadata
+            );
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated audit record", e);
+        }
+    }
+
+    /**
+     * Decodes the encoded content as UTF-8, for JSON content.
+     *
+     * @return the content as a string
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /* ===================== JSON ===================== */
+
+    private void jsonName(Enum<?> value) {
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+        jsonString(value.name());
+    }
+
+    private void jsonString(String value) {
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+        ensure(6 * value.length() + 2);
+        byte[] b = buffer;
+        int n = length;
+        b[n++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                b[n++] = '\\';
+                b[n++] = (byte) c;
+            } else if (c < 0x20) {
+                b[n++] = '\\';
+                b[n++] = 'u';
+                b[n++] = '0';
+                b[n++] = '0';
+                b[n++] = HEX[c >> 4];
+                b[n++] = HEX[c & 0x0f];
+            } else if (c < 0x80) {
+                b[n++] = (byte) c;
+            } else {
+                length = n;
+                i = utf8(value, i);
+                n = length;
+            }
+        }
+        b[n++] = '"';
+        length = n;
+    }
+
+    /**
+     * Writes an instant as ISO-8601 in UTC with millisecond precision, as in {@code 2024-01-31T09:30:00.250Z}.
+     * Years outside 0-9999 fall back to {@link Instant#toString()}.
+     */
+    private void timestamp(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        long days = Math.floorDiv(seconds, 86400);
+        int secondOfDay = (int) Math.floorMod(seconds, 86400);
+
+        // civil date from days since 1970-01-01 (proleptic Gregorian)
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            String text = instant.toString();
+            for (int i = 0; i < text.length(); i++) {
+                put((byte) text.charAt(i));
+            }
+            return;
+        }
+        ensure(24);
+        pad((int) year, 4);
+        put((byte) '-');
+        pad(month, 2);
+        put((byte) '-');
+        pad(day, 2);
+        put((byte) 'T');
+        pad(secondOfDay / 3600, 2);
+        put((byte) ':');
+        pad(secondOfDay / 60 % 60, 2);
+        put((byte) ':');
+        pad(secondOfDay % 60, 2);
+        put((byte) '.');
+        pad(instant.getNano() / 1_000_000, 3);
+        put((byte) 'Z');
+    }
+
+    private void pad(int value, int width) {
+        ensure(width);
+        for (int i = width - 1; i >= 0; i--) {
+            buffer[length + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += width;
+    }
+
+    private void digits(int value) {
+        if (value < 0) {
+            put((byte) '-');
+            if (value == Integer.MIN_VALUE) {
+                put(ascii("2147483648"));
+                return;
+            }
+            value = -value;
+        }
+        int width = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            width++;
+        }
+        pad(value, width);
+    }
+
+    /* ===================== binary ===================== */
+
+    private void binaryString(String value) {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        int start = length;
+        putInt(0);
+        ensure(3 * value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else {
+                i = utf8(value, i);
+            }
+        }
+        setInt(start, length - start - 4);
+    }
+
+    /**
+     * Encodes the non-ASCII character at the given index as UTF-8, with room already ensured.
+     * Unpaired surrogates become '?', as with {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @return the index of the last character consumed
+     */
+    private int utf8(String value, int i) {
+        byte[] b = buffer;
+        int n = length;
+        char c = value.charAt(i);
+        if (c < 0x800) {
+            b[n++] = (byte) (0xc0 | (c >> 6));
+            b[n++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, value.charAt(++i));
+            b[n++] = (byte) (0xf0 | (cp >> 18));
+            b[n++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+            b[n++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+            b[n++] = (byte) (0x80 | (cp & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            b[n++] = '?';
+        } else {
+            b[n++] = (byte) (0xe0 | (c >> 12));
+            b[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            b[n++] = (byte) (0x80 | (c & 0x3f));
+        }
+        length = n;
+        return i;
+    }
+
+    private void putInt(int value) {
+        ensure(4);
+        setInt(length, value);
+        length += 4;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    private void setInt(int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) << 24
+                | (bytes[offset + 1] & 0xff) << 16
+                | (bytes[offset + 2] & 0xff) << 8
+                | (bytes[offset + 3] & 0xff);
+    }
+
+    /* ===================== buffer ===================== */
+
+    private void put(byte value) {
+        ensure(1);
+        buffer[length++] = value;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void ensure(int room) {
+        if (buffer.length - length < room) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, length + room)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads the fields of a binary record in order, refusing to read past its end.
+     */
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        Reader(byte[] bytes, int position, int end) {
+            this.bytes = bytes;
+            this.position = position;
+            this.end = end;
+        }
+
+        byte readByte() {
+            check(1);
+            return bytes[position++];
+        }
+
+        int readInt() {
+            check(4);
+            int value = getInt(bytes, position);
+            position += 4;
+            return value;
+        }
+
+        long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xffffffffL);
+        }
+
+        String readString() {
+            int size = readInt();
+            if (size < 0) {
+                return null;
+            }
+            check(size);
+            String value = new String(bytes, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+
+        private void check(int size) {
+            if (size > end - position) {
+                throw new IndexOutOfBoundsException("Audit record ends at " + end);
+            }
+        }
+    }
+}
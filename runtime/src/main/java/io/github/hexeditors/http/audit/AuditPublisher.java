@@ -1,20 +1,26 @@
 package io.github.hexeditors.http.audit;
 
 import io.github.hexeditors.http.pii.PiiLevel;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Publishes audit events based on configuration and policy requirements.
  * Handles the logic for determining when and what audit events to publish.
+ * With an aggregation window configured, identical events of the categories not kept per event are rolled up
+ * by an {@link AuditAggregator} into one summary per window.
+ * Events go to the {@link Routed} sink, the {@link AuditSinkRouter} queueing them for every configured sink.
  */
 @ApplicationScoped
 public class AuditPublisher {
 
     @Inject
+    @Routed
     AuditSink sink;
 
     @Inject
@@ -23,6 +29,17 @@ public class AuditPublisher {
     @Inject
     AuditConfig config;
 
+    private volatile AuditAggregator aggregator;
+
+    /**
+     * Whether any audit event may be published, so callers need the PII level of their responses.
+     *
+     * @return true if GDPR or PCI audit is enabled
+     */
+    public boolean requiresPiiLevel() {
+        return config.enabled() && (config.gdprEnabled() || config.pciEnabled());
+    }
+
     /**
      * Publishes audit events if required based on the current configuration and PII level.
      * Checks GDPR and PCI audit requirements and publishes events accordingly.
@@ -46,34 +63,89 @@ public class AuditPublisher {
             return;
         }
 
+        Instant now = null;
         if (config.gdprEnabled() && policy.requiresGdprAudit(piiLevel)) {
-            sink.publish(buildEvent(
-                    AuditCategory.GDPR,
-                    operation,
-                    method,
-                    url,
-                    status,
-                    correlationId,
-                    piiLevel
-            ));
+            now = Instant.now();
+            publish(now, AuditCategory.GDPR, operation, method, url, status, correlationId, piiLevel);
         }
 
         if (config.pciEnabled() && policy.requiresPciAudit(piiLevel)) {
-            sink.publish(buildEvent(
-                    AuditCategory.PCI,
-                    operation,
-                    method,
-                    url,
-                    status,
-                    correlationId,
-                    piiLevel
-            ));
+            publish(now != null ? now : Instant.now(), AuditCategory.PCI, operation, method, url, status,
+                    correlationId, piiLevel);
+        }
+    }
+
+    /**
+     * Publishes the summaries of the aggregation windows still open, when the application stops.
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (aggregator != null) {
+            aggregator.close();
+            aggregator = null;
+        }
+    }
+
+    /**
+     * Hands an event to the aggregator when its category may be aggregated, otherwise publishes it at once.
+     *
+     * @param timestamp the time of the call
+     * @param category  the audit category
+     * @param operation the operation
+     * @param method    the HTTP method
+     * @param url       the URL
+     * @param status    the HTTP status
+     * @param cid       the correlation ID
+     * @param level     the PII level
+     */
+    private void publish(
+            Instant timestamp,
+            AuditCategory category,
+            String operation,
+            String method,
+            String url,
+            int status,
+            String cid,
+            PiiLevel level
+    ) {
+        AuditAggregator current = aggregator();
+        if (current != null
+                && !config.perEventCategories().contains(category)
+                && current.add(timestamp, category, operation, method, url, status, cid, level)) {
+            return;
+        }
+        sink.publish(buildEvent(timestamp, category, operation, method, url, status, cid, level));
+    }
+
+    /**
+     * Gets the aggregator, creating it on first use.
+     *
+     * @return the aggregator, or null when no aggregation window is configured
+     */
+    private AuditAggregator aggregator() {
+        Optional<Long> window = config.aggregationWindowMillis();
+        if (window.isEmpty() || window.get() <= 0) {
+            return null;
+        }
+        AuditAggregator current = aggregator;
+        if (current == null) {
+            synchronized (this) {
+                current = aggregator;
+                if (current == null) {
+                    current = new AuditAggregator(sink, policy, config.serviceName(), window.get(),
+                            config.aggregationSampleSize(), config.aggregationMaxKeys());
+                    aggregator = current;
+                }
+            }
         }
+        return current;
     }
 
     /**
      * Builds an audit event with the provided details.
+     * Uses the event constructor rather than its builder, as this runs for every audited call.
      *
+     * @param timestamp the time of the call, shared by its GDPR and PCI events
      * @param category  the audit category
      * @param operation the operation
      * @param method    the HTTP method
@@ -84,6 +156,7 @@ public class AuditPublisher {
      * @return the constructed audit event
      */
     private AuditEvent buildEvent(
+            Instant timestamp,
             AuditCategory category,
             String operation,
             String method,
@@ -92,18 +165,18 @@ public class AuditPublisher {
             String cid,
             PiiLevel level
     ) {
-        return AuditEvent.builder()
-                .timestamp(Instant.now())
-                .category(category)
-                .severity(policy.severity(level))
-                .serviceName(config.serviceName())
-                .operation(operation)
-                .httpMethod(method)
-                .url(url)
-                .httpStatus(status)
-                .correlationId(cid)
-                .piiLevel(level.name())
-                .metadata(Map.of())
-                .build();
+        return new AuditEvent(
+                timestamp,
+                category,
+                policy.severity(level),
+                config.serviceName(),
+                operation,
+                cid,
+                method,
+                url,
+                status,
+                level.name(),
+                Map.of()
+        );
     }
 }
@@ -1,7 +1,10 @@
 package io.github.hexeditors.http.audit;
 
+import java.util.Locale;
+
 /**
  * Interface for publishing audit events to various sinks such as logging, databases, or external systems.
+ * Every sink bean receives the events routed to it by {@link AuditSinkRouter}, on a thread of its own.
  */
 public interface AuditSink {
     /**
@@ -10,4 +13,16 @@ public interface AuditSink {
      * @param event the audit event to publish
      */
     void publish(AuditEvent event);
+
+    /**
+     * The name the sink is configured by under {@code http.audit.sinks}.
+     * Defaults to the simple class name without its {@code AuditSink} suffix, in lower case, e.g. "logging".
+     *
+     * @return the sink name
+     */
+    default String name() {
+        String name = getClass().getSimpleName();
+        int suffix = name.indexOf("AuditSink");
+        return (suffix > 0 ? name.substring(0, suffix) : name).toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,107 @@
+package io.github.hexeditors.http.audit;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routing and isolation settings of one {@link AuditSink}, keyed by its {@link AuditSink#name()}.
+ */
+public interface AuditSinkConfig {
+
+    /**
+     * Whether the sink receives events.
+     *
+     * @return true if the sink is enabled, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean enabled();
+
+    /**
+     * The categories routed to the sink.
+     *
+     * @return the optional set of categories, all categories if not set
+     */
+    Optional<Set<AuditCategory>> categories();
+
+    /**
+     * The lowest severity routed to the sink.
+     *
+     * @return the minimum severity, defaults to INFO
+     */
+    @io.smallrye.config.WithDefault("INFO")
+    AuditSeverity minSeverity();
+
+    /**
+     * The number of events queued for the sink. Events arriving while the queue is full are dropped rather than
+     * blocking the caller.
+     *
+     * @return the queue capacity, defaults to 10000
+     */
+    @io.smallrye.config.WithDefault("10000")
+    int queueCapacity();
+
+    /**
+     * The number of failed deliveries tolerated per error window before the sink is suspended.
+     *
+     * @return the error budget, defaults to 10
+     */
+    @io.smallrye.config.WithDefault("10")
+    int errorBudget();
+
+    /**
+     * The window in milliseconds over which failed deliveries are counted.
+     *
+     * @return the error window, defaults to 60000ms
+     */
+    @io.smallrye.config.WithDefault("60000")
+    long errorWindowMillis();
+
+    /**
+     * How long in milliseconds a sink that exhausted its error budget is suspended; its events are dropped meanwhile,
+     * except those kept in the spool.
+     *
+     * @return the suspension time, defaults to 30000ms
+     */
+    @io.smallrye.config.WithDefault("30000")
+    long suspendMillis();
+
+    /**
+     * The directory of the disk spool holding the events of the spooled categories while the sink is unavailable.
+     * Spooled events survive a restart and are delivered in order once the sink recovers.
+     *
+     * @return the optional spool directory, no spool if not set
+     */
+    Optional<String> spoolDirectory();
+
+    /**
+     * The categories whose events are spooled instead of dropped when the sink fails, is suspended or falls behind.
+     *
+     * @return the spooled categories, defaults to PCI
+     */
+    @io.smallrye.config.WithDefault("PCI")
+    Set<AuditCategory> spoolCategories();
+
+    /**
+     * The size in bytes after which the spool moves on to a new segment file.
+     *
+     * @return the segment size, defaults to 4 MiB
+     */
+    @io.smallrye.config.WithDefault("4194304")
+    long spoolSegmentBytes();
+
+    /**
+     * The maximum size in bytes of the spool on disk. Events arriving while it is full are dropped.
+     *
+     * @return the spool size limit, defaults to 1 GiB
+     */
+    @io.smallrye.config.WithDefault("1073741824")
+    long spoolMaxBytes();
+
+    /**
+     * The number of spooled events delivered per second once the sink recovers, so a backlog does not overwhelm it.
+     *
+     * @return the drain rate, defaults to 100 events per second
+     */
+    @io.smallrye.config.WithDefault("100")
+    int spoolDrainRate();
+}
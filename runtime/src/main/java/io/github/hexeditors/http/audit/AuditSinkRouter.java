@@ -0,0 +1,107 @@
+package io.github.hexeditors.http.audit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans audit events out to every {@link AuditSink} bean, such as the built-in {@link LoggingAuditSink} and sinks
+ * provided by the application, each filtered by the categories and minimum severity configured for it under
+ * {@code http.audit.sinks.<name>}.
+ * Every sink is fed by its own {@link AuditSinkWorker}: a bounded queue drained by a dedicated thread, with an error
+ * budget, so publishing never blocks or throws, and one slow or failing sink does not affect the others.
+ */
+@Routed
+@ApplicationScoped
+public class AuditSinkRouter implements AuditSink {
+
+    /**
+     * How long shutdown waits for the sinks to deliver their queued events, all of them together.
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    @Inject
+    @Any
+    Instance<AuditSink> sinks;
+
+    @Inject
+    AuditConfig config;
+
+    private volatile List<AuditSinkWorker> workers;
+
+    /**
+     * Queues the event for every sink it is routed to.
+     *
+     * @param event the audit event to publish
+     */
+    @Override
+    public void publish(AuditEvent event) {
+        for (AuditSinkWorker worker : workers()) {
+            if (worker.accepts(event)) {
+                worker.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the router.
+     *
+     * @return "router"
+     */
+    @Override
+    public String name() {
+        return "router";
+    }
+
+    /**
+     * Stops the workers after delivering their queued events. All workers stop at once and share one timeout, so a
+     * sink that does not return does not hold up the others.
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (workers != null) {
+            for (AuditSinkWorker worker : workers) {
+                worker.stop();
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MILLIS);
+            for (AuditSinkWorker worker : workers) {
+                worker.close(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * Gets the workers, starting one per enabled sink on first use.
+     *
+     * @return the workers
+     */
+    List<AuditSinkWorker> workers() {
+        List<AuditSinkWorker> current = workers;
+        if (current == null) {
+            synchronized (this) {
+                current = workers;
+                if (current == null) {
+                    List<AuditSinkWorker> started = new ArrayList<>();
+                    for (AuditSink sink : sinks) {
+                        if (sink instanceof AuditSinkRouter || "router".equals(sink.name())) {
+                            continue;
+                        }
+                        AuditSinkConfig settings = config.sinks().get(sink.name());
+                        if (settings.enabled()) {
+                            started.add(new AuditSinkWorker(sink, settings));
+                        }
+                    }
+                    current = List.copyOf(started);
+                    workers = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,462 @@
+package io.github.hexeditors.http.audit;
+
+import io.github.hexeditors.http.logging.LogUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Delivers the events routed to one {@link AuditSink} from a bounded queue on a dedicated daemon thread, so a slow
+ * or failing sink never holds up the caller or the other sinks.
+ * Events arriving while the queue is full are dropped. Failed deliveries are counted against an error budget per
+ * window; a sink over budget is suspended for a while, dropping its events, before it is tried again.
+ * With a spool configured, events of the spooled categories are appended to an {@link AuditSpool} on disk instead of
+ * being dropped, and keep going there while it holds a backlog, so they stay in order. The backlog left by an outage
+ * is delivered at the configured drain rate, also after a restart; events spooled only to keep that order pass
+ * through at the pace the sink takes them, so live traffic above the drain rate does not build up a backlog.
+ * Spooling happens on the worker thread only: events of spooled categories that find the queue full wait in a
+ * second queue of the same capacity, which the worker appends to the spool after the older queued events.
+ * A sink still busy when shutdown gives up on it is left to its thread: its remaining events are spooled or dropped
+ * on the shutdown thread without calling the sink.
+ */
+final class AuditSinkWorker implements Runnable {
+
+    private static final AuditEvent STOP = AuditEvent.builder().build();
+
+    private final AuditSink sink;
+    private final String name;
+    private final Set<AuditCategory> categories;
+    private final AuditSeverity minSeverity;
+    private final int errorBudget;
+    private final long errorWindowMillis;
+    private final long suspendMillis;
+    private final BlockingQueue<AuditEvent> queue;
+    private final BlockingQueue<AuditEvent> overflow;
+    private final AuditSpool spool;
+    private final Set<AuditCategory> spoolCategories;
+    private final long drainIntervalNanos;
+    private final Thread thread;
+    private final AtomicLong dropped = new AtomicLong();
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    // touched by the worker thread only
+    private int failures;
+    private long windowStart;
+    private long suspendedUntil;
+    private long nextDrain;
+    private long credits;
+
+    // guarded by overflow
+    private boolean overflowing;
+
+    private volatile boolean stopping;
+    private volatile boolean closed;
+    private volatile boolean abandoned;
+
+    /**
+     * Creates the worker of a sink, opening its spool if configured, and starts its thread.
+     *
+     * @param sink     the sink
+     * @param settings the settings of the sink
+     */
+    AuditSinkWorker(AuditSink sink, AuditSinkConfig settings) {
+        this.sink = sink;
+        this.name = sink.name();
+        this.categories = settings.categories().orElse(null);
+        this.minSeverity = settings.minSeverity();
+        this.errorBudget = settings.errorBudget();
+        this.errorWindowMillis = settings.errorWindowMillis();
+        this.suspendMillis = settings.suspendMillis();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.queueCapacity()));
+        this.spool = settings.spoolDirectory().map(directory -> openSpool(directory, settings)).orElse(null);
+        this.spoolCategories = settings.spoolCategories();
+        this.overflow = spool == null ? null : new ArrayBlockingQueue<>(Math.max(1, settings.queueCapacity()));
+        this.drainIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, settings.spoolDrainRate());
+        this.nextDrain = System.nanoTime();
+        this.thread = new DefaultThreadFactory("http-client-audit-" + name, true).newThread(this);
+        thread.start();
+    }
+
+    private AuditSpool openSpool(String directory, AuditSinkConfig settings) {
+        try {
+            return new AuditSpool(Path.of(directory), settings.spoolSegmentBytes(), settings.spoolMaxBytes());
+        } catch (IOException | RuntimeException e) {
+            LogUtil.log.atSevere().withCause(e).log(
+                    "Cannot open audit spool %s of sink %s, its events will be dropped on failure", directory, name);
+            return null;
+        }
+    }
+
+    /**
+     * Whether an event is routed to the sink.
+     *
+     * @param event the event
+     * @return true if the category and severity of the event match the sink settings
+     */
+    boolean accepts(AuditEvent event) {
+        return (categories == null || categories.contains(event.getCategory()))
+                && (event.getSeverity() == null || event.getSeverity().compareTo(minSeverity) >= 0);
+    }
+
+    /**
+     * Queues an event for the sink without blocking or touching the disk. Events of spooled categories that do not
+     * fit in the queue go to the overflow queue, and keep going there until the worker has spooled it, so they stay
+     * behind the older ones. Once the worker is closed, the event is delivered on the calling thread instead, so
+     * events published during shutdown are not lost, or spooled or dropped if the sink was abandoned.
+     *
+     * @param event the event
+     */
+    void offer(AuditEvent event) {
+        if (closed) {
+            late(event);
+            return;
+        }
+        BlockingQueue<AuditEvent> target = queue;
+        if (spooled(event)) {
+            synchronized (overflow) {
+                if (overflowing || !queue.offer(event)) {
+                    overflowing = true;
+                    target = overflow.offer(event) ? overflow : null;
+                }
+            }
+            if (target == null) {
+                drop("overflow full");
+                return;
+            }
+        } else if (!queue.offer(event)) {
+            drop("queue full");
+            return;
+        }
+        // close() may have emptied the queues just before the event went in
+        if (closed && target.remove(event)) {
+            late(event);
+        }
+    }
+
+    private void late(AuditEvent event) {
+        if (abandoned) {
+            abandon(event);
+            return;
+        }
+        synchronized (this) {
+            handle(event);
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because the queue or spool was full or the sink suspended.
+     *
+     * @return the number of dropped events
+     */
+    long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the name of the sink.
+     *
+     * @return the sink name
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Delivers the queued events, and the spooled ones at the drain rate, until the worker is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    try {
+                        if (spill()) {
+                            return;
+                        }
+                        drain();
+                    } catch (Throwable e) {
+                        failed(e);
+                    }
+                }
+                AuditEvent event = spool == null || spool.isEmpty()
+                        ? queue.take()
+                        : queue.poll(drainWaitNanos(), TimeUnit.NANOSECONDS);
+                if (event == STOP) {
+                    return;
+                }
+                synchronized (this) {
+                    try {
+                        if (event != null) {
+                            handle(event);
+                        }
+                        drain();
+                    } catch (Throwable e) {
+                        failed(e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Asks the worker thread to stop once it has delivered the events queued so far, without waiting for it.
+     */
+    void stop() {
+        if (stopping) {
+            return;
+        }
+        stopping = true;
+        if (!queue.offer(STOP)) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Stops the worker, waiting up to the given time for the queued events to be delivered.
+     * If the worker thread has exited by then, events queued since are delivered on the calling thread, or spooled.
+     * Otherwise the sink is abandoned: it is never called on the calling thread, the queued events of spooled
+     * categories are spooled and the others dropped. The spool keeps its backlog for the next start.
+     *
+     * @param timeoutMillis the time to wait for the worker thread, not waiting at all if zero or less
+     */
+    void close(long timeoutMillis) {
+        stop();
+        try {
+            TimeUnit.MILLISECONDS.timedJoin(thread, timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            // the worker may hold the monitor inside a hung sink, so the rest is handled without it
+            abandoned = true;
+            closed = true;
+            thread.interrupt();
+            AuditEvent event;
+            while ((event = queue.poll()) != null || (overflow != null && (event = overflow.poll()) != null)) {
+                if (event != STOP) {
+                    abandon(event);
+                }
+            }
+            // lets the thread exit if the sink ever returns
+            queue.offer(STOP);
+            LogUtil.log.atWarning().log("Audit sink %s did not stop within %d ms, %d events dropped so far",
+                    name, timeoutMillis, dropped.get());
+            closeSpool();
+            return;
+        }
+        closed = true;
+        synchronized (this) {
+            spill();
+            AuditEvent event;
+            while ((event = queue.poll()) != null) {
+                if (event != STOP) {
+                    handle(event);
+                }
+            }
+            closeSpool();
+        }
+    }
+
+    private void closeSpool() {
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                LogUtil.log.atWarning().withCause(e).log("Failed to close the audit spool of sink %s", name);
+            }
+        }
+    }
+
+    /**
+     * Disposes of an event of an abandoned sink: spooled if its category is, dropped otherwise.
+     */
+    private void abandon(AuditEvent event) {
+        if (spooled(event)) {
+            append(event);
+        } else {
+            drop("sink not responding");
+        }
+    }
+
+    /**
+     * Moves the events of spooled categories waiting in the overflow queue to the spool, after the events still in
+     * the queue, which are older.
+     *
+     * @return true if the stop marker was taken from the queue on the way
+     */
+    private boolean spill() {
+        if (overflow == null) {
+            return false;
+        }
+        synchronized (overflow) {
+            if (!overflowing) {
+                return false;
+            }
+        }
+        boolean stop = false;
+        AuditEvent event;
+        while ((event = queue.poll()) != null) {
+            if (event == STOP) {
+                stop = true;
+            } else if (spooled(event)) {
+                reorder(event);
+            } else {
+                handle(event);
+            }
+        }
+        while (true) {
+            synchronized (overflow) {
+                event = overflow.poll();
+                if (event == null) {
+                    overflowing = false;
+                    return stop;
+                }
+            }
+            reorder(event);
+        }
+    }
+
+    /**
+     * Spools an event only to keep it in order. Unless the sink is suspended, it earns a pass on top of the drain
+     * rate like the events spooled behind a backlog, so a sink that is only slower than the traffic is not held to
+     * the drain rate.
+     */
+    private void reorder(AuditEvent event) {
+        append(event);
+        if (clock.getAsLong() >= suspendedUntil) {
+            credits++;
+        }
+    }
+
+    private void handle(AuditEvent event) {
+        long now = clock.getAsLong();
+        boolean spooled = spooled(event);
+        if (spooled && now < suspendedUntil) {
+            append(event);
+        } else if (spooled && !spool.isEmpty()) {
+            // kept in order behind the backlog, and let through on top of the drain rate
+            reorder(event);
+        } else if (now < suspendedUntil) {
+            drop("sink suspended");
+        } else if (!deliver(event, now) && spooled) {
+            append(event);
+            // retried from the spool at the drain rate, not right away
+            nextDrain = System.nanoTime() + drainIntervalNanos;
+        }
+    }
+
+    /**
+     * Delivers spooled events, oldest first, while the sink is not suspended: one per drain interval, plus one for
+     * every event spooled only to stay in order. The backlog therefore shrinks at the drain rate whatever the live
+     * traffic, and the sink is never sent more than the drain rate on top of that traffic.
+     */
+    private void drain() {
+        if (spool == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        try {
+            while (clock.getAsLong() >= suspendedUntil && (credits > 0 || now - nextDrain >= 0)) {
+                AuditEvent event = spool.peek();
+                if (event == null) {
+                    credits = 0;
+                    return;
+                }
+                boolean paced = credits == 0;
+                if (paced) {
+                    nextDrain = now + drainIntervalNanos;
+                }
+                if (!deliver(event, clock.getAsLong())) {
+                    nextDrain = now + drainIntervalNanos;
+                    credits = 0;
+                    return;
+                }
+                spool.remove();
+                if (!paced) {
+                    credits--;
+                }
+            }
+        } catch (IOException e) {
+            nextDrain = now + TimeUnit.SECONDS.toNanos(1);
+            credits = 0;
+            LogUtil.log.atWarning().atMostEvery(10, TimeUnit.SECONDS).withCause(e).log(
+                    "Failed to read the audit spool of sink %s", name);
+        }
+    }
+
+    private long drainWaitNanos() {
+        long wait = nextDrain - System.nanoTime();
+        long suspended = TimeUnit.MILLISECONDS.toNanos(suspendedUntil - clock.getAsLong());
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(1), Math.max(wait, suspended));
+    }
+
+    private boolean spooled(AuditEvent event) {
+        return spool != null && spool.isOpen() && spoolCategories.contains(event.getCategory());
+    }
+
+    private void append(AuditEvent event) {
+        try {
+            if (!spool.append(event)) {
+                drop("spool full");
+            }
+        } catch (IOException e) {
+            LogUtil.log.atSevere().atMostEvery(10, TimeUnit.SECONDS).withCause(e).log(
+                    "Failed to spool an audit event of sink %s", name);
+            drop("spool failed");
+        }
+    }
+
+    /**
+     * Publishes an event to the sink, counting a failure against the error budget.
+     *
+     * @return true if the sink accepted the event
+     */
+    private boolean deliver(AuditEvent event, long now) {
+        try {
+            sink.publish(event);
+            return true;
+        } catch (Throwable e) {
+            if (now - windowStart >= errorWindowMillis) {
+                windowStart = now;
+                failures = 0;
+            }
+            failures++;
+            if (failures > errorBudget) {
+                suspendedUntil = now + suspendMillis;
+                failures = 0;
+                LogUtil.log.atWarning().withCause(e).log(
+                        "Audit sink %s exceeded its error budget, suspended until %s", name,
+                        Instant.ofEpochMilli(suspendedUntil));
+            } else {
+                LogUtil.log.atWarning().atMostEvery(10, TimeUnit.SECONDS).withCause(e).log(
+                        "Audit sink %s failed to publish an event", name);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Logs an unexpected failure while processing an event; the worker keeps serving the sink whatever happens.
+     */
+    private void failed(Throwable e) {
+        LogUtil.log.atSevere().atMostEvery(10, TimeUnit.SECONDS).withCause(e).log(
+                "Audit sink %s worker failed to process an event", name);
+    }
+
+    private void drop(String reason) {
+        long count = dropped.incrementAndGet();
+        LogUtil.log.atWarning().atMostEvery(10, TimeUnit.SECONDS).log(
+                "Audit event dropped by sink %s (%s), %d dropped so far", name, reason, count);
+    }
+}
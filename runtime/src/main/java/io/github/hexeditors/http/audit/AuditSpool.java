@@ -0,0 +1,281 @@
+package io.github.hexeditors.http.audit;
+
+import io.github.hexeditors.http.logging.LogUtil;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log of audit events on disk, holding the events of a sink while it is unavailable.
+ * Events are written as {@link AuditEncoder#binary(AuditEvent) binary records} into numbered segment files of bounded
+ * size and read back in the order they were appended. The read position is kept in a cursor file, so events spooled
+ * before a restart are delivered after it, at least once. A segment is deleted once it has been read, and the spool
+ * takes no disk space while it is empty. Only the record being read or written is held in memory.
+ * Appends start a new segment after a restart, so a record torn by a crash ends its segment and is skipped.
+ */
+final class AuditSpool {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CURSOR = "cursor";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long maxBytes;
+    private final AuditEncoder encoder = new AuditEncoder();
+    private final ByteBuffer header = ByteBuffer.allocate(4);
+    private final ByteBuffer position = ByteBuffer.allocate(16);
+    private final FileChannel cursor;
+
+    private byte[] record = new byte[256];
+    private long diskBytes;
+
+    private long readSegment;
+    private long readPosition;
+    private FileChannel reader;
+    private int pending;
+
+    private long writeSegment;
+    private long writePosition;
+    private FileChannel writer;
+
+    private boolean closed;
+
+    /**
+     * Opens the spool in a directory, resuming from the cursor left by a previous run.
+     *
+     * @param directory    the spool directory, created if missing
+     * @param segmentBytes the size after which appends move on to a new segment
+     * @param maxBytes     the maximum size of all segments together
+     * @throws IOException if the directory or cursor cannot be opened
+     */
+    AuditSpool(Path directory, long segmentBytes, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = Math.max(1, segmentBytes);
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                long sequence;
+                try {
+                    sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                first = Math.min(first, sequence);
+                last = Math.max(last, sequence);
+                diskBytes += Files.size(segment);
+            }
+        }
+        writeSegment = last + 1;
+        readSegment = first == Long.MAX_VALUE ? writeSegment : first;
+
+        cursor = FileChannel.open(directory.resolve(CURSOR),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (cursor.size() >= position.capacity() && readSegment < writeSegment) {
+            position.clear();
+            readFully(cursor, position, 0);
+            long segment = position.getLong(0);
+            long offset = position.getLong(8);
+            if (segment >= readSegment && segment < writeSegment) {
+                // segments before the cursor were read but not deleted yet
+                while (readSegment < segment) {
+                    nextSegment();
+                }
+                readPosition = offset;
+            }
+        }
+    }
+
+    /**
+     * Appends an event at the end of the spool.
+     *
+     * @param event the event
+     * @return true if the event was spooled, false if the spool is full or closed
+     * @throws IOException if the event cannot be written
+     */
+    synchronized boolean append(AuditEvent event) throws IOException {
+        if (closed) {
+            return false;
+        }
+        encoder.reset().binary(event);
+        int length = encoder.length();
+        if (diskBytes + length > maxBytes) {
+            return false;
+        }
+        if (writer != null && writePosition >= segmentBytes) {
+            writer.close();
+            writer = null;
+            writeSegment++;
+            writePosition = 0;
+        }
+        if (writer == null) {
+            writer = FileChannel.open(segment(writeSegment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(encoder.buffer(), 0, length);
+        while (bytes.hasRemaining()) {
+            writer.write(bytes, writePosition + bytes.position());
+        }
+        writePosition += length;
+        diskBytes += length;
+        return true;
+    }
+
+    /**
+     * Reads the oldest event without removing it.
+     *
+     * @return the oldest event, or null if the spool is empty
+     * @throws IOException if the event cannot be read
+     */
+    synchronized AuditEvent peek() throws IOException {
+        while (!closed && !isEmpty()) {
+            if (reader == null) {
+                try {
+                    reader = FileChannel.open(segment(readSegment), StandardOpenOption.READ);
+                } catch (NoSuchFileException e) {
+                    nextSegment();
+                    continue;
+                }
+            }
+            long end = readSegment == writeSegment ? writePosition : reader.size();
+            if (readPosition + 4 <= end) {
+                header.clear();
+                readFully(reader, header, readPosition);
+                int length = header.getInt(0);
+                if (length >= 0 && readPosition + 4 + length <= end) {
+                    if (record.length < 4 + length) {
+                        record = new byte[4 + length];
+                    }
+                    readFully(reader, ByteBuffer.wrap(record, 4, length), readPosition + 4);
+                    header.get(0, record, 0, 4);
+                    pending = 4 + length;
+                    try {
+                        return AuditEncoder.decode(record, 0);
+                    } catch (RuntimeException e) {
+                        // e.g. an out-of-range timestamp in a record with valid framing
+                        LogUtil.log.atWarning().withCause(e).log(
+                                "Skipping unreadable audit record in %s", segment(readSegment));
+                        remove();
+                        continue;
+                    }
+                }
+            }
+            if (readSegment == writeSegment) {
+                return null;
+            }
+            if (readPosition < end) {
+                LogUtil.log.atWarning().log("Skipping torn audit record at the end of %s", segment(readSegment));
+            }
+            nextSegment();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the event returned by the last {@link #peek()}, persisting the new read position.
+     * Does nothing once the spool is closed, so the event is read again on the next start.
+     *
+     * @throws IOException if the read position cannot be saved
+     */
+    synchronized void remove() throws IOException {
+        if (closed || pending == 0) {
+            return;
+        }
+        readPosition += pending;
+        pending = 0;
+        if (readSegment == writeSegment && readPosition >= writePosition) {
+            // caught up with the writer: drop the segment and start afresh
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            nextSegment();
+            writeSegment = readSegment;
+            writePosition = 0;
+        }
+        saveCursor();
+    }
+
+    /**
+     * Whether all spooled events have been removed.
+     *
+     * @return true if the spool is empty
+     */
+    synchronized boolean isEmpty() {
+        return readSegment == writeSegment && readPosition >= writePosition;
+    }
+
+    /**
+     * Whether the spool still accepts events.
+     *
+     * @return true until the spool is closed
+     */
+    synchronized boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Closes the files of the spool, keeping the events not yet removed for the next run.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+        cursor.close();
+    }
+
+    private void nextSegment() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        Path segment = segment(readSegment);
+        if (Files.exists(segment)) {
+            diskBytes -= Files.size(segment);
+            Files.delete(segment);
+        }
+        readSegment++;
+        readPosition = 0;
+        saveCursor();
+    }
+
+    private void saveCursor() throws IOException {
+        position.clear();
+        position.putLong(0, readSegment).putLong(8, readPosition);
+        while (position.hasRemaining()) {
+            cursor.write(position, position.position());
+        }
+    }
+
+    private Path segment(long sequence) {
+        return directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position() - start) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+}
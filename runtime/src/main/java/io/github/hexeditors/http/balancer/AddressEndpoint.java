@@ -0,0 +1,45 @@
+package io.github.hexeditors.http.balancer;
+
+import io.vertx.mutiny.core.net.SocketAddress;
+
+import java.net.InetAddress;
+
+/**
+ * An endpoint reached through one resolved IP address of a host.
+ */
+public final class AddressEndpoint extends Endpoint {
+
+    private final InetAddress inetAddress;
+    private final SocketAddress address;
+
+    /**
+     * Creates an endpoint for a resolved address.
+     *
+     * @param host        the host name the address was resolved from
+     * @param inetAddress the resolved address
+     * @param port        the target port
+     */
+    public AddressEndpoint(String host, InetAddress inetAddress, int port) {
+        super(host + "/" + inetAddress.getHostAddress() + ":" + port);
+        this.inetAddress = inetAddress;
+        this.address = SocketAddress.inetSocketAddress(port, inetAddress.getHostAddress());
+    }
+
+    /**
+     * Gets the resolved IP address.
+     *
+     * @return the IP address
+     */
+    public InetAddress inetAddress() {
+        return inetAddress;
+    }
+
+    /**
+     * Gets the socket address requests are sent to.
+     *
+     * @return the socket address
+     */
+    public SocketAddress address() {
+        return address;
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.hexeditors.http.balancer;
+
+import io.github.hexeditors.http.config.HttpClientConfig;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Client-side address resolver that spreads requests across every address a host resolves to.
+ * Lookups go through a Netty DNS resolver whose cache honours the record TTLs, clamped to the configured bounds,
+ * and caches failed lookups for the negative TTL. Each resolved address is an {@link AddressEndpoint} with its own
+ * in-flight count, and one is chosen per request with {@link PowerOfTwoChoices}.
+ */
+@ApplicationScoped
+public class DnsEndpointResolver {
+
+    @Inject
+    HttpClientConfig config;
+
+    private final ConcurrentMap<String, List<AddressEndpoint>> endpoints = new ConcurrentHashMap<>();
+
+    private volatile DnsNameResolver resolver;
+    private EventLoopGroup group;
+
+    /**
+     * Selects the endpoint for the next request to the given host and port.
+     * A cached lookup completes on the calling thread; a fresh one completes on the caller's Vert.x context.
+     *
+     * @param host the host name
+     * @param port the target port
+     * @return the chosen endpoint, failing if the host cannot be resolved
+     */
+    public Uni<AddressEndpoint> select(String host, int port) {
+        return resolveAll(host).map(addresses -> PowerOfTwoChoices.pick(endpointsFor(host, port, addresses)));
+    }
+
+    /**
+     * Returns the endpoints of the given host and port, rebuilding the list only when the resolved addresses change.
+     * Endpoints of addresses that are still resolved keep their in-flight counts.
+     *
+     * @param host      the host name
+     * @param port      the target port
+     * @param addresses the currently resolved addresses
+     * @return the endpoints, one per address
+     */
+    List<AddressEndpoint> endpointsFor(String host, int port, List<InetAddress> addresses) {
+        String key = host + ":" + port;
+        List<AddressEndpoint> current = endpoints.get(key);
+        if (current != null && sameAddresses(current, addresses)) {
+            return current;
+        }
+        List<AddressEndpoint> updated = new ArrayList<>(addresses.size());
+        for (InetAddress address : addresses) {
+            AddressEndpoint existing = find(current, address);
+            updated.add(existing != null ? existing : new AddressEndpoint(host, address, port));
+        }
+        List<AddressEndpoint> result = List.copyOf(updated);
+        endpoints.put(key, result);
+        return result;
+    }
+
+    /**
+     * Resolves all addresses of the host, keeping only the preferred address family.
+     *
+     * @param host the host name
+     * @return the resolved addresses
+     */
+    private Uni<List<InetAddress>> resolveAll(String host) {
+        return Uni.createFrom().emitter(emitter -> {
+            Future<List<InetAddress>> lookup = resolver().resolveAll(host);
+            if (lookup.isDone()) {
+                complete(emitter, lookup);
+                return;
+            }
+            Context context = Vertx.currentContext();
+            lookup.addListener(done -> {
+                if (context != null) {
+                    context.runOnContext(ignored -> complete(emitter, lookup));
+                } else {
+                    complete(emitter, lookup);
+                }
+            });
+        });
+    }
+
+    private void complete(UniEmitter<? super List<InetAddress>> emitter, Future<List<InetAddress>> lookup) {
+        if (lookup.isSuccess()) {
+            emitter.complete(preferredFamily(lookup.getNow()));
+        } else {
+            emitter.fail(lookup.cause());
+        }
+    }
+
+    /**
+     * Keeps the addresses of the family of the first result, so IPv4 and IPv6 are not mixed.
+     *
+     * @param addresses the resolved addresses
+     * @return the addresses of the preferred family
+     */
+    private static List<InetAddress> preferredFamily(List<InetAddress> addresses) {
+        if (addresses.size() <= 1) {
+            return addresses;
+        }
+        Class<?> family = addresses.get(0).getClass();
+        List<InetAddress> preferred = new ArrayList<>(addresses.size());
+        for (InetAddress address : addresses) {
+            if (address.getClass() == family) {
+                preferred.add(address);
+            }
+        }
+        return preferred;
+    }
+
+    private static boolean sameAddresses(List<AddressEndpoint> endpoints, List<InetAddress> addresses) {
+        if (endpoints.size() != addresses.size()) {
+            return false;
+        }
+        for (int i = 0; i < addresses.size(); i++) {
+            if (!endpoints.get(i).inetAddress().equals(addresses.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AddressEndpoint find(List<AddressEndpoint> endpoints, InetAddress address) {
+        if (endpoints == null) {
+            return null;
+        }
+        for (AddressEndpoint endpoint : endpoints) {
+            if (endpoint.inetAddress().equals(address)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the DNS resolver on first use, on a dedicated daemon event loop.
+     *
+     * @return the DNS resolver
+     */
+    private DnsNameResolver resolver() {
+        DnsNameResolver current = resolver;
+        if (current == null) {
+            synchronized (this) {
+                current = resolver;
+                if (current == null) {
+                    group = new NioEventLoopGroup(1, new DefaultThreadFactory("http-client-dns", true));
+                    current = new DnsNameResolverBuilder(group.next())
+                            .channelType(NioDatagramChannel.class)
+                            .ttl(config.dnsMinTtlSeconds(), config.dnsMaxTtlSeconds())
+                            .negativeTtl(config.dnsNegativeTtlSeconds())
+                            .build();
+                    resolver = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Closes the DNS resolver and its event loop.
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (resolver != null) {
+            resolver.close();
+            group.shutdownGracefully();
+            resolver = null;
+        }
+    }
+}
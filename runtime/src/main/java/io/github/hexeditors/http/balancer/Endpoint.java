@@ -0,0 +1,68 @@
+package io.github.hexeditors.http.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A target that requests can be balanced onto, tracking the number of requests currently in flight.
+ * Subclasses describe how the endpoint is addressed.
+ */
+public class Endpoint {
+
+    private final String name;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Creates an endpoint.
+     *
+     * @param name the name identifying the endpoint in logs
+     */
+    public Endpoint(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name identifying the endpoint.
+     *
+     * @return the endpoint name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Marks the start of a request sent to this endpoint.
+     */
+    public void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Marks the end of a request sent to this endpoint.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Gets the number of requests currently in flight.
+     *
+     * @return the in-flight count
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the load used to compare endpoints; lower is preferred.
+     *
+     * @return the current load, the in-flight count by default
+     */
+    public double load() {
+        return inFlight.get();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.hexeditors.http.balancer;
+
+import io.smallrye.mutiny.Uni;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A logical service balanced across a fixed set of endpoints.
+ * Every attempt picks an endpoint with {@link PowerOfTwoChoices} on expected latency, skipping ejected endpoints
+ * and the endpoint of the previous attempt, so a retry lands on a different replica. When every endpoint is
+ * ejected they are all considered again rather than failing the call outright.
+ */
+public final class LoadBalancedService {
+
+    private final String name;
+    private final List<ServiceEndpoint> endpoints;
+
+    /**
+     * Creates a service over the given endpoints.
+     *
+     * @param name      the service name
+     * @param endpoints the service endpoints
+     */
+    public LoadBalancedService(String name, List<ServiceEndpoint> endpoints) {
+        this.name = name;
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    /**
+     * Gets the service name.
+     *
+     * @return the service name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Gets the service endpoints.
+     *
+     * @return the endpoints
+     */
+    public List<ServiceEndpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Creates a call to the service. Each subscription is one attempt on a freshly selected endpoint,
+     * so resubscribing on failure retries on another endpoint. The endpoint's in-flight count covers the attempt,
+     * and its outcome feeds the latency average and the ejection logic; a cancelled attempt counts as a failure.
+     *
+     * @param <R>        the response type
+     * @param serviceUri the {@code service://} request URI
+     * @param attempt    sends the request to the absolute URL on the selected endpoint
+     * @param failed     tells whether a response counts as an endpoint failure, e.g. a 5xx status
+     * @return the call, failing if the service has no endpoints
+     */
+    public <R> Uni<R> call(URI serviceUri, Function<String, Uni<R>> attempt, Predicate<? super R> failed) {
+        AtomicReference<ServiceEndpoint> previous = new AtomicReference<>();
+        return Uni.createFrom().deferred(() -> {
+            ServiceEndpoint endpoint = select(previous.get());
+            if (endpoint == null) {
+                return Uni.createFrom().failure(new IllegalStateException("Service " + name + " has no endpoints"));
+            }
+            previous.set(endpoint);
+            endpoint.acquire();
+            long start = System.nanoTime();
+            // A retried Uni can report an item and then a cancellation, so only the first signal is counted
+            AtomicBoolean terminated = new AtomicBoolean();
+            return attempt.apply(endpoint.resolve(serviceUri))
+                    .onTermination().invoke((response, failure, cancelled) -> {
+                        if (!terminated.compareAndSet(false, true)) {
+                            return;
+                        }
+                        endpoint.release();
+                        if (failure != null || cancelled || failed.test(response)) {
+                            endpoint.onFailure();
+                        } else {
+                            endpoint.onSuccess(System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Selects the endpoint for the next attempt.
+     *
+     * @param exclude the endpoint of the previous attempt, or null
+     * @return the chosen endpoint, or null if the service has none
+     */
+    ServiceEndpoint select(ServiceEndpoint exclude) {
+        long now = System.nanoTime();
+        List<ServiceEndpoint> candidates = new ArrayList<>(endpoints.size());
+        for (ServiceEndpoint endpoint : endpoints) {
+            if (endpoint != exclude && endpoint.isAvailable(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (ServiceEndpoint endpoint : endpoints) {
+                if (endpoint != exclude) {
+                    candidates.add(endpoint);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return exclude;
+        }
+        return PowerOfTwoChoices.pick(candidates);
+    }
+}
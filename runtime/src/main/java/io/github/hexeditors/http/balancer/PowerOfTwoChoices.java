@@ -0,0 +1,40 @@
+package io.github.hexeditors.http.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices selection: samples two distinct endpoints at random and keeps the less loaded one.
+ * Close to least-loaded balancing without scanning every endpoint or herding onto a single one.
+ */
+public final class PowerOfTwoChoices {
+
+    private PowerOfTwoChoices() {
+    }
+
+    /**
+     * Picks an endpoint from the given list.
+     *
+     * @param <E>       the endpoint type
+     * @param endpoints the candidate endpoints
+     * @return the chosen endpoint, or null if the list is empty
+     */
+    public static <E extends Endpoint> E pick(List<E> endpoints) {
+        int size = endpoints.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        E a = endpoints.get(first);
+        E b = endpoints.get(second);
+        return a.load() <= b.load() ? a : b;
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.hexeditors.http.balancer;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One replica of a logical service, addressed by its base URL.
+ * Tracks an exponentially weighted moving average of successful response times and the number of consecutive
+ * failures. After too many consecutive failures the endpoint is ejected for a while; once readmitted, a single
+ * further failure ejects it again, while a success clears the failure count.
+ */
+public final class ServiceEndpoint extends Endpoint {
+
+    /**
+     * Weight of the newest latency sample in the moving average.
+     */
+    static final double LATENCY_WEIGHT = 0.2;
+
+    private final String baseUrl;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(-1));
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong ejectedUntil = new AtomicLong(System.nanoTime());
+
+    /**
+     * Creates a service endpoint.
+     *
+     * @param service          the name of the service the endpoint belongs to
+     * @param baseUrl          the base URL of the endpoint
+     * @param failureThreshold the number of consecutive failures that ejects the endpoint
+     * @param ejectionMillis   how long an ejected endpoint stays out of rotation
+     */
+    public ServiceEndpoint(String service, String baseUrl, int failureThreshold, long ejectionMillis) {
+        super(service + "/" + baseUrl);
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+    }
+
+    /**
+     * Gets the base URL of the endpoint, without a trailing slash.
+     *
+     * @return the base URL
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Builds the absolute URL of a service request on this endpoint by appending its path and query.
+     *
+     * @param serviceUri the {@code service://} request URI
+     * @return the absolute request URL
+     */
+    public String resolve(URI serviceUri) {
+        String path = serviceUri.getRawPath();
+        String query = serviceUri.getRawQuery();
+        StringBuilder url = new StringBuilder(baseUrl.length() + 64).append(baseUrl);
+        if (path != null && !path.isEmpty()) {
+            if (path.charAt(0) != '/') {
+                url.append('/');
+            }
+            url.append(path);
+        }
+        if (query != null) {
+            url.append('?').append(query);
+        }
+        return url.toString();
+    }
+
+    /**
+     * Records a successful response and its latency, clearing the failure count.
+     *
+     * @param latencyNanos the response time in nanoseconds
+     */
+    public void onSuccess(long latencyNanos) {
+        consecutiveFailures.set(0);
+        double sample = latencyNanos / 1_000_000.0;
+        long current;
+        double updated;
+        do {
+            current = latencyBits.get();
+            double average = Double.longBitsToDouble(current);
+            updated = average < 0 ? sample : average + LATENCY_WEIGHT * (sample - average);
+        } while (!latencyBits.compareAndSet(current, Double.doubleToRawLongBits(updated)));
+    }
+
+    /**
+     * Records a failed request, ejecting the endpoint once the failure threshold is reached.
+     */
+    public void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            ejectedUntil.set(System.nanoTime() + ejectionNanos);
+        }
+    }
+
+    /**
+     * Whether the endpoint is currently in rotation.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true unless the endpoint is ejected
+     */
+    public boolean isAvailable(long nowNanos) {
+        return nowNanos - ejectedUntil.get() >= 0;
+    }
+
+    /**
+     * Gets the moving average of successful response times.
+     *
+     * @return the average latency in milliseconds, or 0 before the first success
+     */
+    public double latencyMillis() {
+        return Math.max(0, Double.longBitsToDouble(latencyBits.get()));
+    }
+
+    /**
+     * Gets the number of failures since the last success.
+     *
+     * @return the consecutive failure count
+     */
+    public int consecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Estimates the time a new request would wait: the average latency scaled by the requests already in flight.
+     * The extra millisecond keeps the in-flight count relevant before any latency is known.
+     *
+     * @return the expected cost of sending one more request
+     */
+    @Override
+    public double load() {
+        return (latencyMillis() + 1) * (inFlight() + 1);
+    }
+}
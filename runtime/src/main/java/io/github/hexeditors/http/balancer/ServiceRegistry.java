@@ -0,0 +1,59 @@
+package io.github.hexeditors.http.balancer;
+
+import io.github.hexeditors.http.config.HttpClientConfig;
+import io.github.hexeditors.http.config.ServiceConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the logical services configured under {@code http.client.services}, created on first use.
+ */
+@ApplicationScoped
+public class ServiceRegistry {
+
+    /**
+     * The URL scheme addressing a logical service, e.g. {@code service://orders/v1/orders}.
+     */
+    public static final String SCHEME = "service";
+
+    @Inject
+    HttpClientConfig config;
+
+    private final ConcurrentMap<String, LoadBalancedService> services = new ConcurrentHashMap<>();
+
+    /**
+     * Finds the service addressed by a request URL.
+     *
+     * @param uri the request URI
+     * @return the service, or empty if the URL is not a {@code service://} URL
+     * @throws IllegalArgumentException if the URL names a service that is not configured
+     */
+    public Optional<LoadBalancedService> forUri(URI uri) {
+        if (!SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            return Optional.empty();
+        }
+        String name = uri.getHost();
+        ServiceConfig serviceConfig = name == null || config.services() == null ? null : config.services().get(name);
+        if (serviceConfig == null) {
+            throw new IllegalArgumentException("Unknown service: " + uri.getAuthority());
+        }
+        return Optional.of(services.computeIfAbsent(name, key -> create(key, serviceConfig)));
+    }
+
+    private LoadBalancedService create(String name, ServiceConfig serviceConfig) {
+        int failureThreshold = serviceConfig.failureThreshold().orElse(config.circuitBreakerThreshold());
+        long ejectionMillis = serviceConfig.ejectionMillis().orElse(config.circuitBreakerTimeoutMillis());
+        List<ServiceEndpoint> endpoints = new ArrayList<>(serviceConfig.endpoints().size());
+        for (String baseUrl : serviceConfig.endpoints()) {
+            endpoints.add(new ServiceEndpoint(name, baseUrl, failureThreshold, ejectionMillis));
+        }
+        return new LoadBalancedService(name, endpoints);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.hexeditors.http.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link PayloadCodec} backed by a Jackson {@link ObjectMapper}.
+ * Serves JSON as well as the binary Jackson formats (Smile, CBOR), depending on the factory of the mapper.
+ * One {@link ObjectReader} is cached per decoded type, so type resolution happens once per type.
+ */
+public class JacksonPayloadCodec implements PayloadCodec {
+
+    private final String mediaType;
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a codec for the given media type.
+     *
+     * @param mediaType the media type handled by the codec
+     * @param mapper    the mapper whose factory produces the wire format
+     */
+    public JacksonPayloadCodec(String mediaType, ObjectMapper mapper) {
+        this.mediaType = mediaType;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public String mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public byte[] encode(Object body) throws IOException {
+        return mapper.writeValueAsBytes(body);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, int offset, int length, Type type) throws IOException {
+        ObjectReader reader = readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t)));
+        return reader.readValue(bytes, offset, length);
+    }
+
+    @Override
+    public Optional<JsonFactory> tokenFactory() {
+        return Optional.of(mapper.getFactory());
+    }
+}
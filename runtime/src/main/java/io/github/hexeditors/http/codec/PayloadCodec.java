@@ -0,0 +1,54 @@
+package io.github.hexeditors.http.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * Service provider interface for encoding request bodies and decoding response bodies of one media type.
+ * Codecs are selected by the {@code Content-Type} of the request or response. Applications add formats such as
+ * Protobuf by exposing an implementation as a CDI bean; it is picked up by {@link PayloadCodecs}.
+ */
+public interface PayloadCodec {
+
+    /**
+     * Gets the media type handled by this codec, e.g. {@code application/cbor}.
+     *
+     * @return the media type without parameters
+     */
+    String mediaType();
+
+    /**
+     * Encodes the given object into the wire format of this codec.
+     *
+     * @param body the object to encode, never null
+     * @return the encoded bytes
+     * @throws IOException if the object cannot be encoded
+     */
+    byte[] encode(Object body) throws IOException;
+
+    /**
+     * Decodes a slice of the given bytes into the requested Java type.
+     *
+     * @param <T>    the type of the decoded value
+     * @param bytes  the encoded payload
+     * @param offset the offset of the payload in the array
+     * @param length the length of the payload
+     * @param type   the Java type to decode into
+     * @return the decoded value
+     * @throws IOException if the payload cannot be decoded
+     */
+    <T> T decode(byte[] bytes, int offset, int length, Type type) throws IOException;
+
+    /**
+     * Gets the Jackson factory producing a token stream over payloads of this codec.
+     * The PII masker walks the payload through it; codecs without one are treated as opaque.
+     *
+     * @return the token stream factory, or empty if the format cannot be walked
+     */
+    default Optional<JsonFactory> tokenFactory() {
+        return Optional.empty();
+    }
+}
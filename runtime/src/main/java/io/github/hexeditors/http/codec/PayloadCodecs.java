@@ -0,0 +1,133 @@
+package io.github.hexeditors.http.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registry of {@link PayloadCodec}s keyed by media type.
+ * JSON, Smile and CBOR are built in and share the configuration of the injected {@link ObjectMapper}.
+ * Codec beans provided by the application are registered as well and take precedence for their media type.
+ */
+@ApplicationScoped
+public class PayloadCodecs {
+
+    /**
+     * Media type of JSON payloads.
+     */
+    public static final String JSON = "application/json";
+
+    /**
+     * Media type of Jackson Smile payloads.
+     */
+    public static final String SMILE = "application/x-jackson-smile";
+
+    /**
+     * Media type of CBOR payloads.
+     */
+    public static final String CBOR = "application/cbor";
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Inject
+    @Any
+    Instance<PayloadCodec> extensions;
+
+    private volatile Map<String, PayloadCodec> codecs;
+
+    /**
+     * Gets the JSON codec, used whenever no other codec matches.
+     *
+     * @return the JSON codec
+     */
+    public PayloadCodec json() {
+        return codecs().get(JSON);
+    }
+
+    /**
+     * Selects the codec for a {@code Content-Type} header value.
+     * Parameters such as {@code charset} are ignored, and structured suffixes like {@code +json} or {@code +cbor}
+     * resolve to the codec of the base format. Unknown or missing content types fall back to JSON.
+     *
+     * @param contentType the Content-Type header value, may be null
+     * @return the matching codec, never null
+     */
+    public PayloadCodec forContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return json();
+        }
+        String mediaType = mediaType(contentType);
+        PayloadCodec codec = codecs().get(mediaType);
+        if (codec != null) {
+            return codec;
+        }
+        if (mediaType.endsWith("+cbor")) {
+            return codecs().get(CBOR);
+        }
+        return json();
+    }
+
+    /**
+     * Whether the given content type has a codec of its own, rather than falling back to JSON, so its bodies are
+     * payloads of this client and not, say, images or documents. Missing content types count as JSON.
+     *
+     * @param contentType the Content-Type header value, may be null
+     * @return true if the content type is read by a registered codec
+     */
+    public boolean isStructured(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return true;
+        }
+        String mediaType = mediaType(contentType);
+        return codecs().containsKey(mediaType) || mediaType.endsWith("+json") || mediaType.endsWith("+cbor");
+    }
+
+    /**
+     * Strips parameters from a Content-Type value and normalizes its case.
+     *
+     * @param contentType the Content-Type header value
+     * @return the bare media type
+     */
+    private String mediaType(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        String mediaType = semicolon < 0 ? contentType : contentType.substring(0, semicolon);
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the codec table on first use.
+     *
+     * @return the codecs keyed by media type
+     */
+    private Map<String, PayloadCodec> codecs() {
+        Map<String, PayloadCodec> table = codecs;
+        if (table == null) {
+            synchronized (this) {
+                table = codecs;
+                if (table == null) {
+                    table = new HashMap<>();
+                    table.put(JSON, new JacksonPayloadCodec(JSON, mapper));
+                    table.put(SMILE, new JacksonPayloadCodec(SMILE, mapper.copyWith(new SmileFactory())));
+                    table.put(CBOR, new JacksonPayloadCodec(CBOR, mapper.copyWith(new CBORFactory())));
+                    if (extensions != null) {
+                        for (PayloadCodec codec : extensions) {
+                            table.put(mediaType(codec.mediaType()), codec);
+                        }
+                    }
+                    codecs = Map.copyOf(table);
+                    table = codecs;
+                }
+            }
+        }
+        return table;
+    }
+}
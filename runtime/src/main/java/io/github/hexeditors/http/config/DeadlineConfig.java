@@ -0,0 +1,44 @@
+package io.github.hexeditors.http.config;
+
+import io.smallrye.config.ConfigMapping;
+
+import java.util.Optional;
+
+/**
+ * Configuration interface for call deadlines, mapped from properties with prefix "http.deadline".
+ */
+@ConfigMapping(prefix = "http.deadline")
+public interface DeadlineConfig {
+
+    /**
+     * The overall time budget in milliseconds for a call, shared by all attempts and the backoff between them.
+     * Calls are only bounded by the per-attempt timeout and the inbound deadline if not set.
+     *
+     * @return the optional call budget
+     */
+    Optional<Long> timeoutMillis();
+
+    /**
+     * The header carrying the remaining budget in milliseconds, both inbound and to the upstream.
+     *
+     * @return the header name, defaults to "X-Request-Deadline"
+     */
+    @io.smallrye.config.WithDefault("X-Request-Deadline")
+    String header();
+
+    /**
+     * Whether the remaining budget is sent to the upstream with every attempt.
+     *
+     * @return true if the deadline is propagated, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean propagate();
+
+    /**
+     * Whether the deadline header of inbound HTTP requests bounds the client calls made while serving them.
+     *
+     * @return true if inbound deadlines are honoured, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean inbound();
+}
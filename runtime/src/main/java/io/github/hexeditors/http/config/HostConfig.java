@@ -0,0 +1,116 @@
+package io.github.hexeditors.http.config;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-host overrides of the HTTP client settings.
+ * Every setting is optional and falls back to the corresponding value of {@link HttpClientConfig}.
+ */
+public interface HostConfig {
+
+    /**
+     * Whether response compression is negotiated with this host.
+     *
+     * @return the optional compression flag
+     */
+    Optional<Boolean> compression();
+
+    /**
+     * The content codings offered to this host in the Accept-Encoding header.
+     *
+     * @return the optional list of content codings
+     */
+    Optional<List<String>> acceptEncoding();
+
+    /**
+     * The size in bytes from which request bodies sent to this host are gzip-compressed.
+     *
+     * @return the optional compression threshold
+     */
+    Optional<Integer> requestCompressionThreshold();
+
+    /**
+     * The TCP connect timeout in milliseconds for this host.
+     *
+     * @return the optional connect timeout
+     */
+    Optional<Integer> connectTimeoutMillis();
+
+    /**
+     * The time in milliseconds to wait for the first byte of a response from this host.
+     *
+     * @return the optional first-byte timeout
+     */
+    Optional<Integer> firstByteTimeoutMillis();
+
+    /**
+     * The time in milliseconds after which an idle connection to this host is closed.
+     *
+     * @return the optional idle timeout
+     */
+    Optional<Integer> idleTimeoutMillis();
+
+    /**
+     * Whether Nagle's algorithm is disabled on connections to this host.
+     *
+     * @return the optional TCP_NODELAY flag
+     */
+    Optional<Boolean> tcpNoDelay();
+
+    /**
+     * Whether TCP Fast Open is used for connections to this host.
+     *
+     * @return the optional TCP Fast Open flag
+     */
+    Optional<Boolean> tcpFastOpen();
+
+    /**
+     * Whether TCP keep-alive probes are sent on connections to this host.
+     *
+     * @return the optional SO_KEEPALIVE flag
+     */
+    Optional<Boolean> tcpKeepAlive();
+
+    /**
+     * Whether requests to this host are balanced across all of its resolved addresses.
+     *
+     * @return the optional DNS balancing flag
+     */
+    Optional<Boolean> dnsBalancing();
+
+    /**
+     * The number of requests per second allowed to this host.
+     *
+     * @return the optional request rate
+     */
+    Optional<Double> rateLimitPerSecond();
+
+    /**
+     * The number of requests that may be sent to this host at once before the rate applies.
+     *
+     * @return the optional burst size
+     */
+    Optional<Integer> rateLimitBurst();
+
+    /**
+     * The fraction of requests to this host whose request and response are traced.
+     *
+     * @return the optional trace sample rate
+     */
+    Optional<Double> traceSampleRate();
+
+    /**
+     * Whether requests to this host left out by the sample rate are traced when they fail.
+     *
+     * @return the optional flag
+     */
+    Optional<Boolean> traceErrors();
+
+    /**
+     * The largest number of requests per second traced for this host.
+     *
+     * @return the optional trace rate cap
+     */
+    Optional<Double> traceMaxPerSecond();
+}
@@ -2,6 +2,8 @@ package io.github.hexeditors.http.config;
 
 import io.smallrye.config.ConfigMapping;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -64,4 +66,194 @@ public interface HttpClientConfig {
      * @return the optional set of proxy domains
      */
     Optional<Set<String>> proxyDomains();
+
+    /**
+     * Whether response compression is negotiated. Compressed responses are inflated as they are received.
+     *
+     * @return true if compression is negotiated, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean compression();
+
+    /**
+     * The content codings offered in the Accept-Encoding header when compression is enabled.
+     * Codings the client cannot decode, such as {@code br} without Brotli4j on the classpath, are not offered.
+     *
+     * @return the list of content codings, defaults to gzip, deflate and br
+     */
+    @io.smallrye.config.WithDefault("gzip,deflate,br")
+    List<String> acceptEncoding();
+
+    /**
+     * The size in bytes from which request bodies are gzip-compressed.
+     * Request bodies are sent uncompressed if not set.
+     *
+     * @return the optional compression threshold
+     */
+    Optional<Integer> requestCompressionThreshold();
+
+    /**
+     * The TCP connect timeout in milliseconds.
+     *
+     * @return the connect timeout, defaults to 2000ms
+     */
+    @io.smallrye.config.WithDefault("2000")
+    int connectTimeoutMillis();
+
+    /**
+     * The time in milliseconds to wait for the first byte of a response, separately from the overall call timeout.
+     * Only the call timeout applies if not set.
+     *
+     * @return the optional first-byte timeout
+     */
+    Optional<Integer> firstByteTimeoutMillis();
+
+    /**
+     * The time in milliseconds after which a connection that neither reads nor writes is closed.
+     * Keeps dead and half-open connections out of the pool.
+     *
+     * @return the idle timeout, defaults to 60000ms
+     */
+    @io.smallrye.config.WithDefault("60000")
+    int idleTimeoutMillis();
+
+    /**
+     * Whether Nagle's algorithm is disabled, so small requests are sent without delay.
+     *
+     * @return true if TCP_NODELAY is set, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean tcpNoDelay();
+
+    /**
+     * Whether TCP Fast Open is used. Requires a native transport and kernel support.
+     *
+     * @return true if TCP Fast Open is enabled, defaults to false
+     */
+    @io.smallrye.config.WithDefault("false")
+    boolean tcpFastOpen();
+
+    /**
+     * Whether TCP keep-alive probes are sent on idle connections.
+     *
+     * @return true if SO_KEEPALIVE is set, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean tcpKeepAlive();
+
+    /**
+     * Whether requests are balanced across all resolved addresses of a host instead of the first one.
+     * Intended for services behind DNS round-robin; hosts reached through the proxy are never balanced.
+     *
+     * @return true if DNS balancing is enabled, defaults to false
+     */
+    @io.smallrye.config.WithDefault("false")
+    boolean dnsBalancing();
+
+    /**
+     * The lower bound in seconds applied to DNS record TTLs when caching balanced lookups.
+     *
+     * @return the minimum TTL, defaults to 1s
+     */
+    @io.smallrye.config.WithDefault("1")
+    int dnsMinTtlSeconds();
+
+    /**
+     * The upper bound in seconds applied to DNS record TTLs when caching balanced lookups.
+     *
+     * @return the maximum TTL, defaults to 300s
+     */
+    @io.smallrye.config.WithDefault("300")
+    int dnsMaxTtlSeconds();
+
+    /**
+     * How long in seconds a failed lookup is cached before the host is resolved again.
+     *
+     * @return the negative TTL, defaults to 5s
+     */
+    @io.smallrye.config.WithDefault("5")
+    int dnsNegativeTtlSeconds();
+
+    /**
+     * The number of requests per second allowed to each host, enforced with a token bucket.
+     * Requests are not rate limited if not set.
+     *
+     * @return the optional request rate
+     */
+    Optional<Double> rateLimitPerSecond();
+
+    /**
+     * The number of requests that may be sent to a host at once before the rate applies.
+     * Defaults to one second worth of requests if not set.
+     *
+     * @return the optional burst size
+     */
+    Optional<Integer> rateLimitBurst();
+
+    /**
+     * The longest time in milliseconds a request waits for the rate limiter before it fails.
+     * The wait is also bounded by the call deadline.
+     *
+     * @return the maximum wait, defaults to 1000ms
+     */
+    @io.smallrye.config.WithDefault("1000")
+    long rateLimitMaxWaitMillis();
+
+    /**
+     * The fraction of requests to each host, between 0 and 1, whose request and response are traced at FINEST level,
+     * decided when the request starts. Every request is traced if not set.
+     *
+     * @return the optional trace sample rate
+     */
+    Optional<Double> traceSampleRate();
+
+    /**
+     * Whether requests left out by the trace sample rate are still traced when they end with a non-2xx response or
+     * a failure. Their request is then traced along with the response.
+     *
+     * @return true if failed requests are always traced, defaults to true
+     */
+    @io.smallrye.config.WithDefault("true")
+    boolean traceErrors();
+
+    /**
+     * The largest number of requests per second traced for each host, sampled and failed ones alike.
+     * Traces are not capped if not set.
+     *
+     * @return the optional trace rate cap
+     */
+    Optional<Double> traceMaxPerSecond();
+
+    /**
+     * Route templates request paths are reduced to in audit events and trace logs, such as
+     * {@code /users/{userId}/orders/{orderId}}. Paths matching none of them have their identifier-like segments
+     * replaced with {@code {id}}.
+     *
+     * @return the optional list of route templates
+     */
+    Optional<List<String>> urlTemplates();
+
+    /**
+     * The number of URLs whose route template is cached.
+     *
+     * @return the cache size, defaults to 1024
+     */
+    @io.smallrye.config.WithDefault("1024")
+    int urlTemplateCacheSize();
+
+    /**
+     * Per-host overrides of the client settings.
+     * Keys can be host names or patterns (e.g., "*.example.com").
+     *
+     * @return map of host to client settings
+     */
+    Map<String, HostConfig> hosts();
+
+    /**
+     * Logical services balanced across several endpoints, keyed by service name.
+     * A service is called with URLs of the form {@code service://<name>/path}.
+     *
+     * @return map of service name to service settings
+     */
+    Map<String, ServiceConfig> services();
 }
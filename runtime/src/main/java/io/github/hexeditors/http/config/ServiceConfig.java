@@ -0,0 +1,35 @@
+package io.github.hexeditors.http.config;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A logical service reached through a set of replicated endpoints.
+ * Requests to {@code service://<name>/path} are sent to one of the endpoints, appending the path and query
+ * to its base URL.
+ */
+public interface ServiceConfig {
+
+    /**
+     * The base URLs of the service endpoints (e.g., "https://orders-1.internal:8443/api").
+     *
+     * @return the list of endpoint base URLs
+     */
+    List<String> endpoints();
+
+    /**
+     * The number of consecutive failures after which an endpoint is ejected.
+     * Falls back to {@link HttpClientConfig#circuitBreakerThreshold()} if not set.
+     *
+     * @return the optional failure threshold
+     */
+    Optional<Integer> failureThreshold();
+
+    /**
+     * How long in milliseconds an ejected endpoint is kept out of rotation before it is tried again.
+     * Falls back to {@link HttpClientConfig#circuitBreakerTimeoutMillis()} if not set.
+     *
+     * @return the optional ejection time
+     */
+    Optional<Long> ejectionMillis();
+}
@@ -2,32 +2,73 @@ package io.github.hexeditors.http.impl;
 
 import io.github.hexeditors.http.api.HttpClient;
 import io.github.hexeditors.http.api.HttpResponse;
+import io.github.hexeditors.http.api.MultiValueHeaders;
+import io.github.hexeditors.http.api.StreamingHttpClient;
 import io.github.hexeditors.http.audit.AuditPublisher;
+import io.github.hexeditors.http.balancer.LoadBalancedService;
+import io.github.hexeditors.http.balancer.ServiceRegistry;
+import io.github.hexeditors.http.codec.PayloadCodec;
+import io.github.hexeditors.http.codec.PayloadCodecs;
 import io.github.hexeditors.http.config.HttpClientConfig;
 import io.github.hexeditors.http.logging.LogUtil;
+import io.github.hexeditors.http.logging.TraceSampler;
+import io.github.hexeditors.http.logging.TraceSampler.Trace;
 import io.github.hexeditors.http.pii.*;
+import io.github.hexeditors.http.ratelimit.RateLimitExceededException;
+import io.github.hexeditors.http.ratelimit.RateLimiters;
 import io.github.hexeditors.http.util.CorrelationIdUtil;
+import io.github.hexeditors.http.util.Deadline;
+import io.github.hexeditors.http.util.DeadlineUtil;
+import io.github.hexeditors.http.util.UrlTemplates;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.flogger.FluentLogger;
+import io.netty.buffer.ByteBuf;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.ext.web.client.HttpRequest;
 import io.vertx.mutiny.ext.web.client.WebClient;
+import io.vertx.mutiny.ext.web.codec.BodyCodec;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Implementation of {@link HttpClient} using Vert.x WebClient.
+ * Implementation of {@link HttpClient} and {@link StreamingHttpClient} using Vert.x WebClient.
  * Provides HTTP client functionality with features like retry logic, timeouts, request/response logging, PII masking, and audit publishing.
  */
 @ApplicationScoped
-public class VertxHttpClient implements HttpClient {
+public class VertxHttpClient implements HttpClient, StreamingHttpClient {
 
     private static final FluentLogger log = LogUtil.log;
 
+    /**
+     * Stands in for the masked response body when it is neither traced nor audited.
+     */
+    private static final MaskingResult UNMASKED = MaskingResult.builder()
+            .highestLevel(PiiLevel.NONE)
+            .build();
+
     @Inject
     WebClientFactory factory;
 
@@ -41,7 +82,7 @@ public class VertxHttpClient implements HttpClient {
     JsonBodyMasker jsonBodyMasker;
 
     @Inject
-    PiiConfig piiConfig;
+    PiiMasker piiMasker;
 
     @Inject
     AuditPublisher auditPublisher;
@@ -52,6 +93,27 @@ public class VertxHttpClient implements HttpClient {
     @Inject
     CorrelationIdUtil correlationIdUtil;
 
+    @Inject
+    DeadlineUtil deadlineUtil;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    PayloadCodecs codecs;
+
+    @Inject
+    ServiceRegistry services;
+
+    @Inject
+    RateLimiters rateLimiters;
+
+    @Inject
+    TraceSampler traceSampler;
+
+    @Inject
+    UrlTemplates urlTemplates;
+
     @Override
     public <T> HttpResponse<T> get(
             String url,
@@ -105,122 +167,239 @@ public class VertxHttpClient implements HttpClient {
         return execute(HttpMethod.DELETE, url, headers, null, type);
     }
 
+    @Override
+    public <T> HttpResponse<T> get(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            TypeReference<T> type
+    ) {
+        return execute(HttpMethod.GET, url, headers, null, type.getType());
+    }
+
+    @Override
+    public <T> HttpResponse<T> post(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Object body,
+            TypeReference<T> type
+    ) {
+        return execute(HttpMethod.POST, url, headers, body, type.getType());
+    }
+
+    @Override
+    public <T> HttpResponse<T> put(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Object body,
+            TypeReference<T> type
+    ) {
+        return execute(HttpMethod.PUT, url, headers, body, type.getType());
+    }
+
+    @Override
+    public <T> HttpResponse<T> patch(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Object body,
+            TypeReference<T> type
+    ) {
+        return execute(HttpMethod.PATCH, url, headers, body, type.getType());
+    }
+
+    @Override
+    public <T> HttpResponse<T> delete(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            TypeReference<T> type
+    ) {
+        return execute(HttpMethod.DELETE, url, headers, null, type.getType());
+    }
+
+    @Override
+    public HttpResponse<Path> download(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Path target
+    ) {
+        try (CorrelationIdUtil.Scope scope = correlationIdUtil.open(
+                headers.get(correlationIdUtil.getHeaderName())
+        )) {
+            return executeDownload(url, headers, target, scope.correlationId(), new AtomicInteger(0));
+        }
+    }
+
+    @Override
+    public <T> HttpResponse<T> postFile(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Path source,
+            Class<T> type
+    ) {
+        return executeFileUpload(HttpMethod.POST, url, headers, source, type);
+    }
+
+    @Override
+    public <T> HttpResponse<T> putFile(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Path source,
+            Class<T> type
+    ) {
+        return executeFileUpload(HttpMethod.PUT, url, headers, source, type);
+    }
+
+    @Override
+    public <T> HttpResponse<T> postStream(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Multi<Buffer> body,
+            Class<T> type
+    ) {
+        return executeStreamUpload(HttpMethod.POST, url, headers, body, type);
+    }
+
+    @Override
+    public <T> HttpResponse<T> putStream(
+            String url,
+            Map<String, String> params,
+            Map<String, String> headers,
+            Multi<Buffer> body,
+            Class<T> type
+    ) {
+        return executeStreamUpload(HttpMethod.PUT, url, headers, body, type);
+    }
+
     /**
-     * Executes the HTTP request with correlation ID setup and request tracing.
+     * Uploads a file, reopening it on every attempt so that all failures can be retried.
      *
      * @param <T>     the type of the response body
      * @param method  the HTTP method
      * @param url     the request URL
      * @param headers the request headers
-     * @param body    the request body, can be null
-     * @param type    the class type for response deserialization
+     * @param source  the file to send
+     * @param type    the Java type for response deserialization
      * @return the HTTP response
      */
-    private <T> HttpResponse<T> execute(
+    private <T> HttpResponse<T> executeFileUpload(
             HttpMethod method,
             String url,
             Map<String, String> headers,
-            Object body,
-            Class<T> type
+            Path source,
+            Type type
     ) {
-        String cid = correlationIdUtil.getOrCreate(
-                headers.get(correlationIdUtil.getHeaderName())
+        return executeUpload(
+                method,
+                url,
+                headers,
+                "<file " + source + ">",
+                req -> vertx.fileSystem().open(source.toString(), new OpenOptions().setRead(true))
+                        .chain(file -> req.sendStream(file).eventually(file::close)),
+                failure -> true,
+                type
         );
-
-        /* ===================== TRACE REQUEST ===================== */
-        if (LogUtil.isTraceEnabled()) {
-            Map<String, String> safeHeaders =
-                    LogUtil.maskHeaders(
-                            headers,
-                            piiClassifier,
-                            regexPiiDetector,
-                            piiConfig.mask()
-                    );
-
-            MaskingResult maskedBody =
-                    jsonBodyMasker.mask(body);
-
-            log.atFinest().log(
-                    "HTTP %s %s headers=%s body=%s piiLevel=%s cid=%s",
-                    method,
-                    url,
-                    safeHeaders,
-                    maskedBody.getMaskedValue(),
-                    maskedBody.getHighestLevel(),
-                    cid
-            );
-        }
-
-        return executeWithRetry(method, url, headers, body, type, cid, new AtomicInteger(0));
     }
 
     /**
-     * Executes the HTTP request with retry logic, response processing, logging, and auditing.
-     * Handles timeouts, retries, response deserialization, PII masking, and audit publishing.
+     * Uploads a stream that cannot be replayed. A failed attempt is only retried while no buffer of the stream
+     * has been emitted yet, e.g. when the connection could not be established.
+     * The request subscribes to the stream as soon as it is assembled, so the subscription itself says nothing.
      *
      * @param <T>     the type of the response body
      * @param method  the HTTP method
      * @param url     the request URL
      * @param headers the request headers
-     * @param body    the request body, can be null
-     * @param type    the class type for response deserialization
-     * @param cid     the correlation ID
-     * @param attempt the attempt counter for retries
+     * @param body    the stream to send
+     * @param type    the Java type for response deserialization
      * @return the HTTP response
      */
-    private <T> HttpResponse<T> executeWithRetry(
+    private <T> HttpResponse<T> executeStreamUpload(
             HttpMethod method,
             String url,
             Map<String, String> headers,
-            Object body,
-            Class<T> type,
+            Multi<Buffer> body,
+            Type type
+    ) {
+        AtomicBoolean consumed = new AtomicBoolean(false);
+        Multi<Buffer> tracked = body.onItem().invoke(buffer -> consumed.set(true));
+        return executeUpload(
+                method,
+                url,
+                headers,
+                "<stream>",
+                req -> req.sendStream(tracked),
+                failure -> !consumed.get(),
+                type
+        );
+    }
+
+    /**
+     * Executes a streaming download with retry logic, logging, and auditing.
+     * The body is piped into an {@code AsyncFile}, so the configured timeout is applied as an idle timeout
+     * between chunks rather than to the whole transfer. Body masking is skipped because the body is never buffered.
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param target  the file the response body is written to
+     * @param cid     the correlation ID
+     * @param attempt the attempt counter for retries
+     * @return the HTTP response whose body is the target path
+     */
+    private HttpResponse<Path> executeDownload(
+            String url,
+            Map<String, String> headers,
+            Path target,
             String cid,
             AtomicInteger attempt
     ) {
-        WebClient client = factory.create(URI.create(url).getHost());
-
-        var req = client.requestAbs(method, url);
-        headers.forEach(req::putHeader);
-        req.putHeader(correlationIdUtil.getHeaderName(), cid);
-        var sendUni = body == null ? req.send() : req.sendJson(body);
-        return sendUni
-                .ifNoItem().after(Duration.ofMillis(httpClientConfig.timeoutMillis()))
-                .failWith(() -> new RuntimeException("Request timeout"))
-                .onFailure().retry()
+        /* ===================== TRACE REQUEST ===================== */
+        Trace trace = traceSampler.sample(url);
+        if (trace.isActive()) {
+            trace.request(() -> log.atFinest().log(
+                    "HTTP GET %s headers=%s body=<none> download=%s cid=%s",
+                    urlTemplates.template(url),
+                    LogUtil.maskHeaders(headers, piiClassifier, regexPiiDetector, piiMasker),
+                    target,
+                    cid
+            ));
+        }
+
+        OpenOptions openOptions = new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true);
+
+        return route(url, Deadline.none(), targetUrl -> vertx.fileSystem().open(target.toString(), openOptions)
+                        .chain(file -> {
+                            var req = factory.forHost(URI.create(targetUrl).getHost()).getAbs(targetUrl)
+                                    .idleTimeout(httpClientConfig.timeoutMillis())
+                                    .as(BodyCodec.pipe(file));
+                            headers.forEach(req::putHeader);
+                            req.putHeader(correlationIdUtil.getHeaderName(), cid);
+                            acceptEncoding(req, targetUrl);
+                            // the pipe only closes the file once a body arrives, so a failed attempt closes it here
+                            return req.send().onFailure().call(() -> file.close().onFailure().recoverWithNull());
+                        }))
+                .runSubscriptionOn(correlationIdUtil.callExecutor(cid))
+                .onFailure(VertxHttpClient::retryable).retry()
                 .withBackOff(Duration.ofMillis(100))
                 .atMost(httpClientConfig.maxRetries())
                 .map(resp -> {
-                    T entity = null;
-                    try {
-                        if (type != Void.class && resp.body() != null) {
-                            entity = resp.bodyAsJson(type);
-                        }
-                    } catch (Exception ignored) {
-                    }
-
-                    MaskingResult maskedResponse = jsonBodyMasker.mask(entity);
+                    MultiValueHeaders responseHeaders = new VertxResponseHeaders(resp.headers().getDelegate());
 
                     /* ===================== TRACE RESPONSE ===================== */
-                    if (LogUtil.isTraceEnabled()) {
-                        Map<String, String> safeResponseHeaders =
-                                LogUtil.maskHeaders(
-                                        resp.headers().entries().stream()
-                                                .collect(Collectors.toMap(
-                                                        Map.Entry::getKey,
-                                                        Map.Entry::getValue,
-                                                        (a, b) -> b
-                                                )),
-                                        piiClassifier,
-                                        regexPiiDetector,
-                                        piiConfig.mask()
-                                );
-
+                    if (trace.response(resp.statusCode())) {
                         log.atFinest().log(
-                                "HTTP RESPONSE status=%d headers=%s body=%s piiLevel=%s cid=%s attempt=%d",
+                                "HTTP RESPONSE status=%d headers=%s body=<streamed content-type=%s length=%s> cid=%s attempt=%d",
                                 resp.statusCode(),
-                                safeResponseHeaders,
-                                maskedResponse.getMaskedValue(),
-                                maskedResponse.getHighestLevel(),
+                                LogUtil.maskHeaders(responseHeaders, piiClassifier, regexPiiDetector, piiMasker),
+                                responseHeaders.get("Content-Type"),
+                                responseHeaders.get("Content-Length"),
                                 cid,
                                 attempt.incrementAndGet()
                         );
@@ -228,40 +407,608 @@ public class VertxHttpClient implements HttpClient {
 
                     /* ===================== GDPR / PCI AUDIT ===================== */
                     auditPublisher.publishIfRequired(
-                            "HTTP_CLIENT_CALL",
-                            method.name(),
-                            url,
+                            "HTTP_CLIENT_DOWNLOAD",
+                            HttpMethod.GET.name(),
+                            auditUrl(url),
                             resp.statusCode(),
                             cid,
-                            maskedResponse.getHighestLevel()
+                            PiiLevel.NONE
                     );
 
-                    return HttpResponse.<T>builder()
+                    return HttpResponse.<Path>builder()
                             .statusCode(resp.statusCode())
-                            .headers(
-                                    resp.headers().entries().stream()
-                                            .collect(Collectors.toMap(
-                                                    Map.Entry::getKey,
-                                                    Map.Entry::getValue,
-                                                    (a, b) -> b
-                                            ))
-                            )
-                            .body(entity)
+                            .headers(responseHeaders)
+                            .body(target)
                             .success(resp.statusCode() < 400)
                             .correlationId(cid)
                             .build();
                 })
-                .onFailure().recoverWithItem(throwable -> {
-                    log.atSevere()
-                            .withCause(throwable)
-                            .log("HTTP infrastructure failure cid=%s attempt=%d", cid, attempt.get());
-
-                    return HttpResponse.<T>builder()
-                            .statusCode(0)
-                            .success(false)
-                            .correlationId(cid)
-                            .build();
-                })
+                .onFailure().recoverWithItem(throwable -> infrastructureFailure(throwable, cid, attempt, trace))
                 .await().indefinitely();
     }
+
+    /**
+     * Executes the HTTP request with correlation ID setup and request tracing.
+     * The correlation ID is scoped to the call and the previous MDC entry is restored afterwards.
+     *
+     * @param <T>     the type of the response body
+     * @param method  the HTTP method
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the request body, can be null
+     * @param type    the Java type for response deserialization
+     * @return the HTTP response
+     */
+    private <T> HttpResponse<T> execute(
+            HttpMethod method,
+            String url,
+            Map<String, String> headers,
+            Object body,
+            Type type
+    ) {
+        try (CorrelationIdUtil.Scope scope = correlationIdUtil.open(
+                headers.get(correlationIdUtil.getHeaderName())
+        )) {
+            return execute(method, url, headers, body, type, scope.correlationId());
+        }
+    }
+
+    /**
+     * Traces the request and executes it within the correlation scope of the call.
+     *
+     * @param <T>     the type of the response body
+     * @param method  the HTTP method
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the request body, can be null
+     * @param type    the Java type for response deserialization
+     * @param cid     the correlation ID
+     * @return the HTTP response
+     */
+    private <T> HttpResponse<T> execute(
+            HttpMethod method,
+            String url,
+            Map<String, String> headers,
+            Object body,
+            Type type,
+            String cid
+    ) {
+        PayloadCodec codec = codecs.forContentType(headerValue(headers, HttpHeaders.CONTENT_TYPE.toString()));
+        Buffer encoded;
+        try {
+            encoded = encodeBody(body, codec);
+        } catch (IOException e) {
+            return infrastructureFailure(e, cid, new AtomicInteger(0), Trace.OFF);
+        }
+
+        /* ===================== TRACE REQUEST ===================== */
+        Trace trace = traceSampler.sample(url);
+        if (trace.isActive()) {
+            Buffer plain = encoded;
+            trace.request(() -> {
+                Map<String, String> safeHeaders =
+                        LogUtil.maskHeaders(
+                                headers,
+                                piiClassifier,
+                                regexPiiDetector,
+                                piiMasker
+                        );
+
+                String contentType = headerValue(headers, HttpHeaders.CONTENT_TYPE.toString());
+                MaskingResult maskedBody = plain != null && !codecs.isStructured(contentType)
+                        ? jsonBodyMasker.summarize(contentType, plain.length())
+                        : jsonBodyMasker.maskEncoded(plain == null ? null : plain.getBytes(), codec);
+
+                log.atFinest().log(
+                        "HTTP %s %s headers=%s body=%s piiLevel=%s cid=%s",
+                        method,
+                        urlTemplates.template(url),
+                        safeHeaders,
+                        maskedBody.getMaskedValue(),
+                        maskedBody.getHighestLevel(),
+                        cid
+                );
+            });
+        }
+
+        /* ===================== REQUEST COMPRESSION ===================== */
+        Map<String, String> sendHeaders = headers;
+        if (shouldCompress(url, headers, encoded)) {
+            try {
+                encoded = gzip(encoded);
+            } catch (IOException e) {
+                return infrastructureFailure(e, cid, new AtomicInteger(0), trace);
+            }
+            sendHeaders = new HashMap<>(headers);
+            sendHeaders.put(HttpHeaders.CONTENT_ENCODING.toString(), "gzip");
+        }
+
+        return executeWithRetry(method, url, sendHeaders, encoded, codec, type, cid, new AtomicInteger(0), trace);
+    }
+
+    /**
+     * Whether the encoded body reaches the compression threshold configured for the target host.
+     * Bodies that already carry a Content-Encoding are left untouched.
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the encoded request body, can be null
+     * @return true if the body should be gzip-compressed
+     */
+    private boolean shouldCompress(String url, Map<String, String> headers, Buffer body) {
+        if (body == null || headerValue(headers, HttpHeaders.CONTENT_ENCODING.toString()) != null) {
+            return false;
+        }
+        return factory.requestCompressionThreshold(URI.create(url).getHost())
+                .map(threshold -> body.length() >= threshold)
+                .orElse(false);
+    }
+
+    /**
+     * Gzip-compresses an encoded request body. Done once per call, so retries resend the compressed bytes.
+     *
+     * @param body the encoded request body
+     * @return the compressed body
+     * @throws IOException if compression fails
+     */
+    private static Buffer gzip(Buffer body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length() / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            ByteBuf bytes = body.getDelegate().getByteBuf();
+            if (bytes.hasArray()) {
+                out.write(bytes.array(), bytes.arrayOffset() + bytes.readerIndex(), bytes.readableBytes());
+            } else {
+                out.write(body.getBytes());
+            }
+        }
+        return Buffer.buffer(compressed.toByteArray());
+    }
+
+    /**
+     * Encodes the request body once, so that every attempt and the trace log reuse the same bytes.
+     * A {@code byte[]} or {@code Buffer} body is treated as already encoded and skips the codec entirely.
+     *
+     * @param body  the request body, can be null
+     * @param codec the codec selected by the request Content-Type
+     * @return the encoded body, or null if there is no body
+     * @throws IOException if the body cannot be serialized
+     */
+    private Buffer encodeBody(Object body, PayloadCodec codec) throws IOException {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof Buffer buffer) {
+            return buffer;
+        }
+        if (body instanceof io.vertx.core.buffer.Buffer buffer) {
+            return Buffer.newInstance(buffer);
+        }
+        if (body instanceof byte[] bytes) {
+            return Buffer.buffer(bytes);
+        }
+        return Buffer.buffer(codec.encode(body));
+    }
+
+    /**
+     * Executes the HTTP request with retry logic, response processing, logging, and auditing.
+     * Handles timeouts, retries, response deserialization, PII masking, and audit publishing.
+     * Every attempt is subscribed on a duplicated context carrying the correlation ID, so retries keep it.
+     * Attempts and backoffs share one call deadline. Each attempt is cut to the time left and sends it upstream.
+     * No retry starts once the deadline has passed, nor after the rate limiter turned an attempt away.
+     * Each attempt goes through {@link #route}, which picks its target and applies rate limiting.
+     * The body is encoded once up front, and the same buffer is sent on every attempt.
+     * A binary codec also asks the server for the same format, with JSON as the fallback.
+     *
+     * @param <T>     the type of the response body
+     * @param method  the HTTP method
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the encoded request body, can be null
+     * @param codec   the codec the body was encoded with
+     * @param type    the Java type for response deserialization
+     * @param cid     the correlation ID
+     * @param attempt the attempt counter for retries
+     * @param trace   the trace of the call
+     * @return the HTTP response
+     */
+    private <T> HttpResponse<T> executeWithRetry(
+            HttpMethod method,
+            String url,
+            Map<String, String> headers,
+            Buffer body,
+            PayloadCodec codec,
+            Type type,
+            String cid,
+            AtomicInteger attempt,
+            Trace trace
+    ) {
+        Deadline deadline = deadlineUtil.forCall();
+        if (deadline.isExpired()) {
+            return infrastructureFailure(new TimeoutException("Call deadline exceeded"), cid, attempt, trace);
+        }
+
+        BiFunction<HttpRequest<Buffer>, String, Uni<io.vertx.mutiny.ext.web.client.HttpResponse<Buffer>>> send = (req, targetUrl) -> {
+            long remaining = deadline.remainingMillis();
+            headers.forEach(req::putHeader);
+            req.putHeader(correlationIdUtil.getHeaderName(), cid);
+            acceptEncoding(req, targetUrl);
+            factory.firstByteTimeout(URI.create(targetUrl).getHost()).ifPresent(req::idleTimeout);
+            if (body != null && !req.headers().contains(HttpHeaders.CONTENT_TYPE)) {
+                req.putHeader(HttpHeaders.CONTENT_TYPE.toString(), codec.mediaType());
+            }
+            if (body != null && codec != codecs.json() && !req.headers().contains(HttpHeaders.ACCEPT)) {
+                req.putHeader(HttpHeaders.ACCEPT.toString(), codec.mediaType() + ", " + PayloadCodecs.JSON + ";q=0.9");
+            }
+            if (deadline.isBounded() && deadlineUtil.isPropagated()) {
+                req.putHeader(deadlineUtil.getHeaderName(), Long.toString(remaining));
+            }
+            var sendUni = body == null ? req.send() : req.sendBuffer(body);
+            long timeout = Math.max(1, Math.min(httpClientConfig.timeoutMillis(), remaining));
+            return sendUni
+                    .ifNoItem().after(Duration.ofMillis(timeout))
+                    .failWith(() -> new RuntimeException("Request timeout"));
+        };
+
+        // Every attempt builds a fresh request, so a balanced retry can land on another endpoint or resolved address
+        var routed = route(url, deadline, targetUrl -> {
+            URI uri = URI.create(targetUrl);
+            String host = uri.getHost();
+            WebClient client = factory.forHost(host);
+            if (!factory.dnsBalancing(host)) {
+                return send.apply(client.requestAbs(method, targetUrl), targetUrl);
+            }
+            return factory.endpoint(host, port(uri)).chain(endpoint -> {
+                endpoint.acquire();
+                AtomicBoolean released = new AtomicBoolean();
+                return send.apply(client.requestAbs(method, endpoint.address(), targetUrl), targetUrl)
+                        .onTermination().invoke(() -> {
+                            if (released.compareAndSet(false, true)) {
+                                endpoint.release();
+                            }
+                        });
+            });
+        });
+        var attemptUni = Uni.createFrom().deferred(() -> deadline.isExpired()
+                ? Uni.createFrom().failure(new TimeoutException("Call deadline exceeded"))
+                : routed);
+        var callUni = attemptUni
+                .runSubscriptionOn(correlationIdUtil.callExecutor(cid))
+                .onFailure(failure -> retryable(failure) && !deadline.isExpired()).retry()
+                .withBackOff(Duration.ofMillis(100))
+                .atMost(httpClientConfig.maxRetries());
+        if (deadline.isBounded()) {
+            callUni = callUni
+                    .ifNoItem().after(Duration.ofMillis(Math.max(1, deadline.remainingMillis())))
+                    .failWith(() -> new TimeoutException("Call deadline exceeded"));
+        }
+        return callUni
+                .map(resp -> this.<T>toResponse(resp, method, url, type, cid, attempt, trace))
+                .onFailure().recoverWithItem(throwable -> infrastructureFailure(throwable, cid, attempt, trace))
+                .await().indefinitely();
+    }
+
+    /**
+     * Executes a streamed upload with correlation ID setup, request tracing, and replay-aware retries.
+     * The body is sent with chunked transfer encoding unless a Content-Length header is supplied.
+     * No whole-call timeout is applied, since the transfer time grows with the body size.
+     *
+     * @param <T>        the type of the response body
+     * @param method     the HTTP method
+     * @param url        the request URL
+     * @param headers    the request headers
+     * @param bodyLabel  the description of the body used in the trace log
+     * @param sender     sends the request with the streamed body, invoked once per attempt
+     * @param replayable predicate telling whether a failed attempt may be retried
+     * @param type       the Java type for response deserialization
+     * @return the HTTP response
+     */
+    private <T> HttpResponse<T> executeUpload(
+            HttpMethod method,
+            String url,
+            Map<String, String> headers,
+            String bodyLabel,
+            Function<HttpRequest<Buffer>, Uni<io.vertx.mutiny.ext.web.client.HttpResponse<Buffer>>> sender,
+            Predicate<Throwable> replayable,
+            Type type
+    ) {
+        try (CorrelationIdUtil.Scope scope = correlationIdUtil.open(
+                headers.get(correlationIdUtil.getHeaderName())
+        )) {
+            String cid = scope.correlationId();
+            AtomicInteger attempt = new AtomicInteger(0);
+
+            /* ===================== TRACE REQUEST ===================== */
+            Trace trace = traceSampler.sample(url);
+            if (trace.isActive()) {
+                trace.request(() -> log.atFinest().log(
+                        "HTTP %s %s headers=%s body=%s cid=%s",
+                        method,
+                        urlTemplates.template(url),
+                        LogUtil.maskHeaders(headers, piiClassifier, regexPiiDetector, piiMasker),
+                        bodyLabel,
+                        cid
+                ));
+            }
+
+            return route(url, Deadline.none(), targetUrl -> {
+                        var req = factory.forHost(URI.create(targetUrl).getHost()).requestAbs(method, targetUrl);
+                        headers.forEach(req::putHeader);
+                        req.putHeader(correlationIdUtil.getHeaderName(), cid);
+                        acceptEncoding(req, targetUrl);
+                        return sender.apply(req);
+                    })
+                    .runSubscriptionOn(correlationIdUtil.callExecutor(cid))
+                    .onFailure(replayable.and(VertxHttpClient::retryable)).retry()
+                    .withBackOff(Duration.ofMillis(100))
+                    .atMost(httpClientConfig.maxRetries())
+                    .map(resp -> this.<T>toResponse(resp, method, url, type, cid, attempt, trace))
+                    .onFailure().recoverWithItem(throwable -> infrastructureFailure(throwable, cid, attempt, trace))
+                    .await().indefinitely();
+        }
+    }
+
+    /**
+     * Converts a Vert.x response into an {@link HttpResponse}, tracing and auditing it on the way.
+     * Deserializes the body with the codec matching its Content-Type.
+     * The body is masked for the trace log and the audit PII level only when the response is traced or audited.
+     *
+     * @param <T>     the type of the response body
+     * @param resp    the Vert.x response
+     * @param method  the HTTP method
+     * @param url     the request URL
+     * @param type    the Java type for response deserialization
+     * @param cid     the correlation ID
+     * @param attempt the attempt counter for retries
+     * @param trace   the trace of the call
+     * @return the HTTP response
+     */
+    private <T> HttpResponse<T> toResponse(
+            io.vertx.mutiny.ext.web.client.HttpResponse<Buffer> resp,
+            HttpMethod method,
+            String url,
+            Type type,
+            String cid,
+            AtomicInteger attempt,
+            Trace trace
+    ) {
+        String contentType = resp.getHeader(HttpHeaders.CONTENT_TYPE.toString());
+        T entity = readBody(resp.body(), contentType, type, cid);
+
+        boolean traced = trace.response(resp.statusCode());
+        MaskingResult maskedResponse = traced || auditPublisher.requiresPiiLevel()
+                ? maskResponse(resp.body(), contentType)
+                : UNMASKED;
+        MultiValueHeaders responseHeaders = new VertxResponseHeaders(resp.headers().getDelegate());
+
+        /* ===================== TRACE RESPONSE ===================== */
+        if (traced) {
+            Map<String, String> safeResponseHeaders =
+                    LogUtil.maskHeaders(
+                            responseHeaders,
+                            piiClassifier,
+                            regexPiiDetector,
+                            piiMasker
+                    );
+
+            log.atFinest().log(
+                    "HTTP RESPONSE status=%d headers=%s body=%s piiLevel=%s cid=%s attempt=%d",
+                    resp.statusCode(),
+                    safeResponseHeaders,
+                    maskedResponse.getMaskedValue(),
+                    maskedResponse.getHighestLevel(),
+                    cid,
+                    attempt.incrementAndGet()
+            );
+        }
+
+        /* ===================== GDPR / PCI AUDIT ===================== */
+        auditPublisher.publishIfRequired(
+                "HTTP_CLIENT_CALL",
+                method.name(),
+                auditUrl(url),
+                resp.statusCode(),
+                cid,
+                maskedResponse.getHighestLevel()
+        );
+
+        return HttpResponse.<T>builder()
+                .statusCode(resp.statusCode())
+                .headers(responseHeaders)
+                .body(entity)
+                .success(resp.statusCode() < 400)
+                .correlationId(cid)
+                .build();
+    }
+
+    /**
+     * Masks a response body for the trace log and the audit PII level. Bodies that are not structured data are
+     * summarized by content type and length instead of being scanned. Structured bodies are masked straight from the
+     * received bytes, like request bodies, rather than by serializing the deserialized body again.
+     *
+     * @param body        the raw response body, may be null
+     * @param contentType the response Content-Type, may be null
+     * @return the masking result
+     */
+    private MaskingResult maskResponse(Buffer body, String contentType) {
+        PayloadCodec codec = codecs.forContentType(contentType);
+        if (body == null || body.length() == 0) {
+            return jsonBodyMasker.maskEncoded(null, codec);
+        }
+        if (!codecs.isStructured(contentType)) {
+            return jsonBodyMasker.summarize(contentType, body.length());
+        }
+        ByteBuf bytes = body.getDelegate().getByteBuf();
+        if (bytes.hasArray()) {
+            return jsonBodyMasker.maskEncoded(bytes.array(), bytes.arrayOffset() + bytes.readerIndex(),
+                    bytes.readableBytes(), codec);
+        }
+        return jsonBodyMasker.maskEncoded(body.getBytes(), codec);
+    }
+
+    /**
+     * Deserializes the response body with the codec selected by the response Content-Type.
+     * Reads straight from the backing array of the response buffer when there is one, avoiding a copy.
+     * A body that cannot be read is logged and returned as null, so HTTP calls still never throw.
+     *
+     * @param <T>         the type of the response body
+     * @param body        the response body, may be null
+     * @param contentType the response Content-Type, may be null
+     * @param type        the Java type for response deserialization
+     * @param cid         the correlation ID
+     * @return the deserialized body, or null if there is none or it cannot be read
+     */
+    private <T> T readBody(Buffer body, String contentType, Type type, String cid) {
+        if (type == Void.class || body == null || body.length() == 0) {
+            return null;
+        }
+        PayloadCodec codec = codecs.forContentType(contentType);
+        try {
+            ByteBuf bytes = body.getDelegate().getByteBuf();
+            if (bytes.hasArray()) {
+                return codec.decode(bytes.array(), bytes.arrayOffset() + bytes.readerIndex(), bytes.readableBytes(), type);
+            }
+            return codec.decode(body.getBytes(), 0, body.length(), type);
+        } catch (IOException e) {
+            log.atWarning()
+                    .withCause(e)
+                    .log("Response body is not a valid %s (%s) cid=%s", type.getTypeName(), codec.mediaType(), cid);
+            return null;
+        }
+    }
+
+    /**
+     * Reduces a URL to its route template for audit events, only when audit is enabled.
+     *
+     * @param url the request URL
+     * @return the templated URL, or the URL as is when nothing is audited
+     */
+    private String auditUrl(String url) {
+        return auditPublisher.requiresPiiLevel() ? urlTemplates.template(url) : url;
+    }
+
+    /**
+     * Returns the value of a request header, matching its name case-insensitively like HTTP does.
+     *
+     * @param headers the request headers
+     * @param name    the header name
+     * @return the header value, or null if absent
+     */
+    private static String headerValue(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends every attempt of a call to its target. A {@code service://} URL is resolved per attempt to one of the
+     * service endpoints, where a 5xx response or a failure counts against the endpoint; any other URL is used as is.
+     * The returned Uni is resubscribed by the retry logic, running the attempt function again each time,
+     * and a service call remembers its previous endpoint so the retry goes elsewhere.
+     * With DNS balancing, each attempt picks one of the resolved addresses of the host by power-of-two-choices on
+     * in-flight requests.
+     * Every attempt first waits for the rate limiter of the host or service, for no longer than the configured
+     * maximum or the time left before the deadline, and its response adjusts the limiter.
+     *
+     * @param <R>      the response type
+     * @param url      the request URL
+     * @param deadline the call deadline
+     * @param attempt  sends one attempt to the given absolute URL
+     * @return the routed call
+     */
+    private <R extends io.vertx.mutiny.ext.web.client.HttpResponse<?>> Uni<R> route(
+            String url,
+            Deadline deadline,
+            Function<String, Uni<R>> attempt
+    ) {
+        URI uri = URI.create(url);
+        Optional<LoadBalancedService> service;
+        try {
+            service = services.forUri(uri);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        String host = uri.getHost();
+        Uni<R> call = service
+                .map(s -> s.call(uri, attempt, resp -> resp.statusCode() >= 500))
+                .orElseGet(() -> Uni.createFrom().deferred(() -> attempt.apply(url)))
+                .invoke(resp -> rateLimiters.observe(host, resp.statusCode(), resp::getHeader));
+        return Uni.createFrom()
+                .deferred(() -> rateLimiters.acquire(
+                        host,
+                        Math.min(httpClientConfig.rateLimitMaxWaitMillis(), deadline.remainingMillis())
+                ))
+                .chain(() -> call);
+    }
+
+    /**
+     * Whether a failed attempt may be retried. A request turned away by the rate limiter is not,
+     * since retrying would only add to the queue of the host.
+     *
+     * @param failure the failure of the attempt
+     * @return true unless the failure comes from the rate limiter
+     */
+    private static boolean retryable(Throwable failure) {
+        return !(failure instanceof RateLimitExceededException);
+    }
+
+    /**
+     * Returns the port of the URI, falling back to the default port of its scheme.
+     *
+     * @param uri the request URI
+     * @return the target port
+     */
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * Offers the content codings configured for the target host unless the caller set Accept-Encoding itself.
+     *
+     * @param req the request
+     * @param url the request URL
+     */
+    private void acceptEncoding(HttpRequest<?> req, String url) {
+        if (req.headers().contains(HttpHeaders.ACCEPT_ENCODING)) {
+            return;
+        }
+        String codings = factory.acceptEncoding(URI.create(url).getHost());
+        if (codings != null) {
+            req.putHeader(HttpHeaders.ACCEPT_ENCODING.toString(), codings);
+        }
+    }
+
+    /**
+     * Logs an infrastructure failure and builds the status 0 response returned in its place.
+     * A request trace held back by tail sampling is logged first.
+     *
+     * @param <T>       the type of the response body
+     * @param throwable the failure
+     * @param cid       the correlation ID
+     * @param attempt   the attempt counter for retries
+     * @param trace     the trace of the call
+     * @return the failure response
+     */
+    private <T> HttpResponse<T> infrastructureFailure(
+            Throwable throwable,
+            String cid,
+            AtomicInteger attempt,
+            Trace trace
+    ) {
+        trace.failure();
+        log.atSevere()
+                .withCause(throwable)
+                .log("HTTP infrastructure failure cid=%s attempt=%d", cid, attempt.get());
+
+        return HttpResponse.<T>builder()
+                .statusCode(0)
+                .success(false)
+                .correlationId(cid)
+                .build();
+    }
 }
@@ -0,0 +1,76 @@
+package io.github.hexeditors.http.impl;
+
+import io.github.hexeditors.http.api.MultiValueHeaders;
+import io.vertx.core.MultiMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lazy {@link MultiValueHeaders} view over the Vert.x response {@link MultiMap}.
+ * Nothing is copied up front; lookups go straight to the underlying headers and entries are produced on iteration.
+ */
+final class VertxResponseHeaders extends AbstractMap<String, String> implements MultiValueHeaders {
+
+    private final MultiMap headers;
+
+    VertxResponseHeaders(MultiMap headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public String get(Object key) {
+        return key instanceof String name ? headers.get(name) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && headers.contains(name);
+    }
+
+    @Override
+    public int size() {
+        return headers.names().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        return List.copyOf(headers.getAll(name));
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                Iterator<String> names = headers.names().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return names.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next() {
+                        String name = names.next();
+                        return new SimpleImmutableEntry<>(name, headers.get(name));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return VertxResponseHeaders.this.size();
+            }
+        };
+    }
+}
@@ -1,8 +1,13 @@
 package io.github.hexeditors.http.impl;
 
+import io.github.hexeditors.http.balancer.AddressEndpoint;
+import io.github.hexeditors.http.balancer.DnsEndpointResolver;
+import io.github.hexeditors.http.config.HostConfig;
 import io.github.hexeditors.http.config.HttpClientConfig;
 import io.github.hexeditors.http.config.TlsConfig;
 import io.github.hexeditors.http.config.TrustStoreConfig;
+import io.netty.handler.codec.compression.Brotli;
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.ProxyOptions;
 import io.vertx.ext.web.client.WebClientOptions;
@@ -12,11 +17,20 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.io.File;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Factory for creating Vert.x WebClient instances with configuration-based options.
- * Handles TLS settings and proxy configuration per host.
+ * Handles TLS settings, proxy configuration, compression negotiation, timeouts and TCP options per host.
  */
 @ApplicationScoped
 public class WebClientFactory {
@@ -27,10 +41,26 @@ public class WebClientFactory {
     TlsConfig tls;
     @Inject
     HttpClientConfig httpClientConfig;
+    @Inject
+    DnsEndpointResolver endpointResolver;
+
+    private final ConcurrentMap<String, WebClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared WebClient for the specified host, creating it on first use.
+     * Reusing the client keeps its connection pool, which Vert.x maintains per target address.
+     *
+     * @param host the target host for the client
+     * @return the WebClient for the host
+     */
+    public WebClient forHost(String host) {
+        return clients.computeIfAbsent(host, this::create);
+    }
 
     /**
      * Creates a WebClient configured for the specified host.
-     * Applies TLS trust settings and proxy options based on configuration.
+     * Applies TLS trust settings, proxy options, response compression, connect and idle timeouts
+     * and TCP options based on configuration.
      *
      * @param host the target host for the client
      * @return a configured WebClient instance
@@ -58,17 +88,228 @@ public class WebClientFactory {
         }
 
         // Set proxy if host is in proxy domains and proxy host is configured
-        if (httpClientConfig.proxyHost().isPresent() && !httpClientConfig.proxyHost().get().isEmpty()
-                && httpClientConfig.proxyDomains().isPresent() && httpClientConfig.proxyDomains().get().contains(host)) {
+        if (proxied(host)) {
             ProxyOptions proxyOptions = new ProxyOptions()
                     .setHost(httpClientConfig.proxyHost().get())
                     .setPort(httpClientConfig.proxyPort());
             opt.setProxyOptions(proxyOptions);
         }
 
+        opt.setTryUseCompression(compression(host));
+
+        // Connection timeouts; non-positive values keep the Vert.x defaults
+        int connectTimeout = setting(host, HostConfig::connectTimeoutMillis, httpClientConfig::connectTimeoutMillis);
+        if (connectTimeout > 0) {
+            opt.setConnectTimeout(connectTimeout);
+        }
+        int idleTimeout = setting(host, HostConfig::idleTimeoutMillis, httpClientConfig::idleTimeoutMillis);
+        if (idleTimeout > 0) {
+            opt.setIdleTimeout(idleTimeout);
+            opt.setIdleTimeoutUnit(TimeUnit.MILLISECONDS);
+        }
+
+        opt.setTcpNoDelay(setting(host, HostConfig::tcpNoDelay, httpClientConfig::tcpNoDelay));
+        opt.setTcpFastOpen(setting(host, HostConfig::tcpFastOpen, httpClientConfig::tcpFastOpen));
+        opt.setTcpKeepAlive(setting(host, HostConfig::tcpKeepAlive, httpClientConfig::tcpKeepAlive));
+
         return WebClient.create(vertx, opt);
     }
 
+    /**
+     * Whether requests to the given host are balanced across its resolved addresses.
+     *
+     * @param host the target host
+     * @return true if DNS balancing is enabled for the host and it is not reached through the proxy
+     */
+    boolean dnsBalancing(String host) {
+        return !proxied(host) && setting(host, HostConfig::dnsBalancing, httpClientConfig::dnsBalancing);
+    }
+
+    /**
+     * Selects the resolved address the next request to the given host is sent to.
+     *
+     * @param host the target host
+     * @param port the target port
+     * @return the chosen endpoint
+     */
+    Uni<AddressEndpoint> endpoint(String host, int port) {
+        return endpointResolver.select(host, port);
+    }
+
+    /**
+     * Whether the given host is reached through the configured proxy.
+     *
+     * @param host the target host
+     * @return true if the proxy applies to the host
+     */
+    private boolean proxied(String host) {
+        return httpClientConfig.proxyHost().isPresent() && !httpClientConfig.proxyHost().get().isEmpty()
+                && httpClientConfig.proxyDomains().isPresent() && httpClientConfig.proxyDomains().get().contains(host);
+    }
+
+    /**
+     * Gets the time to wait for the first byte of a response from the given host.
+     *
+     * @param host the target host
+     * @return the first-byte timeout in milliseconds, or empty if only the call timeout applies
+     */
+    Optional<Integer> firstByteTimeout(String host) {
+        return optionalSetting(host, HostConfig::firstByteTimeoutMillis, httpClientConfig::firstByteTimeoutMillis)
+                .filter(timeout -> timeout > 0);
+    }
+
+    /**
+     * Whether response compression is negotiated with the given host.
+     *
+     * @param host the target host
+     * @return true if compression is enabled for the host
+     */
+    boolean compression(String host) {
+        return setting(host, HostConfig::compression, httpClientConfig::compression);
+    }
+
+    /**
+     * Builds the Accept-Encoding header value for the given host.
+     * Only content codings the client can decode are offered.
+     *
+     * @param host the target host
+     * @return the header value, or null if compression is disabled or no configured coding is supported
+     */
+    String acceptEncoding(String host) {
+        if (!compression(host)) {
+            return null;
+        }
+        List<String> codings = setting(host, HostConfig::acceptEncoding, httpClientConfig::acceptEncoding);
+        if (codings == null) {
+            return null;
+        }
+        String value = codings.stream()
+                .map(coding -> coding.trim().toLowerCase(Locale.ROOT))
+                .filter(WebClientFactory::isDecodable)
+                .distinct()
+                .collect(Collectors.joining(", "));
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Gets the size from which request bodies sent to the given host are gzip-compressed.
+     *
+     * @param host the target host
+     * @return the compression threshold in bytes, or empty if request bodies are sent uncompressed
+     */
+    Optional<Integer> requestCompressionThreshold(String host) {
+        return optionalSetting(host, HostConfig::requestCompressionThreshold, httpClientConfig::requestCompressionThreshold);
+    }
+
+    /**
+     * Gets the number of requests per second allowed to the given host.
+     *
+     * @param host the target host
+     * @return the request rate, or empty if requests to the host are not rate limited
+     */
+    public Optional<Double> rateLimitPerSecond(String host) {
+        return optionalSetting(host, HostConfig::rateLimitPerSecond, httpClientConfig::rateLimitPerSecond)
+                .filter(rate -> rate > 0);
+    }
+
+    /**
+     * Gets the number of requests that may be sent to the given host at once before the rate applies.
+     *
+     * @param host the target host
+     * @return the burst size, or empty if not configured
+     */
+    public Optional<Integer> rateLimitBurst(String host) {
+        return optionalSetting(host, HostConfig::rateLimitBurst, httpClientConfig::rateLimitBurst)
+                .filter(burst -> burst > 0);
+    }
+
+    /**
+     * Gets the fraction of requests to the given host that are traced.
+     *
+     * @param host the target host
+     * @return the trace sample rate between 0 and 1, 1 if not configured
+     */
+    public double traceSampleRate(String host) {
+        return optionalSetting(host, HostConfig::traceSampleRate, httpClientConfig::traceSampleRate)
+                .map(rate -> Math.max(0, Math.min(1, rate)))
+                .orElse(1.0);
+    }
+
+    /**
+     * Whether requests to the given host left out by the sample rate are traced when they fail.
+     *
+     * @param host the target host
+     * @return true if failed requests are traced
+     */
+    public boolean traceErrors(String host) {
+        return setting(host, HostConfig::traceErrors, httpClientConfig::traceErrors);
+    }
+
+    /**
+     * Gets the largest number of requests per second traced for the given host.
+     *
+     * @param host the target host
+     * @return the trace rate cap, or empty if traces are not capped
+     */
+    public Optional<Double> traceMaxPerSecond(String host) {
+        return optionalSetting(host, HostConfig::traceMaxPerSecond, httpClientConfig::traceMaxPerSecond)
+                .filter(rate -> rate > 0);
+    }
+
+    /**
+     * Finds the per-host client settings for the given host.
+     *
+     * @param host the host to find settings for
+     * @return the host settings, or null if not found
+     */
+    HostConfig findHostConfig(String host) {
+        return findForHost(httpClientConfig.hosts(), host);
+    }
+
+    /**
+     * Resolves a client setting for the given host, preferring the per-host override.
+     *
+     * @param <V>      the type of the setting
+     * @param host     the target host
+     * @param override the per-host override of the setting
+     * @param fallback the global value of the setting
+     * @return the effective setting
+     */
+    private <V> V setting(String host, Function<HostConfig, Optional<V>> override, Supplier<V> fallback) {
+        HostConfig hostConfig = findHostConfig(host);
+        if (hostConfig != null) {
+            Optional<V> value = override.apply(hostConfig);
+            if (value.isPresent()) {
+                return value.get();
+            }
+        }
+        return fallback.get();
+    }
+
+    /**
+     * Resolves an optional client setting for the given host, preferring the per-host override.
+     *
+     * @param <V>      the type of the setting
+     * @param host     the target host
+     * @param override the per-host override of the setting
+     * @param fallback the global value of the setting
+     * @return the effective setting, or empty if set neither for the host nor globally
+     */
+    private <V> Optional<V> optionalSetting(
+            String host,
+            Function<HostConfig, Optional<V>> override,
+            Supplier<Optional<V>> fallback
+    ) {
+        HostConfig hostConfig = findHostConfig(host);
+        if (hostConfig != null) {
+            Optional<V> value = override.apply(hostConfig);
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return fallback.get();
+    }
+
     /**
      * Finds the appropriate trust store configuration for the given host.
      * First checks for exact domain matches, then checks for wildcard patterns.
@@ -77,18 +318,29 @@ public class WebClientFactory {
      * @return the trust store configuration, or null if not found
      */
     TrustStoreConfig findTrustStoreForHost(String host) {
-        Map<String, TrustStoreConfig> trustStores = tls.trustStores();
-        if (trustStores == null || trustStores.isEmpty()) {
+        return findForHost(tls.trustStores(), host);
+    }
+
+    /**
+     * Looks up a per-host setting, checking exact domain matches before wildcard patterns.
+     *
+     * @param <V>      the type of the setting
+     * @param settings the settings keyed by domain or pattern, may be null
+     * @param host     the host to look up
+     * @return the matching setting, or null if not found
+     */
+    private static <V> V findForHost(Map<String, V> settings, String host) {
+        if (settings == null || settings.isEmpty()) {
             return null;
         }
 
         // Check for exact match first
-        if (trustStores.containsKey(host)) {
-            return trustStores.get(host);
+        if (settings.containsKey(host)) {
+            return settings.get(host);
         }
 
         // Check for wildcard matches
-        for (Map.Entry<String, TrustStoreConfig> entry : trustStores.entrySet()) {
+        for (Map.Entry<String, V> entry : settings.entrySet()) {
             String domainPattern = entry.getKey();
             if (domainPattern.startsWith("*.")) {
                 String suffix = domainPattern.substring(2); // Remove "*."
@@ -100,4 +352,18 @@ public class WebClientFactory {
 
         return null;
     }
+
+    /**
+     * Whether the response decompressor can decode the given content coding.
+     *
+     * @param coding the lower-case content coding
+     * @return true if responses in this coding can be inflated
+     */
+    private static boolean isDecodable(String coding) {
+        return switch (coding) {
+            case "gzip", "x-gzip", "deflate", "x-deflate" -> true;
+            case "br" -> Brotli.isAvailable();
+            default -> false;
+        };
+    }
 }
@@ -2,7 +2,9 @@ package io.github.hexeditors.http.logging;
 
 import io.github.hexeditors.http.pii.PiiClassifier;
 import io.github.hexeditors.http.pii.PiiLevel;
+import io.github.hexeditors.http.pii.PiiMasker;
 import io.github.hexeditors.http.pii.RegexPiiDetector;
+import io.github.hexeditors.http.pii.RegexPiiRule;
 import com.google.common.flogger.FluentLogger;
 
 import java.util.HashMap;
@@ -66,4 +68,45 @@ public final class LogUtil {
 
         return out;
     }
+
+    /**
+     * Masks sensitive information in HTTP headers based on PII classification.
+     * Headers with HIGH or SECRET PII levels are masked with the strategy of the header rule, or of the regex rule
+     * when the value is more sensitive than the header name.
+     *
+     * @param headers       the original headers map
+     * @param classifier    the PII classifier for header names
+     * @param regexDetector the regex-based PII detector for header values
+     * @param masker        the masker applying the strategies
+     * @return a new map with sensitive headers masked
+     */
+    public static Map<String, String> maskHeaders(
+            Map<String, String> headers,
+            PiiClassifier classifier,
+            RegexPiiDetector regexDetector,
+            PiiMasker masker
+    ) {
+        Map<String, String> out = new HashMap<>();
+
+        headers.forEach((k, v) -> {
+            PiiLevel nameLevel = classifier.classifyHeader(k);
+            RegexPiiRule valueRule = regexDetector.match(v);
+            PiiLevel valueLevel = valueRule == null ? PiiLevel.NONE : valueRule.level();
+
+            PiiLevel effective =
+                    nameLevel.ordinal() > valueLevel.ordinal()
+                            ? nameLevel
+                            : valueLevel;
+
+            if (effective.ordinal() >= PiiLevel.HIGH.ordinal()) {
+                out.put(k, masker.mask(v, nameLevel.ordinal() >= valueLevel.ordinal()
+                        ? masker.forHeader(k)
+                        : masker.forRule(valueRule)));
+            } else {
+                out.put(k, v);
+            }
+        });
+
+        return out;
+    }
 }
@@ -0,0 +1,169 @@
+package io.github.hexeditors.http.logging;
+
+import io.github.hexeditors.http.impl.WebClientFactory;
+import io.github.hexeditors.http.ratelimit.TokenBucket;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Decides per call whether its request and response are traced, so PII masking for the trace log is only paid
+ * for the calls that are actually logged.
+ * A call is sampled up front at the configured rate of its host (head sampling); a call left out is still traced
+ * when it ends with a non-2xx response or a failure (tail sampling), its request being logged only then.
+ * An optional cap per host, a {@link TokenBucket}, bounds the number of traces per second however many calls fail.
+ */
+@ApplicationScoped
+public class TraceSampler {
+
+    @Inject
+    WebClientFactory factory;
+
+    DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble();
+
+    private final ConcurrentMap<String, Policy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the trace of a call.
+     *
+     * @param url the request URL
+     * @return the trace of the call, {@link Trace#OFF} when trace logging is disabled
+     */
+    public Trace sample(String url) {
+        if (!LogUtil.isTraceEnabled()) {
+            return Trace.OFF;
+        }
+        String host = URI.create(url).getHost();
+        return sampleHost(host == null ? "" : host);
+    }
+
+    /**
+     * Starts the trace of a call to the given host, regardless of the log level.
+     *
+     * @param host the target host, or logical service name
+     * @return the trace of the call
+     */
+    Trace sampleHost(String host) {
+        Policy policy = policies.computeIfAbsent(host, this::policy);
+        boolean sampled = policy.rate >= 1 || (policy.rate > 0 && random.getAsDouble() < policy.rate);
+        if (sampled && policy.admit()) {
+            return new Trace(policy, true);
+        }
+        return policy.errors ? new Trace(policy, false) : Trace.OFF;
+    }
+
+    private Policy policy(String host) {
+        return new Policy(
+                factory.traceSampleRate(host),
+                factory.traceErrors(host),
+                factory.traceMaxPerSecond(host).map(rate -> new TokenBucket(rate, (int) Math.ceil(rate)))
+        );
+    }
+
+    /**
+     * The trace settings of one host.
+     *
+     * @param rate   the fraction of calls sampled up front
+     * @param errors whether failed calls are traced
+     * @param budget the cap on traces per second, if any
+     */
+    private record Policy(double rate, boolean errors, Optional<TokenBucket> budget) {
+
+        boolean admit() {
+            return budget.isEmpty() || budget.get().reserve(0) >= 0;
+        }
+    }
+
+    /**
+     * The trace of one call. A sampled call traces its request at once and every outcome; otherwise the request
+     * is held back and only traced, before the outcome, if the call fails.
+     */
+    public static final class Trace {
+
+        /**
+         * A trace that logs nothing.
+         */
+        public static final Trace OFF = new Trace(null, false);
+
+        private final Policy policy;
+        private final boolean sampled;
+        private Runnable request;
+
+        private Trace(Policy policy, boolean sampled) {
+            this.policy = policy;
+            this.sampled = sampled;
+        }
+
+        /**
+         * Whether anything of the call may be traced, so the caller needs to prepare the request trace.
+         *
+         * @return false if the call is never traced
+         */
+        public boolean isActive() {
+            return policy != null;
+        }
+
+        /**
+         * Whether the call was sampled up front, so its request is traced at once.
+         *
+         * @return true if the call is sampled
+         */
+        public boolean isSampled() {
+            return sampled;
+        }
+
+        /**
+         * Traces the request: at once when sampled, otherwise when the call turns out to fail.
+         * The masking inside the given action only runs if the request is traced.
+         *
+         * @param trace logs the request
+         */
+        public void request(Runnable trace) {
+            if (sampled) {
+                trace.run();
+            } else if (isActive()) {
+                request = trace;
+            }
+        }
+
+        /**
+         * Decides whether a response is traced, tracing the held-back request first if so.
+         *
+         * @param status the response status
+         * @return true if the caller should trace the response
+         */
+        public boolean response(int status) {
+            if (sampled) {
+                return true;
+            }
+            return (status < 200 || status >= 300) && traceFailure();
+        }
+
+        /**
+         * Traces the held-back request of a call that failed without a response.
+         */
+        public void failure() {
+            if (!sampled) {
+                traceFailure();
+            }
+        }
+
+        private boolean traceFailure() {
+            if (!isActive() || !policy.admit()) {
+                return false;
+            }
+            Runnable held = request;
+            request = null;
+            if (held != null) {
+                held.run();
+            }
+            return true;
+        }
+    }
+}
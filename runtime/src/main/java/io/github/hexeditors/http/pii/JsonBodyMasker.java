@@ -1,16 +1,27 @@
 package io.github.hexeditors.http.pii;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.github.hexeditors.http.codec.PayloadCodec;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
 
 /**
  * Masks sensitive information in JSON request/response bodies based on PII classification rules.
- * Recursively processes JSON objects and arrays, replacing sensitive values with mask strings.
+ * Streams the body token by token, replacing sensitive values as the {@link MaskStrategy} of the
+ * matching rule says; objects and arrays under a rule are always masked in full.
+ * The JSON path rules are walked alongside the document, so each field costs one automaton step.
+ * <p>
+ * The rendered body is capped at {@link PiiConfig#maxLoggedBodyLength()} characters: past the cap no more output is
+ * generated, but the rest of the body is still scanned so the PII level covers all of it.
  */
 @ApplicationScoped
 public class JsonBodyMasker {
@@ -27,6 +38,9 @@ public class JsonBodyMasker {
     @Inject
     PiiConfig config;
 
+    @Inject
+    PiiMasker piiMasker;
+
     /**
      * Masks the given object if it represents a JSON structure.
      * Returns a MaskingResult with the masked JSON string and the highest PII level detected.
@@ -37,76 +51,323 @@ public class JsonBodyMasker {
     public MaskingResult mask(Object body) {
 
         if (body == null) {
-            return MaskingResult.builder()
-                    .maskedValue(null)
-                    .highestLevel(PiiLevel.NONE)
-                    .build();
-        }
-
-        try {
-            JsonNode root = mapper.valueToTree(body);
-            if (!root.isObject() && !root.isArray()) {
-                return MaskingResult.builder()
-                        .maskedValue("<unparseable-body>")
-                        .highestLevel(PiiLevel.HIGH)
-                        .build();
+            return empty();
+        }
+
+        try (TokenBuffer tokens = new TokenBuffer(mapper, false)) {
+            mapper.writeValue(tokens, body);
+            try (JsonParser parser = tokens.asParser(mapper)) {
+                return maskTokens(parser, -1);
             }
-            PiiLevel max = maskNode(root);
+        } catch (Exception e) {
+            return unparseable();
+        }
+    }
+
+    /**
+     * Masks an already-encoded JSON body.
+     * Reads the bytes directly, so a body that was serialized once for sending is not serialized again for logging.
+     *
+     * @param json the encoded JSON body, may be null
+     * @return the masking result containing masked value and highest PII level
+     */
+    public MaskingResult maskJson(byte[] json) {
+        return maskEncoded(json, mapper.getFactory());
+    }
+
+    /**
+     * Masks an already-encoded body in the wire format of the given codec.
+     * Binary formats such as Smile or CBOR are walked through the codec's token stream and rendered as JSON,
+     * so the trace log stays readable. Bodies of codecs without a token stream are summarized by media type and
+     * length, at HIGH level since they cannot be scanned.
+     *
+     * @param body  the encoded body, may be null
+     * @param codec the codec the body was encoded with
+     * @return the masking result containing masked value and highest PII level
+     */
+    public MaskingResult maskEncoded(byte[] body, PayloadCodec codec) {
+        return body == null ? empty() : maskEncoded(body, 0, body.length, codec);
+    }
+
+    /**
+     * Masks a range of an already-encoded body in the wire format of the given codec, as
+     * {@link #maskEncoded(byte[], PayloadCodec)} does, without copying it out of a larger buffer.
+     *
+     * @param body   the buffer holding the encoded body
+     * @param offset the index of the first byte of the body
+     * @param length the length of the body in bytes
+     * @param codec  the codec the body was encoded with
+     * @return the masking result containing masked value and highest PII level
+     */
+    public MaskingResult maskEncoded(byte[] body, int offset, int length, PayloadCodec codec) {
+        Optional<JsonFactory> factory = codec.tokenFactory();
+        if (factory.isEmpty()) {
+            return summary(codec.mediaType(), length, PiiLevel.HIGH);
+        }
+        try (JsonParser parser = factory.get().createParser(body, offset, length)) {
+            return maskTokens(parser, length);
+        } catch (Exception e) {
+            return unparseable();
+        }
+    }
+
+    /**
+     * Describes a body that is not structured data, such as an image or a text document, by its content type
+     * and length only. Such bodies are not scanned, so they do not raise the PII level.
+     *
+     * @param contentType the content type of the body, may be null
+     * @param length      the length of the body in bytes
+     * @return the masking result containing the summary
+     */
+    public MaskingResult summarize(String contentType, long length) {
+        return summary(contentType, length, PiiLevel.NONE);
+    }
 
-            return MaskingResult.builder()
-                    .maskedValue(mapper.writeValueAsString(root))
-                    .highestLevel(max)
-                    .build();
+    private MaskingResult maskEncoded(byte[] body, JsonFactory factory) {
 
+        if (body == null) {
+            return empty();
+        }
+
+        try (JsonParser parser = factory.createParser(body)) {
+            return maskTokens(parser, body.length);
         } catch (Exception e) {
-            return MaskingResult.builder()
-                    .maskedValue("<unparseable-body>")
-                    .highestLevel(PiiLevel.HIGH)
-                    .build();
+            return unparseable();
         }
     }
 
-    private PiiLevel maskNode(JsonNode node) {
-        PiiLevel max = PiiLevel.NONE;
+    /**
+     * Masks a token stream into a rendered JSON string of bounded length.
+     *
+     * @param parser      the token stream of the body
+     * @param inputLength the length of the encoded body in bytes, or -1 if unknown
+     * @return the masking result
+     * @throws IOException if the body is not well-formed
+     */
+    private MaskingResult maskTokens(JsonParser parser, long inputLength) throws IOException {
+        JsonToken first = parser.nextToken();
+        if (first != JsonToken.START_OBJECT && first != JsonToken.START_ARRAY) {
+            return unparseable();
+        }
+        int limit = config.maxLoggedBodyLength();
+        BoundedWriter out = new BoundedWriter(limit > 0 ? limit : Integer.MAX_VALUE);
+        PiiLevel max;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            max = new Walk(parser, generator, out).container(first, classifier.jsonPaths().root());
+        }
+
+        String rendered = out.toString();
+        if (out.truncated) {
+            rendered += inputLength >= 0 ? "...<truncated, " + inputLength + " bytes>" : "...<truncated>";
+        }
+        return MaskingResult.builder()
+                .maskedValue(rendered)
+                .highestLevel(max)
+                .build();
+    }
+
+    private static MaskingResult empty() {
+        return MaskingResult.builder()
+                .maskedValue(null)
+                .highestLevel(PiiLevel.NONE)
+                .build();
+    }
+
+    private static MaskingResult summary(String contentType, long length, PiiLevel level) {
+        return MaskingResult.builder()
+                .maskedValue("<binary content-type=" + contentType + " length=" + length + ">")
+                .highestLevel(level)
+                .build();
+    }
+
+    private MaskingResult unparseable() {
+        return MaskingResult.builder()
+                .maskedValue("<unparseable-body>")
+                .highestLevel(PiiLevel.HIGH)
+                .build();
+    }
+
+    private static PiiLevel higher(PiiLevel a, PiiLevel b) {
+        return a.ordinal() > b.ordinal() ? a : b;
+    }
+
+    /**
+     * One pass over a body: copies tokens from the parser to the generator, masking values on the way, until the
+     * output is full, and keeps scanning after that.
+     */
+    private final class Walk {
+
+        private final JsonParser parser;
+        private final JsonGenerator generator;
+        private final BoundedWriter out;
 
-        if (node.isObject()) {
-            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
-            while (fields.hasNext()) {
-                var entry = fields.next();
-                String fieldName = entry.getKey();
-                JsonNode valueNode = entry.getValue();
+        Walk(JsonParser parser, JsonGenerator generator, BoundedWriter out) {
+            this.parser = parser;
+            this.generator = generator;
+            this.out = out;
+        }
 
-                // 1️⃣ Field-name based PII
-                PiiLevel fieldLevel = classifier.classifyJsonField(fieldName);
+        /**
+         * Masks an object or array, advancing the compiled path rules by one step per field or array element.
+         *
+         * @param start the START_OBJECT or START_ARRAY token the parser is at
+         * @param state the state of the path rules at this container
+         * @return the highest PII level masked inside the container
+         */
+        PiiLevel container(JsonToken start, JsonPathMatcher.State state) throws IOException {
+            PiiLevel max = PiiLevel.NONE;
 
-                // 2️⃣ Regex-based PII (credit card, SSN)
-                PiiLevel regexLevel = PiiLevel.NONE;
-                if (valueNode.isTextual()) {
-                    regexLevel = regexDetector.detect(valueNode.asText());
+            if (start == JsonToken.START_OBJECT) {
+                if (writing()) {
+                    generator.writeStartObject();
                 }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    JsonPathMatcher.State fieldState = state.field(fieldName);
 
-                PiiLevel effective =
-                        fieldLevel.ordinal() > regexLevel.ordinal()
-                                ? fieldLevel
-                                : regexLevel;
+                    // 1️⃣ Path based PII
+                    PiiLevel fieldLevel = fieldState.level();
 
-                if (effective.ordinal() >= PiiLevel.HIGH.ordinal()) {
-                    ((ObjectNode) node).put(fieldName, config.mask());
-                    max = higher(max, effective);
-                } else {
-                    max = higher(max, maskNode(valueNode));
+                    // 2️⃣ Regex-based PII (credit card, SSN)
+                    RegexPiiRule regexRule = null;
+                    PiiLevel regexLevel = PiiLevel.NONE;
+                    if (value == JsonToken.VALUE_STRING) {
+                        regexRule = regexDetector.match(parser.getText());
+                        regexLevel = regexRule == null ? PiiLevel.NONE : regexRule.level();
+                    }
+
+                    PiiLevel effective =
+                            fieldLevel.ordinal() > regexLevel.ordinal()
+                                    ? fieldLevel
+                                    : regexLevel;
+
+                    if (effective.ordinal() >= PiiLevel.HIGH.ordinal()) {
+                        MaskStrategy strategy = fieldLevel.ordinal() >= regexLevel.ordinal()
+                                ? piiMasker.forPath(fieldState)
+                                : piiMasker.forRule(regexRule);
+                        String masked = maskValue(value, strategy);
+                        if (writing()) {
+                            generator.writeStringField(fieldName, masked);
+                        }
+                        max = higher(max, effective);
+                    } else {
+                        if (writing()) {
+                            generator.writeFieldName(fieldName);
+                        }
+                        max = higher(max, value(value, fieldState));
+                    }
+                }
+                if (writing()) {
+                    generator.writeEndObject();
+                }
+            } else {
+                JsonPathMatcher.State elementState = state.element();
+                if (writing()) {
+                    generator.writeStartArray();
+                }
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (elementState.level().ordinal() >= PiiLevel.HIGH.ordinal()) {
+                        String masked = maskValue(element, piiMasker.forPath(elementState));
+                        if (writing()) {
+                            generator.writeString(masked);
+                        }
+                        max = higher(max, elementState.level());
+                    } else {
+                        max = higher(max, value(element, elementState));
+                    }
+                }
+                if (writing()) {
+                    generator.writeEndArray();
                 }
             }
-        } else if (node.isArray()) {
-            for (JsonNode n : node) {
-                max = higher(max, maskNode(n));
+
+            return max;
+        }
+
+        private PiiLevel value(JsonToken token, JsonPathMatcher.State state) throws IOException {
+            if (token.isStructStart()) {
+                return container(token, state);
+            }
+            if (writing()) {
+                generator.copyCurrentEvent(parser);
+            }
+            return PiiLevel.NONE;
+        }
+
+        /**
+         * Masks the value the parser is at; scalars are masked by their text, containers in full and skipped.
+         *
+         * @param token    the current token
+         * @param strategy how to mask it
+         * @return the masked text
+         */
+        private String maskValue(JsonToken token, MaskStrategy strategy) throws IOException {
+            if (token.isStructStart()) {
+                parser.skipChildren();
+                return piiMasker.mask(null, strategy);
             }
+            return piiMasker.mask(token == JsonToken.VALUE_NULL ? null : parser.getText(), strategy);
         }
 
-        return max;
+        /**
+         * Whether output is still generated: the text written plus what the generator holds is below the cap.
+         */
+        private boolean writing() {
+            return !out.truncated && out.length() + Math.max(0, generator.getOutputBuffered()) < out.limit;
+        }
     }
 
-    private PiiLevel higher(PiiLevel a, PiiLevel b) {
-        return a.ordinal() > b.ordinal() ? a : b;
+    /**
+     * Collects at most a given number of characters and drops the rest.
+     */
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder text;
+        private final int limit;
+        private boolean truncated;
+
+        BoundedWriter(int limit) {
+            this.limit = limit;
+            this.text = new StringBuilder(Math.min(limit, 256));
+        }
+
+        int length() {
+            return text.length();
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            int room = limit - text.length();
+            if (length > room) {
+                truncated = true;
+                length = Math.max(0, room);
+            }
+            text.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            int room = limit - text.length();
+            if (length > room) {
+                truncated = true;
+                length = Math.max(0, room);
+            }
+            text.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
     }
 }
@@ -0,0 +1,412 @@
+package io.github.hexeditors.http.pii;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON path rules compiled into a deterministic automaton over the tokens of a JSON document.
+ * A walker starts at {@link #root()} and follows {@link State#field(String)} into object members and
+ * {@link State#element()} into array elements, each a single map lookup or field read; {@link State#level()}
+ * tells how sensitive the value reached that way is, and {@link State#strategy()} how it is masked.
+ * <p>
+ * Supported syntax, with field names matched case-insensitively:
+ * <ul>
+ *   <li>{@code $.customer.card.number} – a path from the root</li>
+ *   <li>{@code $..password} – a field at any depth</li>
+ *   <li>{@code $.items[*].ssn} – {@code [*]} steps into every element of an array</li>
+ *   <li>{@code $.customer.*} – {@code *} matches every field of an object</li>
+ *   <li>{@code $['odd.name']} – bracket notation for names containing dots or brackets</li>
+ *   <li>{@code password}, {@code items[*].ssn} – paths without {@code $} match at any depth</li>
+ * </ul>
+ */
+public final class JsonPathMatcher {
+
+    private static final JsonPathMatcher EMPTY = compile(Map.of());
+
+    private final State root;
+
+    private JsonPathMatcher(State root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets a matcher without rules.
+     *
+     * @return the empty matcher
+     */
+    public static JsonPathMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles path rules into a matcher.
+     *
+     * @param rules map of JSON path to PII level name
+     * @return the compiled matcher
+     * @throws IllegalArgumentException if a path or level is invalid
+     */
+    public static JsonPathMatcher compile(Map<String, String> rules) {
+        return compile(rules, Map.of());
+    }
+
+    /**
+     * Compiles path rules with their masking strategies into a matcher.
+     *
+     * @param rules      map of JSON path to PII level name
+     * @param strategies map of JSON path, as in the rules, to masking strategy; rules without one use the default
+     * @return the compiled matcher
+     * @throws IllegalArgumentException if a path or level is invalid
+     */
+    public static JsonPathMatcher compile(Map<String, String> rules, Map<String, MaskStrategy> strategies) {
+        List<Step[]> paths = new ArrayList<>(rules.size());
+        List<PiiLevel> levels = new ArrayList<>(rules.size());
+        List<MaskStrategy> masking = new ArrayList<>(rules.size());
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            paths.add(parse(rule.getKey(), false));
+            levels.add(PiiLevel.valueOf(rule.getValue().trim().toUpperCase(Locale.ROOT)));
+            masking.add(strategies.get(rule.getKey()));
+        }
+        return new JsonPathMatcher(new Compiler(paths, levels, masking).compile());
+    }
+
+    /**
+     * Gets the state of the document root.
+     *
+     * @return the root state
+     */
+    public State root() {
+        return root;
+    }
+
+    /**
+     * Classifies the value at a concrete path such as {@code $.customer.card.number} or {@code items[0].ssn},
+     * given from the root. Array indexes select an element without distinguishing which one.
+     *
+     * @param path the concrete path
+     * @return the PII level of the value at the path
+     * @throws IllegalArgumentException if the path is invalid
+     */
+    public PiiLevel classify(String path) {
+        State state = root;
+        for (Step step : parse(path, true)) {
+            state = step.kind == Kind.ELEMENT ? state.element() : state.field(step.name);
+        }
+        return state.level();
+    }
+
+    /**
+     * A position in the automaton: the set of rule prefixes matched by the path walked so far.
+     * States are immutable and shared, so walking allocates nothing.
+     */
+    public static final class State {
+
+        private final PiiLevel level;
+        private final MaskStrategy strategy;
+        private final boolean dead;
+        private Map<String, State> fields = Map.of();
+        private State otherField;
+        private State element;
+
+        private State(PiiLevel level, MaskStrategy strategy, boolean dead) {
+            this.level = level;
+            this.strategy = strategy;
+            this.dead = dead;
+        }
+
+        /**
+         * Follows an object member.
+         *
+         * @param name the field name
+         * @return the state of the field value
+         */
+        public State field(String name) {
+            if (dead) {
+                return this;
+            }
+            State next = fields.get(name);
+            if (next == null && !fields.isEmpty()) {
+                next = fields.get(name.toLowerCase(Locale.ROOT));
+            }
+            return next != null ? next : otherField;
+        }
+
+        /**
+         * Follows an array element.
+         *
+         * @return the state of the element
+         */
+        public State element() {
+            return element;
+        }
+
+        /**
+         * Gets the PII level of the value reached, the highest of all rules matching it.
+         *
+         * @return the PII level, or NONE if no rule matches
+         */
+        public PiiLevel level() {
+            return level;
+        }
+
+        /**
+         * Gets the masking strategy of the value reached: the strictest one set among the rules of the highest level
+         * matching it.
+         *
+         * @return the masking strategy, or null if none of those rules sets one
+         */
+        public MaskStrategy strategy() {
+            return strategy;
+        }
+
+        /**
+         * Whether no rule can match at or below this state, so callers may skip path tracking.
+         *
+         * @return true if the state is dead
+         */
+        public boolean isDead() {
+            return dead;
+        }
+    }
+
+    private enum Kind {
+        FIELD,
+        ANY_FIELD,
+        ELEMENT
+    }
+
+    /**
+     * One step of a path.
+     *
+     * @param kind       what the step matches
+     * @param name       the lower-case field name of a {@link Kind#FIELD} step
+     * @param descendant whether any number of tokens may come before the step ({@code ..})
+     */
+    private record Step(Kind kind, String name, boolean descendant) {
+
+        boolean matchesField(String field) {
+            return kind == Kind.ANY_FIELD || (kind == Kind.FIELD && name.equals(field));
+        }
+    }
+
+    /**
+     * Parses a path into steps.
+     *
+     * @param path     the path
+     * @param concrete whether the path addresses one value, allowing numeric indexes and forbidding wildcards
+     * @return the steps
+     */
+    private static Step[] parse(String path, boolean concrete) {
+        String p = path.trim();
+        List<Step> steps = new ArrayList<>();
+        int i = 0;
+        boolean descendant = !concrete;
+        if (p.startsWith("$")) {
+            i = 1;
+            descendant = false;
+        } else if (!p.isEmpty() && p.charAt(0) != '.' && p.charAt(0) != '[') {
+            int end = nameEnd(p, 0);
+            steps.add(nameStep(p.substring(0, end), descendant, concrete, path));
+            descendant = false;
+            i = end;
+        }
+        while (i < p.length()) {
+            char c = p.charAt(i);
+            if (c == '.') {
+                if (i + 1 < p.length() && p.charAt(i + 1) == '.') {
+                    if (concrete) {
+                        throw invalid(path, "descendant steps are not allowed");
+                    }
+                    descendant = true;
+                    i += 2;
+                    if (i < p.length() && p.charAt(i) == '[') {
+                        continue;
+                    }
+                } else {
+                    i++;
+                }
+                int end = nameEnd(p, i);
+                if (end == i) {
+                    throw invalid(path, "missing field name");
+                }
+                steps.add(nameStep(p.substring(i, end), descendant, concrete, path));
+                descendant = false;
+                i = end;
+            } else if (c == '[') {
+                int close = p.indexOf(']', i);
+                if (close < 0) {
+                    throw invalid(path, "unclosed bracket");
+                }
+                String inner = p.substring(i + 1, close).trim();
+                if (inner.equals("*")) {
+                    if (concrete) {
+                        throw invalid(path, "wildcards are not allowed");
+                    }
+                    steps.add(new Step(Kind.ELEMENT, null, descendant));
+                } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                        && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    String name = inner.substring(1, inner.length() - 1);
+                    steps.add(new Step(Kind.FIELD, name.toLowerCase(Locale.ROOT), descendant));
+                } else if (concrete && !inner.isEmpty() && inner.chars().allMatch(Character::isDigit)) {
+                    steps.add(new Step(Kind.ELEMENT, null, false));
+                } else {
+                    throw invalid(path, "unsupported bracket expression [" + inner + "]");
+                }
+                descendant = false;
+                i = close + 1;
+            } else {
+                throw invalid(path, "unexpected '" + c + "' at " + i);
+            }
+        }
+        if (descendant && !concrete && !steps.isEmpty()) {
+            throw invalid(path, "path ends with '..'");
+        }
+        if (steps.isEmpty() && !concrete) {
+            throw invalid(path, "no steps");
+        }
+        return steps.toArray(new Step[0]);
+    }
+
+    private static Step nameStep(String name, boolean descendant, boolean concrete, String path) {
+        if (name.equals("*")) {
+            if (concrete) {
+                throw invalid(path, "wildcards are not allowed");
+            }
+            return new Step(Kind.ANY_FIELD, null, descendant);
+        }
+        return new Step(Kind.FIELD, name.toLowerCase(Locale.ROOT), descendant);
+    }
+
+    private static int nameEnd(String path, int start) {
+        int i = start;
+        while (i < path.length() && path.charAt(i) != '.' && path.charAt(i) != '[') {
+            i++;
+        }
+        return i;
+    }
+
+    private static IllegalArgumentException invalid(String path, String reason) {
+        return new IllegalArgumentException("Invalid JSON path '" + path + "': " + reason);
+    }
+
+    /**
+     * Subset construction: each automaton state is the set of (rule, matched steps) positions reachable
+     * by the path walked so far, and transitions are computed for every field name named in a rule,
+     * for any other field name, and for array elements.
+     */
+    private static final class Compiler {
+
+        private final Step[][] paths;
+        private final PiiLevel[] levels;
+        private final MaskStrategy[] strategies;
+        private final int[] offsets;
+        private final Set<String> names = new HashSet<>();
+        private final Map<BitSet, State> states = new HashMap<>();
+        private final Deque<BitSet> pending = new ArrayDeque<>();
+        private final State deadState = new State(PiiLevel.NONE, null, true);
+
+        Compiler(List<Step[]> paths, List<PiiLevel> levels, List<MaskStrategy> strategies) {
+            this.paths = paths.toArray(new Step[0][]);
+            this.levels = levels.toArray(new PiiLevel[0]);
+            this.strategies = strategies.toArray(new MaskStrategy[0]);
+            this.offsets = new int[this.paths.length + 1];
+            for (int r = 0; r < this.paths.length; r++) {
+                offsets[r + 1] = offsets[r] + this.paths[r].length + 1;
+                for (Step step : this.paths[r]) {
+                    if (step.kind == Kind.FIELD) {
+                        names.add(step.name);
+                    }
+                }
+            }
+            deadState.element = deadState;
+            deadState.otherField = deadState;
+        }
+
+        State compile() {
+            BitSet start = new BitSet();
+            for (int r = 0; r < paths.length; r++) {
+                start.set(offsets[r]);
+            }
+            State root = state(start);
+            while (!pending.isEmpty()) {
+                BitSet set = pending.pop();
+                State state = states.get(set);
+                State other = state(next(set, null, false));
+                Map<String, State> fields = new HashMap<>();
+                for (String name : names) {
+                    State target = state(next(set, name, false));
+                    if (target != other) {
+                        fields.put(name, target);
+                    }
+                }
+                state.fields = fields.isEmpty() ? Map.of() : Map.copyOf(fields);
+                state.otherField = other;
+                state.element = state(next(set, null, true));
+            }
+            return root;
+        }
+
+        private State state(BitSet set) {
+            if (set.isEmpty()) {
+                return deadState;
+            }
+            State state = states.get(set);
+            if (state == null) {
+                PiiLevel level = level(set);
+                state = new State(level, strategy(set, level), false);
+                states.put(set, state);
+                pending.push(set);
+            }
+            return state;
+        }
+
+        private BitSet next(BitSet set, String field, boolean element) {
+            BitSet next = new BitSet();
+            for (int r = 0; r < paths.length; r++) {
+                Step[] steps = paths[r];
+                for (int position = 0; position < steps.length; position++) {
+                    if (!set.get(offsets[r] + position)) {
+                        continue;
+                    }
+                    Step step = steps[position];
+                    if (step.descendant) {
+                        next.set(offsets[r] + position);
+                    }
+                    boolean matches = element ? step.kind == Kind.ELEMENT : step.matchesField(field);
+                    if (matches) {
+                        next.set(offsets[r] + position + 1);
+                    }
+                }
+            }
+            return next;
+        }
+
+        private PiiLevel level(BitSet set) {
+            PiiLevel level = PiiLevel.NONE;
+            for (int r = 0; r < paths.length; r++) {
+                if (set.get(offsets[r] + paths[r].length) && levels[r].ordinal() > level.ordinal()) {
+                    level = levels[r];
+                }
+            }
+            return level;
+        }
+
+        private MaskStrategy strategy(BitSet set, PiiLevel level) {
+            MaskStrategy strategy = null;
+            for (int r = 0; r < paths.length; r++) {
+                if (set.get(offsets[r] + paths[r].length) && levels[r] == level && strategies[r] != null
+                        && (strategy == null || strategies[r].ordinal() < strategy.ordinal())) {
+                    strategy = strategies[r];
+                }
+            }
+            return strategy;
+        }
+    }
+}
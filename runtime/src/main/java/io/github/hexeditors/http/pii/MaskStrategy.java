@@ -0,0 +1,33 @@
+package io.github.hexeditors.http.pii;
+
+/**
+ * Enumeration of the ways a sensitive value is rendered in logs, ordered from the strictest (FULL)
+ * to the most revealing (FIRST6_LAST4).
+ * Partial strategies keep separators such as spaces and dashes in place and only replace letters and digits.
+ */
+public enum MaskStrategy {
+    /**
+     * Replaces the whole value with the configured mask string.
+     */
+    FULL,
+    /**
+     * Replaces the value with a keyed HMAC token, the same for equal values (e.g., tok_3f9a…).
+     * The token hides the value only while the key stays secret: with the key, values from a small space such as
+     * SSNs, card numbers or phone numbers are recovered by hashing every candidate.
+     */
+    HMAC,
+    /**
+     * Replaces every letter and digit with a keyed pseudo-random one of the same class, the same for equal values,
+     * so the token keeps the length and shape of the original. Like {@link #HMAC}, it can be reversed by brute force
+     * once the key is known.
+     */
+    FORMAT_PRESERVING,
+    /**
+     * Keeps the last four letters or digits and masks the others.
+     */
+    LAST4,
+    /**
+     * Keeps the first six and last four letters or digits and masks the others, as allowed for card numbers.
+     */
+    FIRST6_LAST4
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 
 /**
  * Classifier for determining PII sensitivity levels of headers and JSON fields based on configuration.
+ * JSON rules are paths, compiled once into a {@link JsonPathMatcher}.
  */
 @ApplicationScoped
 public class PiiClassifier {
@@ -14,6 +15,8 @@ public class PiiClassifier {
     @Inject
     PiiConfig config;
 
+    private volatile JsonPathMatcher jsonPaths;
+
     /**
      * Classifies the PII level of an HTTP header name.
      *
@@ -25,13 +28,29 @@ public class PiiClassifier {
     }
 
     /**
-     * Classifies the PII level of a JSON field path.
+     * Classifies the PII level of a JSON field path, given from the document root
+     * (e.g., "password" or "$.customer.card.number").
      *
      * @param field the JSON field path to classify
      * @return the PII level, or NONE if not configured
      */
     public PiiLevel classifyJsonField(String field) {
-        return resolve(field, config.json());
+        return jsonPaths().classify(field);
+    }
+
+    /**
+     * Gets the JSON path rules and their masking strategies compiled into a matcher, compiling them on first use.
+     *
+     * @return the compiled JSON path rules
+     */
+    public JsonPathMatcher jsonPaths() {
+        JsonPathMatcher matcher = jsonPaths;
+        if (matcher == null) {
+            Map<String, String> rules = config.json();
+            matcher = rules == null || rules.isEmpty() ? JsonPathMatcher.empty() : JsonPathMatcher.compile(rules, config.masking().json());
+            jsonPaths = matcher;
+        }
+        return matcher;
     }
 
     /**
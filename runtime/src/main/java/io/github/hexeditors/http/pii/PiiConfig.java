@@ -25,10 +25,34 @@ public interface PiiConfig {
     Map<String, String> json();
 
     /**
-     * The string used to mask sensitive values.
+     * Custom regex rules detecting sensitive values, keyed by rule name.
+     *
+     * @return map of rule name to pattern settings
+     */
+    Map<String, PiiPatternConfig> patterns();
+
+    /**
+     * How values matched by the rules are masked.
+     *
+     * @return the masking settings
+     */
+    PiiMaskingConfig masking();
+
+    /**
+     * The string replacing sensitive values masked in full. Its first character also replaces the hidden
+     * letters and digits of partially masked values.
      *
      * @return the mask string, defaults to "***"
      */
     @io.smallrye.config.WithDefault("***")
     String mask();
+
+    /**
+     * The maximum number of characters of a body rendered in the trace log. Longer bodies are cut off, though
+     * still scanned in full for their PII level; zero or less renders bodies whole.
+     *
+     * @return the cap on logged body length, defaults to 16384
+     */
+    @io.smallrye.config.WithDefault("16384")
+    int maxLoggedBodyLength();
 }
@@ -0,0 +1,322 @@
+package io.github.hexeditors.http.pii;
+
+import io.github.hexeditors.http.logging.LogUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders sensitive values according to the {@link MaskStrategy} of the rule that matched them.
+ * Strategies read a range of a {@link CharSequence} and append to a caller-supplied {@link StringBuilder}, so a
+ * streaming writer can mask straight from its buffers. Tokens are computed with HMAC-SHA256 over the UTF-8 bytes
+ * of the value, using a per-thread {@link Mac} and scratch buffers, so masking allocates only the output.
+ */
+@ApplicationScoped
+public class PiiMasker {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_PREFIX = "tok_";
+    private static final int TOKEN_BYTES = 8;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Partial strategies reveal nothing unless at least this many letters and digits stay hidden.
+     */
+    private static final int MIN_HIDDEN = 4;
+
+    @Inject
+    PiiConfig config;
+
+    private volatile Settings settings;
+
+    /**
+     * Gets the strategy of a header rule.
+     *
+     * @param name the header name
+     * @return the configured strategy, or the default one
+     */
+    public MaskStrategy forHeader(String name) {
+        Settings current = settings();
+        return current.headers.getOrDefault(name.toLowerCase(Locale.ROOT), current.strategy);
+    }
+
+    /**
+     * Gets the strategy of a regex rule.
+     *
+     * @param rule the rule that matched the value
+     * @return the configured strategy, or the default one
+     */
+    public MaskStrategy forRule(RegexPiiRule rule) {
+        Settings current = settings();
+        return current.patterns.getOrDefault(rule.name().toLowerCase(Locale.ROOT), current.strategy);
+    }
+
+    /**
+     * Gets the strategy of the JSON path rules matching a value.
+     *
+     * @param state the state the value was reached in
+     * @return the strategy of the rules, or the default one
+     */
+    public MaskStrategy forPath(JsonPathMatcher.State state) {
+        MaskStrategy strategy = state.strategy();
+        return strategy != null ? strategy : settings().strategy;
+    }
+
+    /**
+     * Masks a whole value.
+     *
+     * @param value    the sensitive value, may be null
+     * @param strategy how to mask it
+     * @return the masked value
+     */
+    public String mask(String value, MaskStrategy strategy) {
+        if (value == null || strategy == MaskStrategy.FULL) {
+            return settings().mask;
+        }
+        StringBuilder out = new StringBuilder(strategy == MaskStrategy.HMAC
+                ? TOKEN_PREFIX.length() + 2 * TOKEN_BYTES
+                : value.length());
+        mask(value, 0, value.length(), strategy, out);
+        return out.toString();
+    }
+
+    /**
+     * Masks a range of characters, appending the result.
+     *
+     * @param value    the characters holding the sensitive value
+     * @param start    the index of the first character of the value
+     * @param end      the index after the last character of the value
+     * @param strategy how to mask it
+     * @param out      the buffer the masked value is appended to
+     */
+    public void mask(CharSequence value, int start, int end, MaskStrategy strategy, StringBuilder out) {
+        Settings current = settings();
+        switch (strategy) {
+            case FULL -> out.append(current.mask);
+            case HMAC -> token(current, value, start, end, out);
+            case FORMAT_PRESERVING -> formatPreserving(current, value, start, end, out);
+            case LAST4 -> keep(current.maskChar, value, start, end, 0, 4, out);
+            case FIRST6_LAST4 -> keep(current.maskChar, value, start, end, 6, 4, out);
+        }
+    }
+
+    /**
+     * Keeps the first and last letters or digits of a value, masking the others. Values too short to keep
+     * {@link #MIN_HIDDEN} of them hidden are masked entirely.
+     */
+    private static void keep(char maskChar, CharSequence value, int start, int end, int head, int tail,
+                             StringBuilder out) {
+        int sensitive = 0;
+        for (int i = start; i < end; i++) {
+            if (isSensitive(value.charAt(i))) {
+                sensitive++;
+            }
+        }
+        boolean reveal = sensitive >= head + tail + MIN_HIDDEN;
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!isSensitive(c)) {
+                out.append(c);
+                continue;
+            }
+            out.append(reveal && (index < head || index >= sensitive - tail) ? c : maskChar);
+            index++;
+        }
+    }
+
+    private static void token(Settings settings, CharSequence value, int start, int end, StringBuilder out) {
+        Scratch scratch = settings.scratch.get();
+        scratch.digest(value, start, end);
+        out.append(TOKEN_PREFIX);
+        for (int i = 0; i < TOKEN_BYTES; i++) {
+            int b = scratch.block[i] & 0xff;
+            out.append(HEX[b >>> 4]).append(HEX[b & 0x0f]);
+        }
+    }
+
+    /**
+     * Replaces ASCII digits and letters with keyed pseudo-random ones of the same class, drawn from the HMAC of the
+     * whole value, re-hashed block by block for long values. Other letters and digits are masked, and everything
+     * else is kept.
+     */
+    private static void formatPreserving(Settings settings, CharSequence value, int start, int end,
+                                         StringBuilder out) {
+        Scratch scratch = settings.scratch.get();
+        scratch.digest(value, start, end);
+        int next = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            boolean upper = c >= 'A' && c <= 'Z';
+            boolean lower = c >= 'a' && c <= 'z';
+            if (!digit && !upper && !lower) {
+                out.append(isSensitive(c) ? settings.maskChar : c);
+                continue;
+            }
+            if (next == scratch.block.length) {
+                scratch.rehash();
+                next = 0;
+            }
+            int random = scratch.block[next++] & 0xff;
+            out.append(digit ? (char) ('0' + random % 10) : (char) ((upper ? 'A' : 'a') + random % 26));
+        }
+    }
+
+    private static boolean isSensitive(char c) {
+        return Character.isLetterOrDigit(c) || Character.isSurrogate(c);
+    }
+
+    /**
+     * Gets the settings, resolving them from the configuration on first use.
+     *
+     * @return the settings
+     */
+    private Settings settings() {
+        Settings current = settings;
+        if (current == null) {
+            synchronized (this) {
+                current = settings;
+                if (current == null) {
+                    current = new Settings(config);
+                    settings = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * The masking configuration resolved for lookups: rule names lower-cased and the token key decoded.
+     */
+    private static final class Settings {
+
+        final String mask;
+        final char maskChar;
+        final MaskStrategy strategy;
+        final Map<String, MaskStrategy> headers = new HashMap<>();
+        final Map<String, MaskStrategy> patterns = new HashMap<>();
+        final ThreadLocal<Scratch> scratch;
+
+        Settings(PiiConfig config) {
+            PiiMaskingConfig masking = config.masking();
+            mask = config.mask();
+            maskChar = mask.isEmpty() ? '*' : mask.charAt(0);
+            strategy = masking.strategy();
+            masking.headers().forEach((name, s) -> headers.put(name.toLowerCase(Locale.ROOT), s));
+            masking.patterns().forEach((name, s) -> patterns.put(name.toLowerCase(Locale.ROOT), s));
+            SecretKeySpec key = new SecretKeySpec(masking.hmacKey()
+                    .map(k -> k.getBytes(StandardCharsets.UTF_8))
+                    .orElseGet(() -> randomKey(masking)), ALGORITHM);
+            scratch = ThreadLocal.withInitial(() -> new Scratch(key));
+        }
+
+        private static byte[] randomKey(PiiMaskingConfig masking) {
+            boolean tokens = isToken(masking.strategy())
+                    || masking.headers().values().stream().anyMatch(Settings::isToken)
+                    || masking.json().values().stream().anyMatch(Settings::isToken)
+                    || masking.patterns().values().stream().anyMatch(Settings::isToken);
+            if (tokens) {
+                LogUtil.log.atWarning().log(
+                        "No http.pii.masking.hmac-key configured, PII tokens only stay the same within this process");
+            }
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+
+        private static boolean isToken(MaskStrategy strategy) {
+            return strategy == MaskStrategy.HMAC || strategy == MaskStrategy.FORMAT_PRESERVING;
+        }
+    }
+
+    /**
+     * Per-thread HMAC state and buffers, reused across values.
+     */
+    private static final class Scratch {
+
+        final Mac mac;
+        final byte[] block;
+        byte[] bytes = new byte[256];
+
+        Scratch(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+            }
+            block = new byte[mac.getMacLength()];
+        }
+
+        /**
+         * Computes the HMAC of the UTF-8 encoding of the characters into {@link #block}.
+         */
+        void digest(CharSequence value, int start, int end) {
+            mac.update(bytes, 0, encode(value, start, end));
+            finish();
+        }
+
+        /**
+         * Replaces {@link #block} with the HMAC of itself, extending the pseudo-random stream.
+         */
+        void rehash() {
+            mac.update(block);
+            finish();
+        }
+
+        private void finish() {
+            try {
+                mac.doFinal(block, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Encodes the characters as UTF-8 into {@link #bytes}, growing it when needed; unpaired surrogates become
+         * '?', as with {@link String#getBytes(java.nio.charset.Charset)}.
+         *
+         * @return the number of bytes written
+         */
+        private int encode(CharSequence value, int start, int end) {
+            int needed = 3 * (end - start);
+            if (bytes.length < needed) {
+                bytes = new byte[Math.max(needed, 2 * bytes.length)];
+            }
+            byte[] b = bytes;
+            int n = 0;
+            for (int i = start; i < end; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    b[n++] = (byte) c;
+                } else if (c < 0x800) {
+                    b[n++] = (byte) (0xc0 | (c >> 6));
+                    b[n++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    b[n++] = (byte) (0xf0 | (cp >> 18));
+                    b[n++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    b[n++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    b[n++] = (byte) (0x80 | (cp & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    b[n++] = '?';
+                } else {
+                    b[n++] = (byte) (0xe0 | (c >> 12));
+                    b[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    b[n++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            return n;
+        }
+    }
+}
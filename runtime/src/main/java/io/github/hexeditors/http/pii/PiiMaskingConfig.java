@@ -0,0 +1,49 @@
+package io.github.hexeditors.http.pii;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How sensitive values are masked, mapped from properties with prefix "http.pii.masking".
+ * Rules without a strategy of their own use {@link #strategy()}.
+ */
+public interface PiiMaskingConfig {
+
+    /**
+     * The strategy of rules without one of their own.
+     *
+     * @return the default strategy, defaults to FULL
+     */
+    @io.smallrye.config.WithDefault("FULL")
+    MaskStrategy strategy();
+
+    /**
+     * Strategies of header rules, keyed by header name.
+     *
+     * @return map of header name to strategy
+     */
+    Map<String, MaskStrategy> headers();
+
+    /**
+     * Strategies of JSON rules, keyed by the same path as in {@link PiiConfig#json()}.
+     *
+     * @return map of JSON path to strategy
+     */
+    Map<String, MaskStrategy> json();
+
+    /**
+     * Strategies of regex rules, keyed by rule name: a built-in type such as CREDIT_CARD, or a custom rule name.
+     *
+     * @return map of rule name to strategy
+     */
+    Map<String, MaskStrategy> patterns();
+
+    /**
+     * The key of the HMAC and FORMAT_PRESERVING tokens. Without a key, a random one is generated at startup,
+     * so tokens only stay the same within one process. The key is a secret as sensitive as the masked values, since
+     * whoever holds it can recover low-entropy values such as SSNs or card numbers by hashing every candidate.
+     *
+     * @return the optional token key
+     */
+    Optional<String> hmacKey();
+}
@@ -0,0 +1,34 @@
+package io.github.hexeditors.http.pii;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A custom regex PII rule, added to the built-in ones of {@link RegexPiiDetector}.
+ */
+public interface PiiPatternConfig {
+
+    /**
+     * The regular expression matching sensitive values. A regex with back-references or named groups is matched
+     * on its own instead of being combined with the other rules, so it works as written but scans values again.
+     *
+     * @return the regular expression
+     */
+    String regex();
+
+    /**
+     * The PII level of values matching the rule.
+     *
+     * @return the PII level, defaults to HIGH
+     */
+    @io.smallrye.config.WithDefault("HIGH")
+    PiiLevel level();
+
+    /**
+     * Literals of which every match contains at least one (e.g., a fixed prefix such as "sk_live_").
+     * Values containing none of them skip the rule; without literals the rule is tried on every value.
+     *
+     * @return the optional list of literals
+     */
+    Optional<List<String>> literals();
+}
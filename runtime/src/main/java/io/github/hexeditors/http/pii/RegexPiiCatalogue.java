@@ -0,0 +1,302 @@
+package io.github.hexeditors.http.pii;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A set of regex PII rules compiled for scanning values in a single pass.
+ * <p>
+ * A value is first scanned once for the literals of the rules, indexed by their first character, which rules out
+ * every rule whose literals it lacks; most values end there without running any regex. The remaining rules are
+ * combined into one alternation, ordered from the highest PII level down, and compiled once per combination of rules.
+ * After a match, only rules of a higher level can change the result, so the scan resumes one character after the
+ * match start with those rules alone. Every value is therefore scanned at most once per PII level, and a lower-level
+ * match cannot hide a higher-level one overlapping it.
+ * <p>
+ * The cache of combined patterns is bounded; past the bound, the precompiled pattern of every rule down to the
+ * lowest level wanted is used instead. Rules whose patterns hold back-references or named groups keep their own
+ * pattern, since the group numbers and names of an alternation would change their meaning.
+ */
+public final class RegexPiiCatalogue {
+
+    /**
+     * The number of rule combinations compiled into patterns of their own.
+     */
+    static final int MAX_COMBINATIONS = 256;
+
+    private static final PiiLevel[] LEVELS = PiiLevel.values();
+
+    private final List<RegexPiiRule> rules;
+    private final BitSet unconditional = new BitSet();
+    private final BitSet standalone = new BitSet();
+    private final Map<Character, List<Literal>> literalsByFirstChar = new HashMap<>();
+    private final ConcurrentMap<BitSet, Combined> combined = new ConcurrentHashMap<>();
+    /**
+     * For each PII level, the number of rules above it, which come first in {@link #rules}.
+     */
+    private final int[] above = new int[LEVELS.length];
+    /**
+     * For each PII level, the pattern combining every rule of that level or above, or null if there is none.
+     */
+    private final Combined[] byLevel = new Combined[LEVELS.length];
+
+    /**
+     * Compiles a catalogue of rules.
+     *
+     * @param rules the rules
+     * @throws java.util.regex.PatternSyntaxException if the rules cannot be combined into one pattern
+     */
+    public RegexPiiCatalogue(List<RegexPiiRule> rules) {
+        List<RegexPiiRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparing(RegexPiiRule::level).reversed());
+        this.rules = List.copyOf(ordered);
+        for (int i = 0; i < this.rules.size(); i++) {
+            RegexPiiRule rule = this.rules.get(i);
+            if (rule.literals().isEmpty()) {
+                unconditional.set(i);
+            }
+            if (needsOwnPattern(rule.pattern().pattern())) {
+                standalone.set(i);
+            }
+            for (String literal : rule.literals()) {
+                literalsByFirstChar.computeIfAbsent(literal.charAt(0), c -> new ArrayList<>()).add(new Literal(literal, i));
+            }
+        }
+        for (PiiLevel level : LEVELS) {
+            BitSet atLeast = new BitSet();
+            for (int i = 0; i < this.rules.size(); i++) {
+                int ordinal = this.rules.get(i).level().ordinal();
+                if (ordinal > level.ordinal()) {
+                    above[level.ordinal()]++;
+                }
+                if (ordinal >= level.ordinal() && !standalone.get(i)) {
+                    atLeast.set(i);
+                }
+            }
+            if (!atLeast.isEmpty()) {
+                byLevel[level.ordinal()] = combined.computeIfAbsent(atLeast, this::combine);
+            }
+        }
+    }
+
+    /**
+     * Gets the rules of the catalogue, from the highest PII level down.
+     *
+     * @return the rules
+     */
+    public List<RegexPiiRule> rules() {
+        return rules;
+    }
+
+    /**
+     * Detects the highest PII level of any rule matching the value.
+     *
+     * @param value the value to scan, may be null
+     * @return the detected PII level, or NONE if no rule matches
+     */
+    public PiiLevel detect(String value) {
+        RegexPiiRule rule = match(value);
+        return rule == null ? PiiLevel.NONE : rule.level();
+    }
+
+    /**
+     * Finds the rule of the highest PII level matching the value; of rules with the same level, the first one
+     * matching wins.
+     *
+     * @param value the value to scan, may be null
+     * @return the matching rule, or null if no rule matches
+     */
+    public RegexPiiRule match(String value) {
+        if (value == null || value.isBlank() || rules.isEmpty()) {
+            return null;
+        }
+        BitSet candidates = candidates(value);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        BitSet alternatives = (BitSet) candidates.clone();
+        alternatives.andNot(standalone);
+        RegexPiiRule best = null;
+        int from = 0;
+        while (!alternatives.isEmpty() && from < value.length()) {
+            Combined pattern = combination(alternatives);
+            Matcher matcher = pattern.pattern.matcher(value);
+            if (!matcher.find(from)) {
+                break;
+            }
+            best = pattern.ruleOf(matcher);
+            // the alternation tries higher levels first, so a higher-level match can only start further on
+            from = matcher.start() + 1;
+            alternatives = alternatives.get(0, above[best.level().ordinal()]);
+        }
+        candidates.and(standalone);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            RegexPiiRule rule = rules.get(i);
+            if (best != null && rule.level().ordinal() <= best.level().ordinal()) {
+                break;
+            }
+            if (rule.pattern().matcher(value).find()) {
+                return rule;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of rule combinations compiled so far.
+     *
+     * @return the number of cached patterns
+     */
+    int combinations() {
+        return combined.size();
+    }
+
+    /**
+     * Gets the pattern combining the given rules, or once the cache is full, the precompiled pattern of every rule
+     * down to the lowest level among them. Rules without their literals in the value cannot match, so the wider
+     * pattern finds the same matches, only slower.
+     *
+     * @param alternatives the indexes of the rules to combine, none of them standalone
+     * @return the combined pattern
+     */
+    private Combined combination(BitSet alternatives) {
+        Combined pattern = combined.get(alternatives);
+        if (pattern != null) {
+            return pattern;
+        }
+        if (combined.size() < MAX_COMBINATIONS) {
+            return combined.computeIfAbsent(alternatives, this::combine);
+        }
+        return byLevel[rules.get(alternatives.length() - 1).level().ordinal()];
+    }
+
+    /**
+     * Whether a pattern holds back-references or named groups, which an alternation would renumber or clash with.
+     *
+     * @param regex the pattern
+     * @return true if the pattern has to be matched on its own
+     */
+    static boolean needsOwnPattern(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char next = regex.charAt(i + 1);
+                if (next == 'Q') {
+                    int end = regex.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        return false;
+                    }
+                    i = end + 1;
+                    continue;
+                }
+                if ((next >= '1' && next <= '9') || next == 'k') {
+                    return true;
+                }
+                i++;
+            } else if (c == '(' && regex.startsWith("?<", i + 1) && i + 3 < regex.length()
+                    && regex.charAt(i + 3) != '=' && regex.charAt(i + 3) != '!') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the rules that may match the value: those without literals, and those with a literal found in it.
+     *
+     * @param value the value to scan
+     * @return the candidate rule indexes
+     */
+    private BitSet candidates(String value) {
+        BitSet candidates = (BitSet) unconditional.clone();
+        if (literalsByFirstChar.isEmpty()) {
+            return candidates;
+        }
+        int remaining = rules.size() - candidates.cardinality();
+        for (int i = 0; i < value.length() && remaining > 0; i++) {
+            List<Literal> literals = literalsByFirstChar.get(value.charAt(i));
+            if (literals == null) {
+                continue;
+            }
+            for (Literal literal : literals) {
+                if (!candidates.get(literal.rule) && value.startsWith(literal.text, i)) {
+                    candidates.set(literal.rule);
+                    remaining--;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Combined combine(BitSet candidates) {
+        StringBuilder regex = new StringBuilder();
+        int[] ruleIndexes = candidates.stream().toArray();
+        String[] groups = new String[ruleIndexes.length];
+        for (int i = 0; i < ruleIndexes.length; i++) {
+            RegexPiiRule rule = rules.get(ruleIndexes[i]);
+            groups[i] = "pii" + ruleIndexes[i];
+            if (i > 0) {
+                regex.append('|');
+            }
+            regex.append("(?<").append(groups[i]).append(">(?").append(inlineFlags(rule.pattern().flags()))
+                    .append(':').append(rule.pattern().pattern()).append("))");
+        }
+        RegexPiiRule[] alternatives = new RegexPiiRule[ruleIndexes.length];
+        for (int i = 0; i < ruleIndexes.length; i++) {
+            alternatives[i] = rules.get(ruleIndexes[i]);
+        }
+        return new Combined(Pattern.compile(regex.toString()), groups, alternatives);
+    }
+
+    /**
+     * Turns the compile flags of a rule into inline flags, so they keep applying to its alternative only.
+     *
+     * @param flags the pattern flags
+     * @return the inline flag letters
+     */
+    private static String inlineFlags(int flags) {
+        StringBuilder inline = new StringBuilder();
+        if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+            inline.append('i');
+        }
+        if ((flags & Pattern.UNICODE_CASE) != 0) {
+            inline.append('u');
+        }
+        if ((flags & Pattern.MULTILINE) != 0) {
+            inline.append('m');
+        }
+        if ((flags & Pattern.DOTALL) != 0) {
+            inline.append('s');
+        }
+        if ((flags & Pattern.COMMENTS) != 0) {
+            inline.append('x');
+        }
+        return inline.toString();
+    }
+
+    private record Literal(String text, int rule) {
+    }
+
+    /**
+     * One combined pattern, with the group and rule of each alternative.
+     */
+    private record Combined(Pattern pattern, String[] groups, RegexPiiRule[] rules) {
+
+        RegexPiiRule ruleOf(Matcher matcher) {
+            for (int i = 0; i < groups.length; i++) {
+                if (matcher.start(groups[i]) >= 0) {
+                    return rules[i];
+                }
+            }
+            throw new IllegalStateException("Match outside of every rule group");
+        }
+    }
+}
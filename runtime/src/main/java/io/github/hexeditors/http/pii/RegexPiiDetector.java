@@ -1,18 +1,31 @@
 package io.github.hexeditors.http.pii;
 
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
  * Detector for sensitive information using regex patterns.
- * Checks for credit card numbers and Social Security Numbers.
+ * Checks for credit card numbers, Social Security Numbers, IBANs, email addresses, phone numbers, JWTs and
+ * AWS access key IDs, plus the custom patterns configured under {@code http.pii.patterns}.
+ * All rules are compiled at startup into a {@link RegexPiiCatalogue}, which prefilters values by literal
+ * before running a single combined pattern.
  */
 @ApplicationScoped
 public class RegexPiiDetector {
 
-    private static final List<RegexPiiRule> RULES = List.of(
+    private static final List<String> DIGITS = List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+
+    /**
+     * The built-in rules.
+     */
+    public static final List<RegexPiiRule> BUILT_IN_RULES = List.of(
 
             // Credit Card (Visa, MC, Amex, Discover – simplified but safe)
             new RegexPiiRule(
@@ -23,17 +36,64 @@ public class RegexPiiDetector {
                                     "|3[47][0-9]{13}" +                     // Amex
                                     "|6(?:011|5[0-9]{2})[0-9]{12})\\b"
                     ),
-                    PiiLevel.SECRET
+                    PiiLevel.SECRET,
+                    List.of("3", "4", "5", "6")
             ),
 
             // US Social Security Number
             new RegexPiiRule(
                     RegexPiiType.SSN,
                     Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b"),
-                    PiiLevel.SECRET
+                    PiiLevel.SECRET,
+                    List.of("-")
+            ),
+
+            // IBAN, compact or in groups of four
+            new RegexPiiRule(
+                    RegexPiiType.IBAN,
+                    Pattern.compile("\\b[A-Z]{2}[0-9]{2}(?: ?[A-Z0-9]{4}){2,7}(?: ?[A-Z0-9]{1,3})?\\b"),
+                    PiiLevel.HIGH,
+                    DIGITS
+            ),
+
+            // Email address
+            new RegexPiiRule(
+                    RegexPiiType.EMAIL,
+                    Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}\\b"),
+                    PiiLevel.MEDIUM,
+                    List.of("@")
+            ),
+
+            // Phone number, international (+CC ...) or US ((555) 123-4567)
+            new RegexPiiRule(
+                    RegexPiiType.PHONE,
+                    Pattern.compile("(?<![\\w+])\\+[1-9](?:[ ().-]{0,2}[0-9]){6,14}\\b|\\([0-9]{3}\\) ?[0-9]{3}-[0-9]{4}\\b"),
+                    PiiLevel.MEDIUM,
+                    List.of("+", "(")
+            ),
+
+            // JSON Web Token: base64url header starting with {" followed by payload and signature
+            new RegexPiiRule(
+                    RegexPiiType.JWT,
+                    Pattern.compile("\\beyJ[A-Za-z0-9_-]{5,}\\.[A-Za-z0-9_-]{5,}\\.[A-Za-z0-9_-]*"),
+                    PiiLevel.HIGH,
+                    List.of("eyJ")
+            ),
+
+            // AWS access key ID
+            new RegexPiiRule(
+                    RegexPiiType.AWS_ACCESS_KEY,
+                    Pattern.compile("\\b(?:AKIA|ASIA|AGPA|AIDA|AROA|ANPA|ANVA|AIPA)[A-Z0-9]{16}\\b"),
+                    PiiLevel.HIGH,
+                    List.of("AKIA", "ASIA", "AGPA", "AIDA", "AROA", "ANPA", "ANVA", "AIPA")
             )
     );
 
+    @Inject
+    PiiConfig config;
+
+    private volatile RegexPiiCatalogue catalogue;
+
     /**
      * Detects PII in the given string value using configured regex rules.
      * Returns the highest PII level found, or NONE if no PII is detected.
@@ -45,12 +105,64 @@ public class RegexPiiDetector {
         if (value == null || value.isBlank()) {
             return PiiLevel.NONE;
         }
+        return catalogue().detect(value);
+    }
+
+    /**
+     * Finds the rule of the highest PII level matching the given value, so its masking strategy can be applied.
+     *
+     * @param value the string to scan for PII
+     * @return the matching rule, or null if no PII is detected
+     */
+    public RegexPiiRule match(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return catalogue().match(value);
+    }
 
-        for (RegexPiiRule rule : RULES) {
-            if (rule.pattern().matcher(value).find()) {
-                return rule.level();
+    /**
+     * Gets the compiled rules, compiling the built-in and configured rules on first use.
+     *
+     * @return the compiled rules
+     * @throws java.util.regex.PatternSyntaxException if a configured pattern is invalid
+     */
+    public RegexPiiCatalogue catalogue() {
+        RegexPiiCatalogue current = catalogue;
+        if (current == null) {
+            synchronized (this) {
+                current = catalogue;
+                if (current == null) {
+                    current = new RegexPiiCatalogue(rules());
+                    catalogue = current;
+                }
             }
         }
-        return PiiLevel.NONE;
+        return current;
+    }
+
+    /**
+     * Compiles the rules when the application starts, so an invalid custom pattern fails the startup.
+     *
+     * @param event the startup event
+     */
+    void compileOnStartup(@Observes StartupEvent event) {
+        catalogue();
+    }
+
+    private List<RegexPiiRule> rules() {
+        Map<String, PiiPatternConfig> patterns = config == null ? null : config.patterns();
+        if (patterns == null || patterns.isEmpty()) {
+            return BUILT_IN_RULES;
+        }
+        List<RegexPiiRule> rules = new ArrayList<>(BUILT_IN_RULES);
+        patterns.forEach((name, pattern) -> rules.add(new RegexPiiRule(
+                RegexPiiType.CUSTOM,
+                Pattern.compile(pattern.regex()),
+                pattern.level(),
+                name,
+                pattern.literals().orElse(List.of())
+        )));
+        return rules;
     }
 }
@@ -1,17 +1,56 @@
 package io.github.hexeditors.http.pii;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
  * Represents a rule for detecting PII using regex patterns.
  *
- * @param type    the type of PII this rule detects
- * @param pattern the compiled regex pattern to match against
- * @param level   the PII sensitivity level of matches
+ * @param type     the type of PII this rule detects
+ * @param pattern  the compiled regex pattern to match against
+ * @param level    the PII sensitivity level of matches
+ * @param name     the name identifying the rule
+ * @param literals literals of which every match contains at least one, used to skip the rule
+ *                 for values containing none of them; empty if the rule always applies
  */
 public record RegexPiiRule(
         RegexPiiType type,
         Pattern pattern,
-        PiiLevel level
+        PiiLevel level,
+        String name,
+        List<String> literals
 ) {
+
+    /**
+     * Creates a rule named after its type that always applies.
+     *
+     * @param type    the type of PII this rule detects
+     * @param pattern the compiled regex pattern to match against
+     * @param level   the PII sensitivity level of matches
+     */
+    public RegexPiiRule(RegexPiiType type, Pattern pattern, PiiLevel level) {
+        this(type, pattern, level, type.name(), List.of());
+    }
+
+    /**
+     * Creates a rule named after its type, applied only to values containing one of the given literals.
+     *
+     * @param type     the type of PII this rule detects
+     * @param pattern  the compiled regex pattern to match against
+     * @param level    the PII sensitivity level of matches
+     * @param literals literals of which every match contains at least one
+     */
+    public RegexPiiRule(RegexPiiType type, Pattern pattern, PiiLevel level, List<String> literals) {
+        this(type, pattern, level, type.name(), literals);
+    }
+
+    /**
+     * Validates the rule.
+     */
+    public RegexPiiRule {
+        literals = List.copyOf(literals);
+        if (literals.stream().anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException("Empty literal in PII rule " + name);
+        }
+    }
 }
@@ -11,5 +11,29 @@ public enum RegexPiiType {
     /**
      * Social Security Numbers.
      */
-    SSN
+    SSN,
+    /**
+     * International Bank Account Numbers.
+     */
+    IBAN,
+    /**
+     * Email addresses.
+     */
+    EMAIL,
+    /**
+     * Phone numbers in international or US notation.
+     */
+    PHONE,
+    /**
+     * JSON Web Tokens.
+     */
+    JWT,
+    /**
+     * AWS access key IDs.
+     */
+    AWS_ACCESS_KEY,
+    /**
+     * Patterns added through configuration.
+     */
+    CUSTOM
 }
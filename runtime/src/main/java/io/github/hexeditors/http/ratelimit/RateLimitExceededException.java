@@ -0,0 +1,16 @@
+package io.github.hexeditors.http.ratelimit;
+
+/**
+ * Thrown when a request would have to wait for the rate limiter longer than allowed.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Creates the exception for the given host.
+     *
+     * @param host the rate limited host
+     */
+    public RateLimitExceededException(String host) {
+        super("Rate limit of " + host + " exceeded");
+    }
+}
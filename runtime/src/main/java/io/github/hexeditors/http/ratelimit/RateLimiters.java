@@ -0,0 +1,162 @@
+package io.github.hexeditors.http.ratelimit;
+
+import io.github.hexeditors.http.impl.WebClientFactory;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rate limits requests per host with a {@link TokenBucket} for each host that has a configured rate.
+ * A request that has to wait is resumed by a Vert.x timer on its own context, so no thread is blocked.
+ * Responses adjust the bucket: a 429 or 503 with {@code Retry-After}, or {@code RateLimit-Remaining: 0} with
+ * {@code RateLimit-Reset}, holds back further requests to the host until the server allows them again.
+ */
+@ApplicationScoped
+public class RateLimiters {
+
+    @Inject
+    WebClientFactory factory;
+
+    @Inject
+    Vertx vertx;
+
+    private final ConcurrentMap<String, Optional<TokenBucket>> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Waits for a permit to send a request to the given host.
+     *
+     * @param host          the target host, or logical service name
+     * @param maxWaitMillis the longest acceptable wait in milliseconds
+     * @return a Uni completing once the request may be sent, failing with {@link RateLimitExceededException}
+     * if that would take longer than allowed
+     */
+    public Uni<Void> acquire(String host, long maxWaitMillis) {
+        Optional<TokenBucket> bucket = bucket(host);
+        if (bucket.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        long wait = bucket.get().reserve(TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis)));
+        if (wait < 0) {
+            return Uni.createFrom().failure(new RateLimitExceededException(host));
+        }
+        if (wait == 0) {
+            return Uni.createFrom().voidItem();
+        }
+        long delayMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait + 999_999));
+        return Uni.createFrom().emitter(emitter -> vertx.setTimer(delayMillis, id -> emitter.complete(null)));
+    }
+
+    /**
+     * Adjusts the rate limiter of the given host to the limits announced in a response.
+     *
+     * @param host   the target host, or logical service name
+     * @param status the response status
+     * @param header looks up a response header by name
+     */
+    public void observe(String host, int status, Function<String, String> header) {
+        Optional<TokenBucket> bucket = bucket(host);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        long pauseMillis = pauseMillis(status, header);
+        if (pauseMillis > 0) {
+            bucket.get().pauseFor(TimeUnit.MILLISECONDS.toNanos(pauseMillis));
+        }
+    }
+
+    private Optional<TokenBucket> bucket(String host) {
+        return buckets.computeIfAbsent(host, key -> factory.rateLimitPerSecond(key)
+                .map(rate -> new TokenBucket(rate, factory.rateLimitBurst(key).orElse((int) Math.ceil(rate)))));
+    }
+
+    /**
+     * Works out how long the server asks the client to hold back.
+     *
+     * @param status the response status
+     * @param header looks up a response header by name
+     * @return the pause in milliseconds, or 0 if the server set no limit
+     */
+    static long pauseMillis(int status, Function<String, String> header) {
+        long pause = 0;
+        if (status == 429 || status == 503) {
+            pause = retryAfterMillis(header.apply("Retry-After"));
+        }
+        String remaining = header.apply("RateLimit-Remaining");
+        String reset = header.apply("RateLimit-Reset");
+        String combined = header.apply("RateLimit");
+        if (remaining == null && combined != null) {
+            remaining = parameter(combined, "remaining");
+            reset = parameter(combined, "reset");
+        }
+        if ("0".equals(trim(remaining))) {
+            pause = Math.max(pause, secondsToMillis(reset));
+        }
+        return pause;
+    }
+
+    /**
+     * Parses a {@code Retry-After} value, given either in seconds or as an HTTP date.
+     *
+     * @param value the header value, may be null
+     * @return the delay in milliseconds, or 0 if absent, invalid or in the past
+     */
+    static long retryAfterMillis(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        long seconds = secondsToMillis(value);
+        if (seconds > 0) {
+            return seconds;
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static long secondsToMillis(String value) {
+        String seconds = trim(value);
+        if (seconds == null || seconds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(seconds)));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads a parameter of the combined {@code RateLimit} header, e.g. {@code limit=100, remaining=0, reset=5}.
+     *
+     * @param value the header value
+     * @param name  the parameter name
+     * @return the parameter value, or null if absent
+     */
+    private static String parameter(String value, String name) {
+        for (String item : value.split("[,;]")) {
+            int eq = item.indexOf('=');
+            if (eq > 0 && item.substring(0, eq).trim().equalsIgnoreCase(name)) {
+                return item.substring(eq + 1).trim();
+            }
+        }
+        return null;
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.hexeditors.http.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm: the whole state is the theoretical
+ * arrival time of the next request, updated with a single compare-and-set.
+ * A permit is reserved up front and its caller waits until the returned delay has elapsed, so concurrent callers
+ * are spaced out at the configured rate instead of competing for freed tokens.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a bucket refilled at the given rate.
+     *
+     * @param permitsPerSecond the sustained request rate
+     * @param burst            the number of requests allowed at once
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier clock) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Reserves a permit unless the caller would have to wait longer than allowed.
+     *
+     * @param maxWaitNanos the longest acceptable wait in nanoseconds
+     * @return the time to wait before using the permit in nanoseconds, 0 to proceed at once,
+     * or -1 if no permit was reserved
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = clock.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    /**
+     * Holds back all permits until the given time, after which requests resume one interval apart.
+     * An earlier pause than the current one is ignored.
+     *
+     * @param untilNanos the {@link System#nanoTime()} from which requests may be sent again
+     */
+    public void pauseUntil(long untilNanos) {
+        long target = untilNanos + burstNanos - intervalNanos;
+        theoreticalArrival.accumulateAndGet(target, (current, paused) -> paused - current > 0 ? paused : current);
+    }
+
+    /**
+     * Holds back all permits for the given time from now.
+     *
+     * @param delayNanos the pause in nanoseconds
+     */
+    public void pauseFor(long delayNanos) {
+        pauseUntil(clock.getAsLong() + delayNanos);
+    }
+}
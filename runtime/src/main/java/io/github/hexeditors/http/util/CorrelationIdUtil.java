@@ -1,15 +1,21 @@
 package io.github.hexeditors.http.util;
 
 import io.github.hexeditors.http.config.CorrelationIdConfig;
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.slf4j.MDC;
 
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 /**
  * Utility for managing correlation IDs used for request tracing and logging.
- * Stores correlation IDs in MDC (Mapped Diagnostic Context) for logging purposes.
+ * When running on a Vert.x duplicated context the correlation ID is stored in the context locals, so it follows
+ * the call across Mutiny thread hops and is released together with the context. Otherwise it falls back to MDC.
  */
 @ApplicationScoped
 public class CorrelationIdUtil {
@@ -17,6 +23,9 @@ public class CorrelationIdUtil {
     @Inject
     CorrelationIdConfig config;
 
+    @Inject
+    Vertx vertx;
+
     /**
      * Gets the configured header name for correlation ID.
      *
@@ -26,21 +35,120 @@ public class CorrelationIdUtil {
         return config.header();
     }
 
+    /**
+     * Returns the correlation ID bound to the current call, if any.
+     * The duplicated context locals take precedence over MDC.
+     *
+     * @return the current correlation ID, or null if none is bound
+     */
+    public String current() {
+        String headerName = config.header();
+        if (VertxContext.isOnDuplicatedContext()) {
+            String cid = ContextLocals.get(headerName, null);
+            if (cid != null) {
+                return cid;
+            }
+        }
+        return MDC.get(headerName);
+    }
+
     /**
      * Gets an existing correlation ID or creates a new one if none exists.
-     * Checks incoming header first, then MDC, and generates a UUID if neither exists.
-     * Stores the correlation ID in MDC for logging.
+     * Checks incoming header first, then the current call context, and generates a UUID if neither exists.
+     * Stores the correlation ID in the duplicated context locals when available, otherwise in MDC.
      *
      * @param incoming the correlation ID from the incoming request header, may be null
      * @return the correlation ID to use
      */
     public String getOrCreate(String incoming) {
-        String headerName = config.header();
-        String cid = incoming != null ? incoming : MDC.get(headerName);
+        String cid = incoming != null ? incoming : current();
         if (cid == null) {
             cid = UUID.randomUUID().toString();
         }
-        MDC.put(headerName, cid);
+        if (VertxContext.isOnDuplicatedContext()) {
+            ContextLocals.put(config.header(), cid);
+        } else {
+            MDC.put(config.header(), cid);
+        }
         return cid;
     }
+
+    /**
+     * Opens a correlation scope for a single call.
+     * Resolves the correlation ID like {@link #getOrCreate(String)} and restores the previous MDC entry when closed,
+     * so pooled and virtual threads do not keep the ID of a finished call. On a duplicated context the previous
+     * context local is restored as well, so the inbound request keeps its own ID after the call.
+     *
+     * @param incoming the correlation ID from the incoming request header, may be null
+     * @return the scope holding the resolved correlation ID
+     */
+    public Scope open(String incoming) {
+        String key = config.header();
+        String previous = MDC.get(key);
+        Context context = VertxContext.isOnDuplicatedContext() ? Vertx.currentContext() : null;
+        String previousLocal = context == null ? null : context.getLocal(key);
+        return new Scope(key, getOrCreate(incoming), previous, context, previousLocal);
+    }
+
+    /**
+     * Creates an executor that runs tasks on a fresh duplicated context carrying the given correlation ID.
+     * Every Mutiny stage subscribed through it, including retries, sees the same ID via {@link #current()}.
+     * The context is discarded with the call, so nothing has to be cleared afterwards.
+     *
+     * @param cid the correlation ID to bind
+     * @return an executor dispatching onto the call context
+     */
+    public Executor callExecutor(String cid) {
+        Context context = VertxContext.createNewDuplicatedContext(vertx.getOrCreateContext());
+        context.putLocal(config.header(), cid);
+        return task -> context.runOnContext(ignored -> task.run());
+    }
+
+    /**
+     * Correlation scope returned by {@link #open(String)}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String key;
+        private final String correlationId;
+        private final String previous;
+        private final Context context;
+        private final String previousLocal;
+
+        private Scope(String key, String correlationId, String previous, Context context, String previousLocal) {
+            this.key = key;
+            this.correlationId = correlationId;
+            this.previous = previous;
+            this.context = context;
+            this.previousLocal = previousLocal;
+        }
+
+        /**
+         * Gets the correlation ID bound by this scope.
+         *
+         * @return the correlation ID
+         */
+        public String correlationId() {
+            return correlationId;
+        }
+
+        /**
+         * Restores the MDC entry and duplicated context local that were present when the scope was opened.
+         */
+        @Override
+        public void close() {
+            if (context != null) {
+                if (previousLocal == null) {
+                    context.removeLocal(key);
+                } else {
+                    context.putLocal(key, previousLocal);
+                }
+            }
+            if (previous == null) {
+                MDC.remove(key);
+            } else {
+                MDC.put(key, previous);
+            }
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package io.github.hexeditors.http.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a call has to complete, measured on the monotonic clock.
+ * Deadlines are immutable; {@link #none()} represents a call without an overall bound.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(false, 0);
+
+    /**
+     * The largest budget, about 146 years, kept well within the range where nanoTime differences do not overflow.
+     */
+    private static final long MAX_BUDGET_NANOS = Long.MAX_VALUE / 2;
+
+    private final boolean bounded;
+    private final long expiresAtNanos;
+
+    private Deadline(boolean bounded, long expiresAtNanos) {
+        this.bounded = bounded;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Returns the deadline of a call without an overall bound.
+     *
+     * @return the unbounded deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Creates a deadline the given number of milliseconds from now.
+     * Budgets too large to measure on the monotonic clock are capped rather than overflowing into the past.
+     *
+     * @param millis the time budget in milliseconds
+     * @return the deadline
+     */
+    public static Deadline after(long millis) {
+        long budget = Math.min(TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis)), MAX_BUDGET_NANOS);
+        return new Deadline(true, System.nanoTime() + budget);
+    }
+
+    /**
+     * Whether this deadline bounds the call at all.
+     *
+     * @return true unless this is {@link #none()}
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Whether the deadline has passed.
+     *
+     * @return true if no time is left
+     */
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Gets the time left until the deadline, rounded up to whole milliseconds.
+     *
+     * @return the remaining milliseconds, zero once expired, or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long remainingMillis() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = expiresAtNanos - System.nanoTime();
+        if (remaining <= 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(remaining + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    /**
+     * Returns whichever of the two deadlines expires first.
+     *
+     * @param other the other deadline, may be null
+     * @return the earlier deadline
+     */
+    public Deadline earliest(Deadline other) {
+        if (other == null || !other.bounded) {
+            return this;
+        }
+        if (!bounded) {
+            return other;
+        }
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + remainingMillis() + "ms]" : "Deadline[none]";
+    }
+}
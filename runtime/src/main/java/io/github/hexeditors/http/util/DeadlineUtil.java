@@ -0,0 +1,98 @@
+package io.github.hexeditors.http.util;
+
+import io.github.hexeditors.http.config.DeadlineConfig;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Utility for managing call deadlines shared by all attempts of a call.
+ * The deadline of an inbound HTTP request is read from the configured header and stored in the duplicated context
+ * locals, so client calls made while serving the request never outlive the caller's own budget.
+ */
+@ApplicationScoped
+public class DeadlineUtil {
+
+    private static final String CONTEXT_KEY = Deadline.class.getName();
+
+    @Inject
+    DeadlineConfig config;
+
+    /**
+     * Gets the configured header name for deadlines.
+     *
+     * @return the header name
+     */
+    public String getHeaderName() {
+        return config.header();
+    }
+
+    /**
+     * Whether the remaining budget is sent to the upstream.
+     *
+     * @return true if the deadline is propagated
+     */
+    public boolean isPropagated() {
+        return config.propagate();
+    }
+
+    /**
+     * Returns the deadline bound to the current inbound request, if any.
+     *
+     * @return the inbound deadline, or {@link Deadline#none()} if none is bound
+     */
+    public Deadline current() {
+        if (VertxContext.isOnDuplicatedContext()) {
+            return ContextLocals.get(CONTEXT_KEY, Deadline.none());
+        }
+        return Deadline.none();
+    }
+
+    /**
+     * Computes the deadline of a new outbound call.
+     * It is the earlier of the configured call budget and the deadline of the current inbound request.
+     *
+     * @return the deadline of the call
+     */
+    public Deadline forCall() {
+        Deadline configured = config.timeoutMillis()
+                .map(Deadline::after)
+                .orElse(Deadline.none());
+        return configured.earliest(current());
+    }
+
+    /**
+     * Binds the deadline carried by an inbound header value to the current duplicated context.
+     * Missing or malformed values are ignored, as is a call outside a duplicated context.
+     *
+     * @param headerValue the remaining budget in milliseconds, may be null
+     */
+    public void bind(String headerValue) {
+        if (headerValue == null || !VertxContext.isOnDuplicatedContext()) {
+            return;
+        }
+        try {
+            ContextLocals.put(CONTEXT_KEY, Deadline.after(Long.parseLong(headerValue.trim())));
+        } catch (NumberFormatException ignored) {
+            // a malformed deadline must not fail the inbound request
+        }
+    }
+
+    /**
+     * Registers the filter that reads the deadline header of inbound HTTP requests.
+     *
+     * @param filters the HTTP filters of the application
+     */
+    void registerInboundFilter(@Observes Filters filters) {
+        if (!config.inbound()) {
+            return;
+        }
+        filters.register(rc -> {
+            bind(rc.request().getHeader(config.header()));
+            rc.next();
+        }, 100);
+    }
+}
@@ -0,0 +1,245 @@
+package io.github.hexeditors.http.util;
+
+import io.github.hexeditors.http.config.HttpClientConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns request URLs into route templates, such as {@code https://api.example.com/users/{id}/orders/{id}} for
+ * {@code https://api.example.com/users/123/orders/9?expand=items}, so audit events and logs carry a bounded set of
+ * values and no query strings.
+ * Paths are matched against the configured templates first, in order; otherwise every segment that looks like an
+ * identifier (numbers, UUIDs, hex or opaque tokens, e-mail addresses, encoded values) becomes {@code {id}}.
+ * Results are kept in a bounded LRU cache keyed by the URL without its query string.
+ */
+@ApplicationScoped
+public class UrlTemplates {
+
+    /**
+     * The placeholder replacing identifier segments.
+     */
+    public static final String ID = "{id}";
+
+    @Inject
+    HttpClientConfig config;
+
+    private volatile Settings settings;
+
+    /**
+     * Gets the route template of a URL.
+     *
+     * @param url the request URL, absolute or a bare path, may be null
+     * @return the URL with its path templated and its query string and fragment removed
+     */
+    public String template(String url) {
+        if (url == null) {
+            return null;
+        }
+        String base = stripQuery(url);
+        Settings current = settings();
+        if (current.cache == null) {
+            return compute(current, base);
+        }
+        synchronized (current.cache) {
+            String cached = current.cache.get(base);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String template = compute(current, base);
+        synchronized (current.cache) {
+            current.cache.put(base, template);
+        }
+        return template;
+    }
+
+    /**
+     * Removes the query string and fragment of a URL.
+     *
+     * @param url the URL
+     * @return the URL up to its first '?' or '#'
+     */
+    static String stripQuery(String url) {
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '?' || c == '#') {
+                return url.substring(0, i);
+            }
+        }
+        return url;
+    }
+
+    private static String compute(Settings settings, String url) {
+        int pathStart = pathStart(url);
+        String origin = url.substring(0, pathStart);
+        String[] segments = segments(url.substring(pathStart));
+
+        for (Template template : settings.templates) {
+            if (template.matches(segments)) {
+                return origin + template.text;
+            }
+        }
+
+        StringBuilder out = new StringBuilder(url.length()).append(origin);
+        for (String segment : segments) {
+            out.append('/').append(isIdentifier(segment) ? ID : segment);
+        }
+        if (url.endsWith("/") && segments.length > 0) {
+            out.append('/');
+        }
+        if (out.length() == origin.length()) {
+            out.append('/');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Finds where the path of a URL starts, after its scheme and authority if any.
+     */
+    private static int pathStart(String url) {
+        int scheme = url.indexOf("://");
+        if (scheme < 0) {
+            return 0;
+        }
+        int slash = url.indexOf('/', scheme + 3);
+        return slash < 0 ? url.length() : slash;
+    }
+
+    private static String[] segments(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Whether a path segment looks like an identifier rather than a route name.
+     *
+     * @param segment the path segment
+     * @return true if the segment should be templated
+     */
+    static boolean isIdentifier(String segment) {
+        int digits = 0;
+        int hex = 0;
+        boolean token = true;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '@' || c == '%') {
+                return true;
+            }
+            if (c >= '0' && c <= '9') {
+                digits++;
+                hex++;
+            } else if ((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) {
+                hex++;
+            } else if (!(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && c != '-' && c != '_') {
+                token = false;
+            }
+        }
+        int length = segment.length();
+        if (digits == 0) {
+            return false;
+        }
+        return digits == length
+                || isUuid(segment)
+                || (hex == length && length >= 8)
+                || (token && length >= 16)
+                || 2 * digits > length && length > 3;
+    }
+
+    private static boolean isUuid(String segment) {
+        if (segment.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = segment.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the settings, resolving them from the configuration on first use.
+     *
+     * @return the settings
+     */
+    private Settings settings() {
+        Settings current = settings;
+        if (current == null) {
+            synchronized (this) {
+                current = settings;
+                if (current == null) {
+                    current = new Settings(config);
+                    settings = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * The configured templates, parsed, and the result cache.
+     */
+    private static final class Settings {
+
+        final List<Template> templates = new ArrayList<>();
+        final Map<String, String> cache;
+
+        Settings(HttpClientConfig config) {
+            config.urlTemplates().ifPresent(list -> list.forEach(text -> templates.add(new Template(text))));
+            int size = config.urlTemplateCacheSize();
+            cache = size <= 0 ? null : new LinkedHashMap<>(Math.min(size, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > size;
+                }
+            };
+        }
+    }
+
+    /**
+     * A configured route template; segments in braces match any single path segment, others match literally.
+     */
+    private static final class Template {
+
+        final String text;
+        final String[] segments;
+
+        Template(String text) {
+            String path = text.startsWith("/") ? text : "/" + text;
+            this.text = path;
+            this.segments = segments(path);
+        }
+
+        boolean matches(String[] path) {
+            if (path.length != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < path.length; i++) {
+                String segment = segments[i];
+                boolean variable = segment.startsWith("{") && segment.endsWith("}");
+                if (!variable && !segment.equals(path[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.hexeditors.http.api;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -117,4 +118,16 @@ class TestHttpResponse {
         assertNotNull(str);
         assertTrue(str.contains("HttpResponse"));
     }
+
+    @Test
+    void testHeaderValuesFromPlainMap() {
+        HttpResponse<Void> response = HttpResponse.<Void>builder()
+                .statusCode(200)
+                .headers(Map.of("Content-Type", "application/json"))
+                .build();
+
+        assertEquals(List.of("application/json"), response.getHeaderValues("Content-Type"));
+        assertEquals(List.of(), response.getHeaderValues("Accept"));
+        assertEquals(List.of(), HttpResponse.<Void>builder().build().getHeaderValues("Accept"));
+    }
 }
@@ -1,5 +1,10 @@
 package io.github.hexeditors.http.audit;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 public class AuditConfigTestImpl implements AuditConfig {
 
     @Override
@@ -21,4 +26,41 @@ public class AuditConfigTestImpl implements AuditConfig {
     public String serviceName() {
         return "test-service";
     }
+
+    @Override
+    public Optional<Long> aggregationWindowMillis() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Set<AuditCategory> perEventCategories() {
+        return Set.of(AuditCategory.PCI);
+    }
+
+    @Override
+    public int aggregationSampleSize() {
+        return 5;
+    }
+
+    @Override
+    public int aggregationMaxKeys() {
+        return 10000;
+    }
+
+    @Override
+    public Map<String, AuditSinkConfig> sinks() {
+        return withDefaults(Map.of());
+    }
+
+    /**
+     * Returns default sink settings for sinks not in the map, as the config mapping does.
+     */
+    static Map<String, AuditSinkConfig> withDefaults(Map<String, AuditSinkConfig> sinks) {
+        return new HashMap<>(sinks) {
+            @Override
+            public AuditSinkConfig get(Object key) {
+                return getOrDefault(key, new AuditSinkConfigTestImpl());
+            }
+        };
+    }
 }
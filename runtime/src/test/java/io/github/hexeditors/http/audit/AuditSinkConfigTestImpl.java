@@ -0,0 +1,67 @@
+package io.github.hexeditors.http.audit;
+
+import java.util.Optional;
+import java.util.Set;
+
+public class AuditSinkConfigTestImpl implements AuditSinkConfig {
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    @Override
+    public Optional<Set<AuditCategory>> categories() {
+        return Optional.empty();
+    }
+
+    @Override
+    public AuditSeverity minSeverity() {
+        return AuditSeverity.INFO;
+    }
+
+    @Override
+    public int queueCapacity() {
+        return 100;
+    }
+
+    @Override
+    public int errorBudget() {
+        return 10;
+    }
+
+    @Override
+    public long errorWindowMillis() {
+        return 60000;
+    }
+
+    @Override
+    public long suspendMillis() {
+        return 60000;
+    }
+
+    @Override
+    public Optional<String> spoolDirectory() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Set<AuditCategory> spoolCategories() {
+        return Set.of(AuditCategory.PCI);
+    }
+
+    @Override
+    public long spoolSegmentBytes() {
+        return 4096;
+    }
+
+    @Override
+    public long spoolMaxBytes() {
+        return 1048576;
+    }
+
+    @Override
+    public int spoolDrainRate() {
+        return 1000;
+    }
+}
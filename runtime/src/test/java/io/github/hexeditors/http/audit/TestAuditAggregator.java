@@ -0,0 +1,99 @@
+package io.github.hexeditors.http.audit;
+
+import io.github.hexeditors.http.pii.PiiLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TestAuditAggregator {
+
+    private final AuditSink sink = mock(AuditSink.class);
+    private AuditAggregator aggregator;
+
+    private AuditAggregator aggregator(int sampleSize, int maxKeys) {
+        aggregator = new AuditAggregator(sink, new AuditPolicy(), "test-service", 3_600_000, sampleSize, maxKeys);
+        return aggregator;
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.close();
+    }
+
+    @Test
+    void testRollsUpIdenticalEvents() {
+        AuditAggregator aggregator = aggregator(2, 100);
+        Instant t0 = Instant.parse("2024-01-01T00:00:00Z");
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(aggregator.add(t0.plusSeconds(i), AuditCategory.GDPR, "HTTP_CLIENT_CALL", "GET", "/users",
+                    200, "cid-" + i, PiiLevel.MEDIUM));
+        }
+        aggregator.add(t0, AuditCategory.GDPR, "HTTP_CLIENT_CALL", "GET", "/users", 404, "cid-x", PiiLevel.MEDIUM);
+        verifyNoInteractions(sink);
+
+        aggregator.flush();
+
+        ArgumentCaptor<AuditEvent> events = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(sink, times(2)).publish(events.capture());
+        AuditEvent summary = events.getAllValues().stream()
+                .filter(e -> e.getHttpStatus() == 200)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("10", summary.getMetadata().get("count"));
+        assertEquals(t0, summary.getTimestamp());
+        assertEquals(t0.toString(), summary.getMetadata().get("firstTimestamp"));
+        assertEquals(t0.plusSeconds(9).toString(), summary.getMetadata().get("lastTimestamp"));
+        List<String> sample = List.of(summary.getMetadata().get("correlationIds").split(","));
+        assertEquals(2, sample.size());
+        assertTrue(sample.stream().allMatch(cid -> cid.startsWith("cid-")));
+        assertEquals(sample.get(0), summary.getCorrelationId());
+        assertEquals(AuditSeverity.INFO, summary.getSeverity());
+        assertEquals("MEDIUM", summary.getPiiLevel());
+        assertEquals("test-service", summary.getServiceName());
+    }
+
+    @Test
+    void testStartsNewWindowAfterFlush() {
+        AuditAggregator aggregator = aggregator(5, 100);
+        Instant now = Instant.now();
+
+        aggregator.add(now, AuditCategory.GDPR, "op", "GET", "/a", 200, "c1", PiiLevel.HIGH);
+        aggregator.flush();
+        aggregator.flush();
+        aggregator.add(now, AuditCategory.GDPR, "op", "GET", "/a", 200, "c2", PiiLevel.HIGH);
+        aggregator.flush();
+
+        ArgumentCaptor<AuditEvent> events = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(sink, times(2)).publish(events.capture());
+        assertEquals(Set.of("c1", "c2"), Set.of(events.getAllValues().get(0).getCorrelationId(),
+                events.getAllValues().get(1).getCorrelationId()));
+    }
+
+    @Test
+    void testRefusesKeysBeyondBound() {
+        AuditAggregator aggregator = aggregator(5, 1);
+        Instant now = Instant.now();
+
+        assertTrue(aggregator.add(now, AuditCategory.GDPR, "op", "GET", "/a", 200, "c1", PiiLevel.HIGH));
+        assertFalse(aggregator.add(now, AuditCategory.GDPR, "op", "GET", "/b", 200, "c2", PiiLevel.HIGH));
+        assertTrue(aggregator.add(now, AuditCategory.GDPR, "op", "GET", "/a", 200, "c3", PiiLevel.HIGH));
+    }
+
+    @Test
+    void testPublishesOpenWindowsOnClose() {
+        AuditAggregator aggregator = aggregator(5, 100);
+
+        aggregator.add(Instant.now(), AuditCategory.GDPR, "op", "GET", "/a", 200, "c1", PiiLevel.HIGH);
+        aggregator.close();
+
+        verify(sink).publish(any());
+    }
+}
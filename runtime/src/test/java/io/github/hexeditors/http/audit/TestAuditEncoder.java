@@ -0,0 +1,128 @@
+package io.github.hexeditors.http.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAuditEncoder {
+
+    private static AuditEvent event(Instant timestamp, String url) {
+        return AuditEvent.builder()
+                .timestamp(timestamp)
+                .category(AuditCategory.PCI)
+                .severity(AuditSeverity.CRITICAL)
+                .serviceName("payments")
+                .operation("HTTP_CLIENT_CALL")
+                .correlationId("cid-1")
+                .httpMethod("POST")
+                .url(url)
+                .httpStatus(201)
+                .piiLevel("SECRET")
+                .metadata(Map.of("tenant", "acme"))
+                .build();
+    }
+
+    @Test
+    void testEncodesJsonLine() throws Exception {
+        AuditEncoder encoder = new AuditEncoder();
+        encoder.jsonLine(event(Instant.parse("2024-02-29T23:59:58.123456Z"), "https://x.test/a?q=\"1\"\né😀"));
+
+        String line = encoder.toString();
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(1, line.chars().filter(c -> c == '\n').count());
+
+        JsonNode json = new ObjectMapper().readTree(line);
+        assertEquals("2024-02-29T23:59:58.123Z", json.get("timestamp").asText());
+        assertEquals("PCI", json.get("category").asText());
+        assertEquals("CRITICAL", json.get("severity").asText());
+        assertEquals("payments", json.get("service").asText());
+        assertEquals("HTTP_CLIENT_CALL", json.get("operation").asText());
+        assertEquals("POST", json.get("method").asText());
+        assertEquals("https://x.test/a?q=\"1\"\né😀", json.get("url").asText());
+        assertEquals(201, json.get("status").asInt());
+        assertEquals("SECRET", json.get("piiLevel").asText());
+        assertEquals("cid-1", json.get("cid").asText());
+        assertEquals("acme", json.get("metadata").get("tenant").asText());
+    }
+
+    @Test
+    void testEncodesTimestampsLikeInstant() {
+        AuditEncoder encoder = new AuditEncoder();
+        for (String text : new String[]{"1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "2000-03-01T00:00:00.001Z",
+                "2100-12-31T12:30:45.500Z", "0001-01-01T00:00:00Z"}) {
+            Instant instant = Instant.parse(text);
+            String json = encoder.reset().json(AuditEvent.builder().timestamp(instant).build()).toString();
+            String encoded = json.substring(json.indexOf(':') + 2, json.indexOf('"', json.indexOf(':') + 2));
+            assertEquals(instant, Instant.parse(encoded), text);
+        }
+    }
+
+    @Test
+    void testEncodesNullFields() throws Exception {
+        AuditEncoder encoder = new AuditEncoder();
+        JsonNode json = new ObjectMapper().readTree(encoder.json(AuditEvent.builder().build()).toString());
+
+        assertTrue(json.get("timestamp").isNull());
+        assertTrue(json.get("category").isNull());
+        assertTrue(json.get("url").isNull());
+        assertFalse(json.has("metadata"));
+    }
+
+    @Test
+    void testBinaryRecordsRoundTrip() throws Exception {
+        AuditEncoder encoder = new AuditEncoder(16);
+        AuditEvent first = event(Instant.parse("2024-01-31T09:30:00.123456789Z"), "https://x.test/é😀");
+        AuditEvent second = AuditEvent.builder().category(AuditCategory.GDPR).httpStatus(-1).build();
+
+        encoder.binary(first).binary(second);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeTo(out);
+        byte[] bytes = out.toByteArray();
+
+        int next = AuditEncoder.recordLength(bytes, 0);
+        assertEquals(first, AuditEncoder.decode(bytes, 0));
+        assertEquals(second, AuditEncoder.decode(bytes, next));
+        assertEquals(bytes.length, next + AuditEncoder.recordLength(bytes, next));
+    }
+
+    @Test
+    void testBinaryRecordsHoldEnumNames() {
+        AuditEncoder encoder = new AuditEncoder().binary(event(Instant.now(), "https://x.test"));
+        String record = new String(encoder.buffer(), 0, encoder.length(), StandardCharsets.ISO_8859_1);
+
+        assertEquals(AuditEncoder.BINARY_VERSION, encoder.buffer()[4]);
+        assertTrue(record.contains(AuditCategory.PCI.name()));
+        assertTrue(record.contains(AuditSeverity.CRITICAL.name()));
+    }
+
+    @Test
+    void testRejectsTruncatedRecord() {
+        AuditEncoder encoder = new AuditEncoder().binary(event(Instant.now(), "https://x.test"));
+        byte[] bytes = Arrays.copyOf(encoder.buffer(), encoder.length());
+        bytes[3] -= 10;
+
+        assertThrows(IllegalArgumentException.class, () -> AuditEncoder.decode(bytes, 0));
+    }
+
+    @Test
+    void testReusesBuffer() {
+        AuditEncoder encoder = new AuditEncoder();
+        AuditEvent event = event(Instant.now(), "https://x.test/users");
+
+        encoder.json(event);
+        byte[] buffer = encoder.buffer();
+        String first = encoder.toString();
+        encoder.reset().json(event);
+
+        assertSame(buffer, encoder.buffer());
+        assertEquals(first, new String(encoder.buffer(), 0, encoder.length(), StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,11 @@ package io.github.hexeditors.http.audit;
 import io.github.hexeditors.http.TestInjectionUtil;
 import io.github.hexeditors.http.pii.PiiLevel;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class TestAuditPublisher {
@@ -101,7 +105,7 @@ class TestAuditPublisher {
 
         AuditSink sink = mock(AuditSink.class);
         AuditPolicy policy = new AuditPolicy();
-        AuditConfig config = new AuditConfig() {
+        AuditConfig config = new AuditConfigTestImpl() {
             @Override
             public boolean enabled() {
                 return false;
@@ -137,4 +141,53 @@ class TestAuditPublisher {
 
         verify(sink, never()).publish(any());
     }
+
+    @Test
+    void requiresPiiLevelOnlyWhenAuditing() {
+
+        AuditPublisher enabled = new AuditPublisher();
+        TestInjectionUtil.inject(enabled, new AuditConfigTestImpl());
+
+        AuditPublisher disabled = new AuditPublisher();
+        TestInjectionUtil.inject(disabled, new AuditConfigTestImpl() {
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+        });
+
+        assertTrue(enabled.requiresPiiLevel());
+        assertFalse(disabled.requiresPiiLevel());
+    }
+
+    @Test
+    void aggregatesGdprButKeepsPciPerEvent() {
+
+        AuditSink sink = mock(AuditSink.class);
+        AuditPolicy policy = new AuditPolicy();
+        AuditConfig config = new AuditConfigTestImpl() {
+            @Override
+            public Optional<Long> aggregationWindowMillis() {
+                return Optional.of(3_600_000L);
+            }
+        };
+
+        AuditPublisher publisher = new AuditPublisher();
+        TestInjectionUtil.inject(publisher, sink, policy, config);
+
+        for (int i = 0; i < 3; i++) {
+            publisher.publishIfRequired("HTTP_CLIENT_CALL", "POST", "/pay", 200, "cid-" + i, PiiLevel.SECRET);
+        }
+
+        ArgumentCaptor<AuditEvent> events = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(sink, times(3)).publish(events.capture());
+        assertTrue(events.getAllValues().stream().allMatch(e -> e.getCategory() == AuditCategory.PCI));
+
+        publisher.close();
+
+        verify(sink, times(4)).publish(events.capture());
+        AuditEvent summary = events.getAllValues().get(events.getAllValues().size() - 1);
+        assertEquals(AuditCategory.GDPR, summary.getCategory());
+        assertEquals("3", summary.getMetadata().get("count"));
+    }
 }
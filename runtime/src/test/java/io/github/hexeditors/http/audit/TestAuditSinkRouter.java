@@ -0,0 +1,418 @@
+package io.github.hexeditors.http.audit;
+
+import io.github.hexeditors.http.TestInjectionUtil;
+import jakarta.enterprise.inject.Instance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TestAuditSinkRouter {
+
+    private AuditSinkRouter router;
+
+    private static AuditEvent event(AuditCategory category, AuditSeverity severity) {
+        return AuditEvent.builder().category(category).severity(severity).url("/pay").build();
+    }
+
+    private static AuditSink sink(String name) {
+        AuditSink sink = mock(AuditSink.class);
+        when(sink.name()).thenReturn(name);
+        return sink;
+    }
+
+    @SuppressWarnings("unchecked")
+    private AuditSinkRouter router(Map<String, AuditSinkConfig> settings, AuditSink... sinks) {
+        Instance<AuditSink> instance = mock(Instance.class);
+        when(instance.iterator()).thenReturn(List.of(sinks).iterator());
+        router = new AuditSinkRouter();
+        TestInjectionUtil.inject(router, instance, new AuditConfigTestImpl() {
+            @Override
+            public Map<String, AuditSinkConfig> sinks() {
+                return withDefaults(settings);
+            }
+        });
+        return router;
+    }
+
+    private static AuditSinkConfig settings(Set<AuditCategory> categories, AuditSeverity minSeverity, int capacity,
+                                            int budget) {
+        return new AuditSinkConfigTestImpl() {
+            @Override
+            public Optional<Set<AuditCategory>> categories() {
+                return Optional.ofNullable(categories);
+            }
+
+            @Override
+            public AuditSeverity minSeverity() {
+                return minSeverity;
+            }
+
+            @Override
+            public int queueCapacity() {
+                return capacity;
+            }
+
+            @Override
+            public int errorBudget() {
+                return budget;
+            }
+        };
+    }
+
+    private static AuditSinkConfig spooled(Path dir, int drainRate) {
+        return spooled(dir, drainRate, 100);
+    }
+
+    private static AuditSinkConfig spooled(Path dir, int drainRate, int capacity) {
+        return new AuditSinkConfigTestImpl() {
+            @Override
+            public int queueCapacity() {
+                return capacity;
+            }
+
+            @Override
+            public int errorBudget() {
+                return 1;
+            }
+
+            @Override
+            public long suspendMillis() {
+                return 100;
+            }
+
+            @Override
+            public Optional<String> spoolDirectory() {
+                return Optional.of(dir.toString());
+            }
+
+            @Override
+            public int spoolDrainRate() {
+                return drainRate;
+            }
+        };
+    }
+
+    /**
+     * A sink recording the correlation IDs it accepts, failing while down and holding deliveries while gated.
+     */
+    private static final class FlakySink implements AuditSink {
+
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger failures = new AtomicInteger();
+        volatile boolean down;
+        volatile CountDownLatch gate;
+
+        @Override
+        public void publish(AuditEvent event) {
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (down) {
+                failures.incrementAndGet();
+                throw new IllegalStateException("down");
+            }
+            received.add(event.getCorrelationId());
+        }
+
+        @Override
+        public String name() {
+            return "vault";
+        }
+    }
+
+    private static AuditEvent event(AuditCategory category, String cid) {
+        return AuditEvent.builder().category(category).severity(AuditSeverity.INFO).correlationId(cid).build();
+    }
+
+    private static void await(List<String> received, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void testRoutesByCategoryAndSeverity() {
+        AuditSink logging = sink("logging");
+        AuditSink vault = sink("vault");
+        AuditSink disabled = sink("disabled");
+        router(Map.of(
+                "vault", settings(Set.of(AuditCategory.PCI), AuditSeverity.WARN, 100, 10),
+                "disabled", new AuditSinkConfigTestImpl() {
+                    @Override
+                    public boolean enabled() {
+                        return false;
+                    }
+                }
+        ), logging, vault, disabled);
+
+        AuditEvent gdpr = event(AuditCategory.GDPR, AuditSeverity.CRITICAL);
+        AuditEvent pciInfo = event(AuditCategory.PCI, AuditSeverity.INFO);
+        AuditEvent pciCritical = event(AuditCategory.PCI, AuditSeverity.CRITICAL);
+        router.publish(gdpr);
+        router.publish(pciInfo);
+        router.publish(pciCritical);
+        router.close();
+
+        verify(logging).publish(gdpr);
+        verify(logging).publish(pciInfo);
+        verify(logging).publish(pciCritical);
+        verify(vault).publish(pciCritical);
+        verify(vault, times(1)).publish(any());
+        verify(disabled, never()).publish(any());
+    }
+
+    @Test
+    void testIsolatesFailingAndSlowSinks() throws Exception {
+        AuditSink failing = sink("failing");
+        doThrow(new IllegalStateException("down")).when(failing).publish(any());
+        CountDownLatch release = new CountDownLatch(1);
+        AuditSink slow = sink("slow");
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(slow).publish(any());
+        AuditSink healthy = sink("healthy");
+        router(Map.of("slow", settings(null, AuditSeverity.INFO, 1, 10)), failing, slow, healthy);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertDoesNotThrow(() -> router.publish(event(AuditCategory.GDPR, AuditSeverity.INFO)));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        verify(healthy, timeout(2000).times(20)).publish(any());
+        AuditSinkWorker slowWorker = router.workers().stream()
+                .filter(w -> w.name().equals("slow"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(slowWorker.dropped() >= 18);
+        release.countDown();
+    }
+
+    @Test
+    void testSuspendsSinkOverErrorBudget() {
+        AuditSink failing = sink("failing");
+        doThrow(new IllegalStateException("down")).when(failing).publish(any());
+        router(Map.of("failing", settings(null, AuditSeverity.INFO, 100, 2)), failing);
+
+        for (int i = 0; i < 10; i++) {
+            router.publish(event(AuditCategory.GDPR, AuditSeverity.INFO));
+        }
+        router.close();
+
+        verify(failing, times(3)).publish(any());
+        assertEquals(7, router.workers().get(0).dropped());
+    }
+
+    @Test
+    void testSkipsItself() {
+        AuditSink logging = sink("logging");
+        router(Map.of(), logging, sink("router"));
+
+        assertEquals(1, router.workers().size());
+    }
+
+    @Test
+    void testSpoolsPciEventsWhileSinkIsDown(@TempDir Path dir) throws Exception {
+        FlakySink vault = new FlakySink();
+        vault.down = true;
+        router(Map.of("vault", spooled(dir, 1000)), vault);
+
+        for (int i = 0; i < 5; i++) {
+            router.publish(event(AuditCategory.PCI, "pci-" + i));
+        }
+        router.publish(event(AuditCategory.GDPR, "gdpr"));
+        Thread.sleep(200);
+        assertTrue(vault.received.isEmpty());
+
+        vault.down = false;
+        router.publish(event(AuditCategory.PCI, "pci-5"));
+        await(vault.received, 6);
+
+        assertEquals(List.of("pci-0", "pci-1", "pci-2", "pci-3", "pci-4", "pci-5"), vault.received);
+    }
+
+    @Test
+    void testDrainsSpoolAfterRestartAtBoundedRate(@TempDir Path dir) throws Exception {
+        FlakySink down = new FlakySink();
+        down.down = true;
+        router(Map.of("vault", spooled(dir, 1000)), down);
+        for (int i = 0; i < 10; i++) {
+            router.publish(event(AuditCategory.PCI, "pci-" + i));
+        }
+        router.close();
+
+        FlakySink vault = new FlakySink();
+        long start = System.nanoTime();
+        router(Map.of("vault", spooled(dir, 20)), vault);
+        router.workers();
+        await(vault.received, 10);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add("pci-" + i);
+        }
+        assertEquals(expected, vault.received);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    @Test
+    void testLiveTrafficAboveDrainRateDoesNotBuildBacklog(@TempDir Path dir) throws Exception {
+        FlakySink vault = new FlakySink();
+        vault.down = true;
+        router(Map.of("vault", spooled(dir, 10, 1000)), vault);
+        router.publish(event(AuditCategory.PCI, "pci-0"));
+        // back up before the spool is retried, which would fail again and suspend the sink
+        while (vault.failures.get() == 0) {
+            Thread.sleep(1);
+        }
+        vault.down = false;
+
+        List<String> expected = new ArrayList<>(List.of("pci-0"));
+        long start = System.nanoTime();
+        for (int i = 1; i <= 300; i++) {
+            router.publish(event(AuditCategory.PCI, "pci-" + i));
+            expected.add("pci-" + i);
+            if (i % 10 == 0) {
+                Thread.sleep(5);
+            }
+        }
+        await(vault.received, expected.size());
+
+        // at the drain rate alone, 301 events would take 30 seconds
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(expected, vault.received);
+        assertEquals(0, router.workers().get(0).dropped());
+    }
+
+    @Test
+    void testSpoolsOverflowOnWorkerInOrder(@TempDir Path dir) throws Exception {
+        FlakySink vault = new FlakySink();
+        CountDownLatch gate = new CountDownLatch(1);
+        vault.gate = gate;
+        router(Map.of("vault", spooled(dir, 1000, 2)), vault);
+
+        long start = System.nanoTime();
+        router.publish(event(AuditCategory.PCI, "pci-0"));
+        Thread.sleep(100);
+        for (int i = 1; i < 5; i++) {
+            router.publish(event(AuditCategory.PCI, "pci-" + i));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        vault.gate = null;
+        gate.countDown();
+        await(vault.received, 5);
+
+        assertEquals(List.of("pci-0", "pci-1", "pci-2", "pci-3", "pci-4"), vault.received);
+        assertEquals(0, router.workers().get(0).dropped());
+    }
+
+    @Test
+    void testOverflowOfHealthySinkIsNotHeldToDrainRate(@TempDir Path dir) throws Exception {
+        FlakySink vault = new FlakySink();
+        CountDownLatch gate = new CountDownLatch(1);
+        vault.gate = gate;
+        router(Map.of("vault", spooled(dir, 1, 20)), vault);
+
+        List<String> expected = new ArrayList<>(List.of("pci-0"));
+        router.publish(event(AuditCategory.PCI, "pci-0"));
+        Thread.sleep(100);
+        for (int i = 1; i < 40; i++) {
+            router.publish(event(AuditCategory.PCI, "pci-" + i));
+            expected.add("pci-" + i);
+        }
+        long start = System.nanoTime();
+        vault.gate = null;
+        gate.countDown();
+        await(vault.received, expected.size());
+
+        // at one event per second, the overflow alone would take 19 seconds
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+        assertEquals(expected, vault.received);
+    }
+
+    @Test
+    void testCloseDoesNotWaitForSinkThatNeverReturns(@TempDir Path dir) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AuditSink hung = new AuditSink() {
+            @Override
+            public void publish(AuditEvent event) {
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                        // a hung sink does not answer interrupts either
+                    }
+                }
+            }
+
+            @Override
+            public String name() {
+                return "vault";
+            }
+        };
+        AuditSink logging = sink("logging");
+        router(Map.of("vault", spooled(dir, 1000)), hung, logging);
+        try {
+            router.publish(event(AuditCategory.PCI, "pci-0"));
+            Thread.sleep(100);
+            router.publish(event(AuditCategory.PCI, "pci-1"));
+            router.publish(event(AuditCategory.GDPR, "gdpr"));
+            router.publish(event(AuditCategory.PCI, "pci-2"));
+
+            long start = System.nanoTime();
+            router.close();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(6));
+
+            verify(logging, times(4)).publish(any());
+            assertEquals(1, router.workers().get(0).dropped());
+            AuditSpool spool = new AuditSpool(dir, 1 << 20, 1 << 20);
+            List<String> spooled = new ArrayList<>();
+            AuditEvent event;
+            while ((event = spool.peek()) != null) {
+                spooled.add(event.getCorrelationId());
+                spool.remove();
+            }
+            spool.close();
+            assertEquals(List.of("pci-1", "pci-2"), spooled);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testKeepsWorkingAfterSinkThrowsError() {
+        AuditSink broken = sink("broken");
+        AuditEvent first = event(AuditCategory.GDPR, "first");
+        AuditEvent second = event(AuditCategory.GDPR, "second");
+        doThrow(new StackOverflowError()).when(broken).publish(first);
+        router(Map.of(), broken);
+
+        router.publish(first);
+        router.publish(second);
+
+        verify(broken, timeout(2000)).publish(second);
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.hexeditors.http.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAuditSpool {
+
+    @TempDir
+    Path dir;
+
+    private static AuditEvent event(int i) {
+        return AuditEvent.builder()
+                .category(AuditCategory.PCI)
+                .severity(AuditSeverity.CRITICAL)
+                .correlationId("cid-" + i)
+                .url("/pay")
+                .httpStatus(201)
+                .build();
+    }
+
+    private static List<String> drain(AuditSpool spool) throws IOException {
+        List<String> cids = new ArrayList<>();
+        AuditEvent event;
+        while ((event = spool.peek()) != null) {
+            cids.add(event.getCorrelationId());
+            spool.remove();
+        }
+        return cids;
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void testReadsEventsInOrderAcrossSegments() throws Exception {
+        AuditSpool spool = new AuditSpool(dir, 100, 1 << 20);
+        assertTrue(spool.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(spool.append(event(i)));
+        }
+        assertFalse(spool.isEmpty());
+        assertTrue(segments() > 1);
+
+        assertEquals(event(0), spool.peek());
+        assertEquals(event(0), spool.peek());
+        assertEquals(List.of("cid-0", "cid-1", "cid-2", "cid-3", "cid-4", "cid-5", "cid-6", "cid-7", "cid-8", "cid-9"),
+                drain(spool));
+        assertTrue(spool.isEmpty());
+        assertEquals(0, segments());
+
+        spool.append(event(10));
+        assertEquals(List.of("cid-10"), drain(spool));
+        spool.close();
+    }
+
+    @Test
+    void testResumesAfterRestart() throws Exception {
+        AuditSpool spool = new AuditSpool(dir, 100, 1 << 20);
+        for (int i = 0; i < 6; i++) {
+            spool.append(event(i));
+        }
+        spool.peek();
+        spool.remove();
+        spool.peek();
+        spool.remove();
+        spool.peek();
+        spool.close();
+
+        AuditSpool reopened = new AuditSpool(dir, 100, 1 << 20);
+        assertFalse(reopened.isEmpty());
+        reopened.append(event(6));
+        assertEquals(List.of("cid-2", "cid-3", "cid-4", "cid-5", "cid-6"), drain(reopened));
+        reopened.close();
+    }
+
+    @Test
+    void testSkipsRecordTornByCrash() throws Exception {
+        AuditSpool spool = new AuditSpool(dir, 1 << 20, 1 << 20);
+        for (int i = 0; i < 3; i++) {
+            spool.append(event(i));
+        }
+        spool.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(file -> file.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 5);
+        }
+
+        AuditSpool reopened = new AuditSpool(dir, 1 << 20, 1 << 20);
+        reopened.append(event(3));
+        assertEquals(List.of("cid-0", "cid-1", "cid-3"), drain(reopened));
+        reopened.close();
+    }
+
+    @Test
+    void testRefusesEventsOverSizeLimit() throws Exception {
+        AuditSpool spool = new AuditSpool(dir, 100, 100);
+        assertTrue(spool.append(event(0)));
+        assertFalse(spool.append(event(1)));
+
+        drain(spool);
+        assertTrue(spool.append(event(2)));
+        spool.close();
+        assertFalse(spool.append(event(3)));
+    }
+
+    @Test
+    void testSkipsRecordThatCannotBeDecoded() throws Exception {
+        AuditSpool spool = new AuditSpool(dir, 1 << 20, 1 << 20);
+        spool.append(AuditEvent.builder().timestamp(Instant.EPOCH).correlationId("cid-0").build());
+        spool.append(event(1));
+        spool.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(file -> file.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        // framing stays valid, but the epoch seconds of the first record are out of range for an Instant
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(6);
+            file.writeLong(Long.MAX_VALUE);
+        }
+
+        AuditSpool reopened = new AuditSpool(dir, 1 << 20, 1 << 20);
+        assertEquals(List.of("cid-1"), drain(reopened));
+        reopened.close();
+    }
+}
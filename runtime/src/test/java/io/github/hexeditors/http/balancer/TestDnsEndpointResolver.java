@@ -0,0 +1,64 @@
+package io.github.hexeditors.http.balancer;
+
+import io.github.hexeditors.http.config.HttpClientConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestDnsEndpointResolver {
+
+    private DnsEndpointResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        HttpClientConfig config = mock(HttpClientConfig.class);
+        when(config.dnsMinTtlSeconds()).thenReturn(1);
+        when(config.dnsMaxTtlSeconds()).thenReturn(300);
+        when(config.dnsNegativeTtlSeconds()).thenReturn(5);
+        resolver = new DnsEndpointResolver();
+        resolver.config = config;
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.close();
+    }
+
+    @Test
+    void testSelectsResolvedAddress() {
+        AddressEndpoint endpoint = resolver.select("localhost", 8089).await().atMost(Duration.ofSeconds(5));
+
+        assertTrue(endpoint.inetAddress().isLoopbackAddress());
+        assertEquals(8089, endpoint.address().port());
+    }
+
+    @Test
+    void testKeepsEndpointsOfAddressesStillResolved() throws Exception {
+        InetAddress first = InetAddress.getByName("10.0.0.1");
+        InetAddress second = InetAddress.getByName("10.0.0.2");
+        InetAddress third = InetAddress.getByName("10.0.0.3");
+
+        List<AddressEndpoint> initial = resolver.endpointsFor("orders", 80, List.of(first, second));
+        initial.get(1).acquire();
+        List<AddressEndpoint> unchanged = resolver.endpointsFor("orders", 80, List.of(first, second));
+        List<AddressEndpoint> updated = resolver.endpointsFor("orders", 80, List.of(second, third));
+
+        assertSame(initial, unchanged);
+        assertSame(initial.get(1), updated.get(0));
+        assertEquals(1, updated.get(0).inFlight());
+        assertEquals("orders/10.0.0.3:80", updated.get(1).name());
+    }
+
+    @Test
+    void testFailsForUnknownHost() {
+        assertThrows(Exception.class, () -> resolver.select("unknown.invalid", 80).await().atMost(Duration.ofSeconds(10)));
+    }
+}
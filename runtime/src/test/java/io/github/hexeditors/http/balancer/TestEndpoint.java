@@ -0,0 +1,22 @@
+package io.github.hexeditors.http.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestEndpoint {
+
+    @Test
+    void testTracksInFlightRequests() {
+        Endpoint endpoint = new Endpoint("orders-1");
+
+        endpoint.acquire();
+        endpoint.acquire();
+        endpoint.release();
+
+        assertEquals(1, endpoint.inFlight());
+        assertEquals(1.0, endpoint.load());
+        assertEquals("orders-1", endpoint.name());
+        assertEquals("orders-1", endpoint.toString());
+    }
+}
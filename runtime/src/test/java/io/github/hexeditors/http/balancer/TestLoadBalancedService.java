@@ -0,0 +1,84 @@
+package io.github.hexeditors.http.balancer;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLoadBalancedService {
+
+    private static final URI ORDERS = URI.create("service://orders/v1/orders");
+
+    @Test
+    void testSkipsEjectedEndpoints() {
+        ServiceEndpoint healthy = new ServiceEndpoint("orders", "http://orders-1", 1, 60_000);
+        ServiceEndpoint ejected = new ServiceEndpoint("orders", "http://orders-2", 1, 60_000);
+        ejected.onFailure();
+        LoadBalancedService service = new LoadBalancedService("orders", List.of(healthy, ejected));
+
+        for (int i = 0; i < 50; i++) {
+            assertSame(healthy, service.select(null));
+        }
+    }
+
+    @Test
+    void testFallsBackToEjectedEndpointsWhenAllAreEjected() {
+        ServiceEndpoint first = new ServiceEndpoint("orders", "http://orders-1", 1, 60_000);
+        ServiceEndpoint second = new ServiceEndpoint("orders", "http://orders-2", 1, 60_000);
+        first.onFailure();
+        second.onFailure();
+        LoadBalancedService service = new LoadBalancedService("orders", List.of(first, second));
+
+        assertNotNull(service.select(null));
+        assertSame(second, service.select(first));
+    }
+
+    @Test
+    void testRetryMovesToAnotherEndpoint() {
+        ServiceEndpoint first = new ServiceEndpoint("orders", "http://orders-1", 5, 60_000);
+        ServiceEndpoint second = new ServiceEndpoint("orders", "http://orders-2", 5, 60_000);
+        LoadBalancedService service = new LoadBalancedService("orders", List.of(first, second));
+        List<String> attempts = new ArrayList<>();
+
+        String result = service.<String>call(ORDERS, url -> {
+                    attempts.add(url);
+                    return attempts.size() == 1
+                            ? Uni.createFrom().failure(new RuntimeException("connection refused"))
+                            : Uni.createFrom().item(url);
+                }, response -> false)
+                .onFailure().retry().atMost(1)
+                .await().atMost(Duration.ofSeconds(1));
+
+        assertEquals(2, attempts.size());
+        assertNotEquals(attempts.get(0), attempts.get(1));
+        assertEquals(attempts.get(1), result);
+        assertEquals(0, first.inFlight());
+        assertEquals(0, second.inFlight());
+        assertEquals(1, first.consecutiveFailures() + second.consecutiveFailures());
+    }
+
+    @Test
+    void testFailedResponseCountsAgainstEndpoint() {
+        ServiceEndpoint only = new ServiceEndpoint("orders", "http://orders-1", 1, 60_000);
+        LoadBalancedService service = new LoadBalancedService("orders", List.of(only));
+
+        Integer status = service.call(ORDERS, url -> Uni.createFrom().item(503), code -> code >= 500)
+                .await().atMost(Duration.ofSeconds(1));
+
+        assertEquals(503, status);
+        assertFalse(only.isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void testFailsWithoutEndpoints() {
+        LoadBalancedService service = new LoadBalancedService("orders", List.of());
+
+        assertThrows(IllegalStateException.class, () -> service.call(ORDERS, Uni.createFrom()::item, response -> false)
+                .await().atMost(Duration.ofSeconds(1)));
+    }
+}
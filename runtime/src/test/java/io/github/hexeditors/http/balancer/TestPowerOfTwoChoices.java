@@ -0,0 +1,48 @@
+package io.github.hexeditors.http.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPowerOfTwoChoices {
+
+    @Test
+    void testEmptyAndSingleEndpoint() {
+        Endpoint only = new Endpoint("only");
+
+        assertNull(PowerOfTwoChoices.pick(List.of()));
+        assertSame(only, PowerOfTwoChoices.pick(List.of(only)));
+    }
+
+    @Test
+    void testPrefersLessLoadedOfTwo() {
+        Endpoint busy = new Endpoint("busy");
+        Endpoint idle = new Endpoint("idle");
+        busy.acquire();
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(idle, PowerOfTwoChoices.pick(List.of(busy, idle)));
+        }
+    }
+
+    @Test
+    void testNeverPicksMostLoadedOfMany() {
+        Endpoint a = new Endpoint("a");
+        Endpoint b = new Endpoint("b");
+        Endpoint c = new Endpoint("c");
+        for (int i = 0; i < 5; i++) {
+            c.acquire();
+        }
+
+        Set<Endpoint> picked = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            picked.add(PowerOfTwoChoices.pick(List.of(a, b, c)));
+        }
+
+        assertEquals(Set.of(a, b), picked);
+    }
+}
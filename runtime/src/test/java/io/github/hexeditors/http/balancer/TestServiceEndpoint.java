@@ -0,0 +1,75 @@
+package io.github.hexeditors.http.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestServiceEndpoint {
+
+    @Test
+    void testResolvesPathAndQueryAgainstBaseUrl() {
+        ServiceEndpoint endpoint = new ServiceEndpoint("orders", "https://orders-1:8443/api/", 3, 1000);
+
+        assertEquals("https://orders-1:8443/api", endpoint.baseUrl());
+        assertEquals("https://orders-1:8443/api/v1/orders?status=open%20now",
+                endpoint.resolve(URI.create("service://orders/v1/orders?status=open%20now")));
+        assertEquals("https://orders-1:8443/api", endpoint.resolve(URI.create("service://orders")));
+    }
+
+    @Test
+    void testAveragesLatencyOfSuccesses() {
+        ServiceEndpoint endpoint = new ServiceEndpoint("orders", "http://orders-1", 3, 1000);
+
+        assertEquals(0.0, endpoint.latencyMillis());
+        endpoint.onSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(100.0, endpoint.latencyMillis(), 0.001);
+        endpoint.onSuccess(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(100 + ServiceEndpoint.LATENCY_WEIGHT * 100, endpoint.latencyMillis(), 0.001);
+    }
+
+    @Test
+    void testLoadGrowsWithLatencyAndInFlight() {
+        ServiceEndpoint fast = new ServiceEndpoint("orders", "http://orders-1", 3, 1000);
+        ServiceEndpoint slow = new ServiceEndpoint("orders", "http://orders-2", 3, 1000);
+        fast.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        slow.onSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTrue(fast.load() < slow.load());
+
+        for (int i = 0; i < 10; i++) {
+            fast.acquire();
+        }
+        assertTrue(fast.load() > slow.load());
+    }
+
+    @Test
+    void testEjectedAfterConsecutiveFailures() {
+        ServiceEndpoint endpoint = new ServiceEndpoint("orders", "http://orders-1", 2, 60_000);
+
+        endpoint.onFailure();
+        endpoint.onSuccess(1);
+        endpoint.onFailure();
+        assertTrue(endpoint.isAvailable(System.nanoTime()));
+
+        endpoint.onFailure();
+        assertEquals(2, endpoint.consecutiveFailures());
+        assertFalse(endpoint.isAvailable(System.nanoTime()));
+        assertTrue(endpoint.isAvailable(System.nanoTime() + TimeUnit.SECONDS.toNanos(61)));
+    }
+
+    @Test
+    void testReadmittedEndpointEjectedAgainOnNextFailure() throws Exception {
+        ServiceEndpoint endpoint = new ServiceEndpoint("orders", "http://orders-1", 2, 10);
+        endpoint.onFailure();
+        endpoint.onFailure();
+
+        Thread.sleep(20);
+        assertTrue(endpoint.isAvailable(System.nanoTime()));
+
+        endpoint.onFailure();
+        assertFalse(endpoint.isAvailable(System.nanoTime()));
+    }
+}
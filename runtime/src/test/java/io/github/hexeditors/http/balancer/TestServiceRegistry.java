@@ -0,0 +1,65 @@
+package io.github.hexeditors.http.balancer;
+
+import io.github.hexeditors.http.config.HttpClientConfig;
+import io.github.hexeditors.http.config.ServiceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestServiceRegistry {
+
+    private HttpClientConfig config;
+    private ServiceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        ServiceConfig orders = mock(ServiceConfig.class);
+        when(orders.endpoints()).thenReturn(List.of("http://orders-1", "http://orders-2"));
+        when(orders.failureThreshold()).thenReturn(Optional.empty());
+        when(orders.ejectionMillis()).thenReturn(Optional.of(250L));
+
+        config = mock(HttpClientConfig.class);
+        when(config.services()).thenReturn(Map.of("orders", orders));
+        when(config.circuitBreakerThreshold()).thenReturn(1);
+
+        registry = new ServiceRegistry();
+        registry.config = config;
+    }
+
+    @Test
+    void testIgnoresPlainUrls() {
+        assertTrue(registry.forUri(URI.create("https://orders-1/v1/orders")).isEmpty());
+    }
+
+    @Test
+    void testBuildsServiceOnce() {
+        LoadBalancedService service = registry.forUri(URI.create("service://orders/v1/orders")).orElseThrow();
+
+        assertEquals("orders", service.name());
+        assertEquals(List.of("http://orders-1", "http://orders-2"),
+                service.endpoints().stream().map(ServiceEndpoint::baseUrl).toList());
+        assertSame(service, registry.forUri(URI.create("SERVICE://orders/v2")).orElseThrow());
+    }
+
+    @Test
+    void testFallsBackToCircuitBreakerThreshold() {
+        ServiceEndpoint endpoint = registry.forUri(URI.create("service://orders/")).orElseThrow().endpoints().get(0);
+
+        endpoint.onFailure();
+
+        assertFalse(endpoint.isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void testRejectsUnknownService() {
+        assertThrows(IllegalArgumentException.class, () -> registry.forUri(URI.create("service://billing/v1")));
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.hexeditors.http.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestJacksonPayloadCodec {
+
+    private static final Map<String, Object> ORDER = Map.of("id", 7, "items", List.of("book", "pen"));
+
+    @Test
+    void testSmileRoundTrip() throws Exception {
+        JacksonPayloadCodec codec = new JacksonPayloadCodec(PayloadCodecs.SMILE, new ObjectMapper(new SmileFactory()));
+
+        byte[] encoded = codec.encode(ORDER);
+        Map<String, Object> decoded = codec.decode(encoded, 0, encoded.length, Map.class);
+
+        assertEquals(':', encoded[0]);
+        assertEquals(ORDER, decoded);
+    }
+
+    @Test
+    void testCborDecodesSliceIntoGenericType() throws Exception {
+        JacksonPayloadCodec codec = new JacksonPayloadCodec(PayloadCodecs.CBOR, new ObjectMapper(new CBORFactory()));
+
+        byte[] encoded = codec.encode(List.of(ORDER));
+        byte[] padded = new byte[encoded.length + 4];
+        System.arraycopy(encoded, 0, padded, 2, encoded.length);
+
+        List<Map<String, Object>> decoded = codec.decode(
+                padded, 2, encoded.length, new TypeReference<List<Map<String, Object>>>() {}.getType());
+
+        assertEquals(List.of(ORDER), decoded);
+    }
+
+    @Test
+    void testExposesTokenFactoryOfMapper() {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        JacksonPayloadCodec codec = new JacksonPayloadCodec(PayloadCodecs.SMILE, mapper);
+
+        assertSame(mapper.getFactory(), codec.tokenFactory().orElseThrow());
+        assertEquals(PayloadCodecs.SMILE, codec.mediaType());
+    }
+}
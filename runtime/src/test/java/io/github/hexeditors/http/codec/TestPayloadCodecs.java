@@ -0,0 +1,85 @@
+package io.github.hexeditors.http.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.hexeditors.http.TestInjectionUtil;
+import jakarta.enterprise.inject.Instance;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestPayloadCodecs {
+
+    private PayloadCodecs codecs() {
+        PayloadCodecs codecs = new PayloadCodecs();
+        TestInjectionUtil.inject(codecs, new ObjectMapper());
+        return codecs;
+    }
+
+    @Test
+    void testSelectsCodecByContentType() {
+        PayloadCodecs codecs = codecs();
+
+        assertEquals(PayloadCodecs.JSON, codecs.forContentType("application/json; charset=UTF-8").mediaType());
+        assertEquals(PayloadCodecs.SMILE, codecs.forContentType("Application/X-Jackson-Smile").mediaType());
+        assertEquals(PayloadCodecs.CBOR, codecs.forContentType("application/cbor").mediaType());
+        assertEquals(PayloadCodecs.CBOR, codecs.forContentType("application/vnd.orders+cbor").mediaType());
+        assertEquals(PayloadCodecs.JSON, codecs.forContentType("application/problem+json").mediaType());
+    }
+
+    @Test
+    void testFallsBackToJson() {
+        PayloadCodecs codecs = codecs();
+
+        assertSame(codecs.json(), codecs.forContentType(null));
+        assertSame(codecs.json(), codecs.forContentType(""));
+        assertSame(codecs.json(), codecs.forContentType("text/plain"));
+    }
+
+    @Test
+    void testTellsStructuredContentTypes() {
+        PayloadCodecs codecs = codecs();
+
+        assertTrue(codecs.isStructured(null));
+        assertTrue(codecs.isStructured("application/json; charset=UTF-8"));
+        assertTrue(codecs.isStructured("application/x-jackson-smile"));
+        assertTrue(codecs.isStructured("application/problem+json"));
+        assertTrue(codecs.isStructured("application/vnd.orders+cbor"));
+        assertFalse(codecs.isStructured("image/png"));
+        assertFalse(codecs.isStructured("text/plain"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRegistersApplicationCodecs() {
+        PayloadCodec protobuf = new PayloadCodec() {
+            @Override
+            public String mediaType() {
+                return "application/x-protobuf";
+            }
+
+            @Override
+            public byte[] encode(Object body) {
+                return new byte[0];
+            }
+
+            @Override
+            public <T> T decode(byte[] bytes, int offset, int length, Type type) {
+                return null;
+            }
+        };
+        Instance<PayloadCodec> extensions = mock(Instance.class);
+        when(extensions.iterator()).thenReturn(List.of(protobuf).iterator());
+
+        PayloadCodecs codecs = codecs();
+        TestInjectionUtil.inject(codecs, extensions);
+
+        assertSame(protobuf, codecs.forContentType("application/x-protobuf"));
+        assertTrue(protobuf.tokenFactory().isEmpty());
+        assertTrue(codecs.isStructured("application/x-protobuf"));
+    }
+}
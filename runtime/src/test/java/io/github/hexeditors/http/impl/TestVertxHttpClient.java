@@ -1,15 +1,32 @@
 package io.github.hexeditors.http.impl;
 
 import io.github.hexeditors.http.api.HttpResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.github.hexeditors.http.util.DeadlineUtil;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +39,12 @@ class TestVertxHttpClient {
     @Inject
     VertxHttpClient client;
 
+    @Inject
+    DeadlineUtil deadlineUtil;
+
+    @Inject
+    Vertx vertx;
+
     @BeforeAll
     static void setup() {
         wireMockServer = new WireMockServer(8089);
@@ -40,18 +63,63 @@ class TestVertxHttpClient {
                         .withStatus(200)
                         .withBody("{\"message\": \"success\"}")));
 
+        // Stub for GET /limited
+        wireMockServer.stubFor(get(urlEqualTo("/limited"))
+                .willReturn(aResponse()
+                        .withStatus(429)
+                        .withHeader("Retry-After", "1")));
+
+        // Stub for GET /orders
+        wireMockServer.stubFor(get(urlEqualTo("/orders"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("[{\"id\": 1, \"item\": \"book\"}, {\"id\": 2, \"item\": \"pen\"}]")));
+
+        // Stub for POST /cbor
+        wireMockServer.stubFor(post(urlEqualTo("/cbor"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/cbor")
+                        .withBody(cbor(Map.of("message", "stored")))));
+
+        // Stub for GET /gzip
+        wireMockServer.stubFor(get(urlEqualTo("/gzip"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Encoding", "gzip")
+                        .withBody(gzip("{\"message\": \"inflated\"}"))));
+
         // Stub for POST /post
         wireMockServer.stubFor(post(urlEqualTo("/post"))
                 .willReturn(aResponse()
                         .withStatus(200)
                         .withBody("{\"message\": \"posted\"}")));
 
+        // Stub for POST /raw
+        wireMockServer.stubFor(post(urlEqualTo("/raw"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("{\"message\": \"raw\"}")));
+
         // Stub for PUT /put
         wireMockServer.stubFor(put(urlEqualTo("/put"))
                 .willReturn(aResponse()
                         .withStatus(200)
                         .withBody("{\"message\": \"put\"}")));
 
+        // Stub for GET /export
+        wireMockServer.stubFor(get(urlEqualTo("/export"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/octet-stream")
+                        .withBody("line-1\nline-2\n")));
+
+        // Stub for POST /upload
+        wireMockServer.stubFor(post(urlEqualTo("/upload"))
+                .willReturn(aResponse()
+                        .withStatus(201)
+                        .withBody("{\"message\": \"stored\"}")));
+
         // Stub for DELETE /delete
         wireMockServer.stubFor(delete(urlEqualTo("/delete"))
                 .willReturn(aResponse()
@@ -143,4 +211,297 @@ class TestVertxHttpClient {
         assertEquals(200, response.getStatusCode());
         assertTrue(response.isSuccess());
     }
+
+    @Test
+    void testDownloadStreamsBodyToFile(@TempDir Path dir) throws Exception {
+        Path target = dir.resolve("export.bin");
+
+        HttpResponse<Path> response =
+                client.download(
+                        "http://localhost:8089/export",
+                        Map.of(),
+                        Map.of(),
+                        target
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.isSuccess());
+        assertEquals(target, response.getBody());
+        assertEquals("line-1\nline-2\n", Files.readString(target));
+        assertEquals("application/octet-stream", response.getHeaders().get("content-type"));
+    }
+
+    @Test
+    void testPostFileStreamsChunkedBody(@TempDir Path dir) throws Exception {
+        Path source = Files.writeString(dir.resolve("upload.ndjson"), "{\"id\":1}\n{\"id\":2}\n");
+
+        HttpResponse<Map> response =
+                client.postFile(
+                        "http://localhost:8089/upload",
+                        Map.of(),
+                        Map.of(),
+                        source,
+                        Map.class
+                );
+
+        assertEquals(201, response.getStatusCode());
+        assertEquals("stored", response.getBody().get("message"));
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/upload"))
+                .withHeader("Transfer-Encoding", equalTo("chunked"))
+                .withRequestBody(equalTo("{\"id\":1}\n{\"id\":2}\n")));
+    }
+
+    @Test
+    void testPostStreamSendsAllBuffers() {
+        Multi<Buffer> body = Multi.createFrom().items("part-1,", "part-2").map(Buffer::buffer);
+
+        HttpResponse<Map> response =
+                client.postStream(
+                        "http://localhost:8089/upload",
+                        Map.of(),
+                        Map.of(),
+                        body,
+                        Map.class
+                );
+
+        assertEquals(201, response.getStatusCode());
+        assertTrue(response.isSuccess());
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/upload"))
+                .withRequestBody(equalTo("part-1,part-2")));
+    }
+
+    @Test
+    void testPostEncodesObjectBodyAsJson() {
+        HttpResponse<Map> response =
+                client.post(
+                        "http://localhost:8089/raw",
+                        Map.of(),
+                        Map.of(),
+                        Map.of("id", 7),
+                        Map.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/raw"))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withRequestBody(equalToJson("{\"id\":7}")));
+    }
+
+    @Test
+    void testPostSendsPreEncodedBytesAsIs() {
+        HttpResponse<Map> response =
+                client.post(
+                        "http://localhost:8089/raw",
+                        Map.of(),
+                        Map.of("Content-Type", "application/x-ndjson"),
+                        "{\"id\":8}\n".getBytes(),
+                        Map.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/raw"))
+                .withHeader("Content-Type", equalTo("application/x-ndjson"))
+                .withRequestBody(equalTo("{\"id\":8}\n")));
+    }
+
+    @Test
+    void testGetDeserializesGenericType() {
+        HttpResponse<List<Map<String, Object>>> response =
+                client.get(
+                        "http://localhost:8089/orders",
+                        Map.of(),
+                        Map.of(),
+                        new TypeReference<List<Map<String, Object>>>() {}
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals("book", response.getBody().get(0).get("item"));
+        assertEquals(2, response.getBody().get(1).get("id"));
+    }
+
+    @Test
+    void testGetReturnsNullBodyWhenNotDeserializable() {
+        HttpResponse<List<Map<String, Object>>> response =
+                client.get(
+                        "http://localhost:8089/get",
+                        Map.of(),
+                        Map.of(),
+                        new TypeReference<List<Map<String, Object>>>() {}
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.isSuccess());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testPostNegotiatesBinaryCodec() {
+        HttpResponse<Map> response =
+                client.post(
+                        "http://localhost:8089/cbor",
+                        Map.of(),
+                        Map.of("Content-Type", "application/cbor"),
+                        Map.of("id", 9),
+                        Map.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("stored", response.getBody().get("message"));
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/cbor"))
+                .withHeader("Accept", equalTo("application/cbor, application/json;q=0.9"))
+                .withRequestBody(binaryEqualTo(cbor(Map.of("id", 9)))));
+    }
+
+    @Test
+    void testPropagatesRemainingDeadline() {
+        HttpResponse<String> response =
+                client.get(
+                        "http://localhost:8089/get",
+                        Map.of(),
+                        Map.of(),
+                        String.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/get"))
+                .withHeader("X-Request-Deadline", matching("\\d{1,5}")));
+    }
+
+    @Test
+    void testExpiredInboundDeadlineIsInfrastructureFailure() throws Exception {
+        HttpResponse<String> response = VertxContext.createNewDuplicatedContext(vertx.getOrCreateContext())
+                .executeBlocking(() -> {
+                    deadlineUtil.bind("0");
+                    return client.get(
+                            "http://localhost:8089/get",
+                            Map.of(),
+                            Map.of(),
+                            String.class
+                    );
+                })
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, response.getStatusCode());
+        assertFalse(response.isSuccess());
+    }
+
+    private static byte[] cbor(Object value) {
+        try {
+            return new ObjectMapper(new CBORFactory()).writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testGetInflatesCompressedResponse() {
+        HttpResponse<Map> response =
+                client.get(
+                        "http://localhost:8089/gzip",
+                        Map.of(),
+                        Map.of(),
+                        Map.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("inflated", response.getBody().get("message"));
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/gzip"))
+                .withHeader("Accept-Encoding", containing("gzip")));
+    }
+
+    @Test
+    void testPostCompressesBodyAboveThreshold() {
+        String note = "x".repeat(2048);
+        HttpResponse<Map> response =
+                client.post(
+                        "http://localhost:8089/raw",
+                        Map.of(),
+                        Map.of(),
+                        Map.of("note", note),
+                        Map.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/raw"))
+                .withHeader("Content-Encoding", equalTo("gzip"))
+                .withRequestBody(equalToJson("{\"note\":\"" + note + "\"}")));
+    }
+
+    @Test
+    void testGetThroughLogicalService() {
+        HttpResponse<Map> response =
+                client.get(
+                        "service://wiremock/get",
+                        Map.of(),
+                        Map.of(),
+                        Map.class
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("success", response.getBody().get("message"));
+    }
+
+    @Test
+    void testDownloadThroughLogicalService(@TempDir Path dir) throws Exception {
+        Path target = dir.resolve("export.bin");
+
+        HttpResponse<Path> response =
+                client.download(
+                        "service://wiremock/export",
+                        Map.of(),
+                        Map.of(),
+                        target
+                );
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("line-1\nline-2\n", Files.readString(target));
+    }
+
+    @Test
+    void testUnknownServiceIsInfrastructureFailure() {
+        HttpResponse<String> response =
+                client.get(
+                        "service://missing/get",
+                        Map.of(),
+                        Map.of(),
+                        String.class
+                );
+
+        assertEquals(0, response.getStatusCode());
+        assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void testRetryAfterHoldsBackRateLimitedHost() {
+        HttpResponse<String> limited =
+                client.get(
+                        "http://127.0.0.1:8089/limited",
+                        Map.of(),
+                        Map.of(),
+                        String.class
+                );
+        long start = System.nanoTime();
+        HttpResponse<Map> next =
+                client.get(
+                        "http://127.0.0.1:8089/get",
+                        Map.of(),
+                        Map.of(),
+                        Map.class
+                );
+
+        assertEquals(429, limited.getStatusCode());
+        assertEquals(200, next.getStatusCode());
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(900).toNanos());
+    }
+
+    private static byte[] gzip(String value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
 }
@@ -0,0 +1,105 @@
+package io.github.hexeditors.http.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.sun.management.UnixOperatingSystemMXBean;
+import io.github.hexeditors.http.api.HttpResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.core.buffer.Buffer;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(TestVertxHttpClientRetries.Retries.class)
+class TestVertxHttpClientRetries {
+
+    /**
+     * Enables retries, which the default test configuration turns off.
+     */
+    public static class Retries implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("http.client.max-retries", "2");
+        }
+    }
+
+    @Inject
+    VertxHttpClient client;
+
+    private WireMockServer server;
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @AfterEach
+    void teardown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testRetriesStreamUploadAfterConnectFailure() throws Exception {
+        int port = freePort();
+        server = new WireMockServer(port);
+        server.stubFor(post(urlEqualTo("/upload"))
+                .willReturn(aResponse()
+                        .withStatus(201)
+                        .withBody("{\"message\": \"stored\"}")));
+        // The server only comes up once the second attempt subscribes, so the first one cannot connect
+        AtomicInteger subscriptions = new AtomicInteger();
+        Multi<Buffer> body = Multi.createFrom().items("part-1,", "part-2").map(Buffer::buffer)
+                .onSubscription().invoke(() -> {
+                    if (subscriptions.incrementAndGet() == 2) {
+                        server.start();
+                    }
+                });
+
+        HttpResponse<Map> response =
+                client.postStream(
+                        "http://localhost:" + port + "/upload",
+                        Map.of(),
+                        Map.of(),
+                        body,
+                        Map.class
+                );
+
+        assertEquals(201, response.getStatusCode());
+        assertEquals(2, subscriptions.get());
+        server.verify(1, postRequestedFor(urlEqualTo("/upload"))
+                .withRequestBody(equalTo("part-1,part-2")));
+    }
+
+    @Test
+    void testDownloadClosesFileWhenConnectFails(@TempDir Path dir) throws Exception {
+        UnixOperatingSystemMXBean os = (UnixOperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        String url = "http://localhost:" + freePort() + "/export";
+        client.download(url, Map.of(), Map.of(), dir.resolve("warmup.bin"));
+
+        long before = os.getOpenFileDescriptorCount();
+        for (int i = 0; i < 20; i++) {
+            HttpResponse<Path> response = client.download(url, Map.of(), Map.of(), dir.resolve("export-" + i + ".bin"));
+            assertEquals(0, response.getStatusCode());
+        }
+
+        // 20 calls of 3 attempts each would leak 60 descriptors
+        assertTrue(os.getOpenFileDescriptorCount() - before < 10);
+    }
+}
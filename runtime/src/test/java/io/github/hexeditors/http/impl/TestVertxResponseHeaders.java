@@ -0,0 +1,68 @@
+package io.github.hexeditors.http.impl;
+
+import io.github.hexeditors.http.api.HttpResponse;
+import io.vertx.core.MultiMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestVertxResponseHeaders {
+
+    private MultiMap sampleHeaders() {
+        return MultiMap.caseInsensitiveMultiMap()
+                .add("Content-Type", "application/json")
+                .add("Set-Cookie", "a=1")
+                .add("Set-Cookie", "b=2");
+    }
+
+    @Test
+    void testCaseInsensitiveLookup() {
+        VertxResponseHeaders headers = new VertxResponseHeaders(sampleHeaders());
+
+        assertEquals("application/json", headers.get("content-type"));
+        assertTrue(headers.containsKey("CONTENT-TYPE"));
+        assertNull(headers.get("missing"));
+    }
+
+    @Test
+    void testMultiValueSupport() {
+        VertxResponseHeaders headers = new VertxResponseHeaders(sampleHeaders());
+
+        assertEquals(List.of("a=1", "b=2"), headers.getAll("set-cookie"));
+        assertEquals("a=1", headers.get("Set-Cookie"));
+        assertEquals(2, headers.size());
+    }
+
+    @Test
+    void testViewIsReadOnly() {
+        VertxResponseHeaders headers = new VertxResponseHeaders(sampleHeaders());
+
+        assertThrows(UnsupportedOperationException.class, () -> headers.put("X-New", "value"));
+        assertThrows(UnsupportedOperationException.class, () -> headers.getAll("Set-Cookie").add("c=3"));
+    }
+
+    @Test
+    void testViewReflectsUnderlyingHeadersLazily() {
+        MultiMap source = sampleHeaders();
+        VertxResponseHeaders headers = new VertxResponseHeaders(source);
+
+        source.add("X-Late", "1");
+
+        assertEquals("1", headers.get("X-Late"));
+        assertEquals(Map.of("Content-Type", "application/json", "Set-Cookie", "a=1", "X-Late", "1"), Map.copyOf(headers));
+    }
+
+    @Test
+    void testHttpResponseHeaderValues() {
+        HttpResponse<Void> response = HttpResponse.<Void>builder()
+                .statusCode(200)
+                .headers(new VertxResponseHeaders(sampleHeaders()))
+                .build();
+
+        assertEquals(List.of("a=1", "b=2"), response.getHeaderValues("Set-Cookie"));
+        assertEquals(List.of(), response.getHeaderValues("missing"));
+    }
+}
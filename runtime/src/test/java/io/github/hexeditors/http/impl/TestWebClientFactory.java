@@ -1,5 +1,6 @@
 package io.github.hexeditors.http.impl;
 
+import io.github.hexeditors.http.config.HostConfig;
 import io.github.hexeditors.http.config.HttpClientConfig;
 import io.github.hexeditors.http.config.TlsConfig;
 import io.github.hexeditors.http.config.TrustStoreConfig;
@@ -13,9 +14,11 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -282,6 +285,320 @@ class TestWebClientFactory {
         assertEquals("example", result.password());
     }
 
+    @Test
+    void testCreate_WithCompression() {
+        // Arrange
+        String host = "api.example.com";
+        when(tlsConfig.insecureDomains()).thenReturn(Set.of("localhost"));
+        when(tlsConfig.trustStores()).thenReturn(Map.of());
+        when(httpClientConfig.compression()).thenReturn(true);
+        when(httpClientConfig.hosts()).thenReturn(Map.of(
+            "legacy.example.com", createHostConfig(Optional.of(false), Optional.empty(), Optional.empty())
+        ));
+
+        try (MockedStatic<WebClient> mockedWebClient = mockStatic(WebClient.class)) {
+            mockedWebClient.when(() -> WebClient.create(any(Vertx.class), any(WebClientOptions.class)))
+                    .thenReturn(webClient);
+
+            // Act
+            factory.create(host);
+            factory.create("legacy.example.com");
+
+            // Assert - compression is negotiated unless the host opts out
+            mockedWebClient.verify(() -> WebClient.create(eq(vertx), argThat(WebClientOptions::isTryUseCompression)));
+            mockedWebClient.verify(() -> WebClient.create(eq(vertx), argThat(options -> !options.isTryUseCompression())));
+        }
+    }
+
+    @Test
+    void testAcceptEncoding_OffersDecodableCodingsOnly() {
+        // Arrange
+        when(httpClientConfig.compression()).thenReturn(true);
+        when(httpClientConfig.acceptEncoding()).thenReturn(List.of("zstd", "GZIP", "deflate", "gzip"));
+        when(httpClientConfig.hosts()).thenReturn(Map.of(
+            "*.example.com", createHostConfig(Optional.empty(), Optional.of(List.of("deflate")), Optional.empty()),
+            "legacy.internal", createHostConfig(Optional.of(false), Optional.empty(), Optional.empty())
+        ));
+
+        // Act & Assert
+        assertEquals("gzip, deflate", factory.acceptEncoding("api.internal"));
+        assertEquals("deflate", factory.acceptEncoding("api.example.com"));
+        assertNull(factory.acceptEncoding("legacy.internal"));
+    }
+
+    @Test
+    void testRequestCompressionThreshold_HostOverride() {
+        // Arrange
+        when(httpClientConfig.requestCompressionThreshold()).thenReturn(Optional.of(8192));
+        when(httpClientConfig.hosts()).thenReturn(Map.of(
+            "bulk.example.com", createHostConfig(Optional.empty(), Optional.empty(), Optional.of(512))
+        ));
+
+        // Act & Assert
+        assertEquals(Optional.of(512), factory.requestCompressionThreshold("bulk.example.com"));
+        assertEquals(Optional.of(8192), factory.requestCompressionThreshold("api.example.com"));
+    }
+
+    @Test
+    void testCreate_WithTimeoutsAndTcpOptions() {
+        // Arrange
+        when(tlsConfig.insecureDomains()).thenReturn(Set.of("localhost"));
+        when(tlsConfig.trustStores()).thenReturn(Map.of());
+        when(httpClientConfig.connectTimeoutMillis()).thenReturn(2000);
+        when(httpClientConfig.idleTimeoutMillis()).thenReturn(60000);
+        when(httpClientConfig.tcpNoDelay()).thenReturn(true);
+        when(httpClientConfig.tcpKeepAlive()).thenReturn(true);
+        when(httpClientConfig.hosts()).thenReturn(Map.of("*.internal", new HostConfigStub() {
+            @Override
+            public Optional<Integer> connectTimeoutMillis() {
+                return Optional.of(250);
+            }
+
+            @Override
+            public Optional<Integer> idleTimeoutMillis() {
+                return Optional.of(5000);
+            }
+
+            @Override
+            public Optional<Boolean> tcpFastOpen() {
+                return Optional.of(true);
+            }
+        }));
+
+        try (MockedStatic<WebClient> mockedWebClient = mockStatic(WebClient.class)) {
+            mockedWebClient.when(() -> WebClient.create(any(Vertx.class), any(WebClientOptions.class)))
+                    .thenReturn(webClient);
+
+            // Act
+            factory.create("api.example.com");
+            factory.create("orders.internal");
+
+            // Assert - global settings apply unless the host overrides them
+            mockedWebClient.verify(() -> WebClient.create(eq(vertx), argThat(options ->
+                    options.getConnectTimeout() == 2000
+                            && options.getIdleTimeout() == 60000
+                            && options.getIdleTimeoutUnit() == TimeUnit.MILLISECONDS
+                            && options.isTcpNoDelay()
+                            && options.isTcpKeepAlive()
+                            && !options.isTcpFastOpen())));
+            mockedWebClient.verify(() -> WebClient.create(eq(vertx), argThat(options ->
+                    options.getConnectTimeout() == 250
+                            && options.getIdleTimeout() == 5000
+                            && options.isTcpFastOpen())));
+        }
+    }
+
+    @Test
+    void testFirstByteTimeout_HostOverride() {
+        // Arrange
+        when(httpClientConfig.firstByteTimeoutMillis()).thenReturn(Optional.empty());
+        when(httpClientConfig.hosts()).thenReturn(Map.of("slow.example.com", new HostConfigStub() {
+            @Override
+            public Optional<Integer> firstByteTimeoutMillis() {
+                return Optional.of(1500);
+            }
+        }));
+
+        // Act & Assert
+        assertEquals(Optional.of(1500), factory.firstByteTimeout("slow.example.com"));
+        assertEquals(Optional.empty(), factory.firstByteTimeout("api.example.com"));
+    }
+
+    @Test
+    void testForHost_ReusesClientPerHost() {
+        // Arrange
+        when(tlsConfig.insecureDomains()).thenReturn(Set.of("localhost"));
+        when(tlsConfig.trustStores()).thenReturn(Map.of());
+
+        try (MockedStatic<WebClient> mockedWebClient = mockStatic(WebClient.class)) {
+            mockedWebClient.when(() -> WebClient.create(any(Vertx.class), any(WebClientOptions.class)))
+                    .thenReturn(webClient);
+
+            // Act
+            WebClient first = factory.forHost("api.example.com");
+            WebClient second = factory.forHost("api.example.com");
+
+            // Assert
+            assertSame(first, second);
+            mockedWebClient.verify(() -> WebClient.create(eq(vertx), any(WebClientOptions.class)), times(1));
+        }
+    }
+
+    @Test
+    void testDnsBalancing_NeverForProxiedHosts() {
+        // Arrange
+        when(httpClientConfig.dnsBalancing()).thenReturn(true);
+        when(httpClientConfig.proxyHost()).thenReturn(Optional.of("proxy.company.com"));
+        when(httpClientConfig.proxyDomains()).thenReturn(Optional.of(Set.of("api.example.com")));
+        when(httpClientConfig.hosts()).thenReturn(Map.of("static.example.com", new HostConfigStub() {
+            @Override
+            public Optional<Boolean> dnsBalancing() {
+                return Optional.of(false);
+            }
+        }));
+
+        // Act & Assert
+        assertTrue(factory.dnsBalancing("orders.example.com"));
+        assertFalse(factory.dnsBalancing("static.example.com"));
+        assertFalse(factory.dnsBalancing("api.example.com"));
+    }
+
+    @Test
+    void testRateLimit_HostOverridesGlobalRate() {
+        // Arrange
+        when(httpClientConfig.rateLimitPerSecond()).thenReturn(Optional.of(50.0));
+        when(httpClientConfig.rateLimitBurst()).thenReturn(Optional.empty());
+        when(httpClientConfig.hosts()).thenReturn(Map.of("*.quota.com", new HostConfigStub() {
+            @Override
+            public Optional<Double> rateLimitPerSecond() {
+                return Optional.of(5.0);
+            }
+
+            @Override
+            public Optional<Integer> rateLimitBurst() {
+                return Optional.of(2);
+            }
+        }));
+
+        // Act & Assert
+        assertEquals(Optional.of(5.0), factory.rateLimitPerSecond("api.quota.com"));
+        assertEquals(Optional.of(2), factory.rateLimitBurst("api.quota.com"));
+        assertEquals(Optional.of(50.0), factory.rateLimitPerSecond("api.example.com"));
+        assertEquals(Optional.empty(), factory.rateLimitBurst("api.example.com"));
+    }
+
+    @Test
+    void testTraceSamplingPerHost() {
+        // Arrange
+        when(httpClientConfig.traceSampleRate()).thenReturn(Optional.of(0.01));
+        when(httpClientConfig.traceErrors()).thenReturn(true);
+        when(httpClientConfig.traceMaxPerSecond()).thenReturn(Optional.empty());
+        when(httpClientConfig.hosts()).thenReturn(Map.of("debug.example.com", new HostConfigStub() {
+            @Override
+            public Optional<Double> traceSampleRate() {
+                return Optional.of(2.0);
+            }
+
+            @Override
+            public Optional<Boolean> traceErrors() {
+                return Optional.of(false);
+            }
+
+            @Override
+            public Optional<Double> traceMaxPerSecond() {
+                return Optional.of(10.0);
+            }
+        }));
+
+        // Act & Assert
+        assertEquals(1.0, factory.traceSampleRate("debug.example.com"));
+        assertFalse(factory.traceErrors("debug.example.com"));
+        assertEquals(Optional.of(10.0), factory.traceMaxPerSecond("debug.example.com"));
+        assertEquals(0.01, factory.traceSampleRate("api.example.com"));
+        assertTrue(factory.traceErrors("api.example.com"));
+        assertEquals(Optional.empty(), factory.traceMaxPerSecond("api.example.com"));
+    }
+
+    private HostConfig createHostConfig(
+            Optional<Boolean> compression,
+            Optional<List<String>> acceptEncoding,
+            Optional<Integer> requestCompressionThreshold
+    ) {
+        return new HostConfigStub() {
+            @Override
+            public Optional<Boolean> compression() {
+                return compression;
+            }
+
+            @Override
+            public Optional<List<String>> acceptEncoding() {
+                return acceptEncoding;
+            }
+
+            @Override
+            public Optional<Integer> requestCompressionThreshold() {
+                return requestCompressionThreshold;
+            }
+        };
+    }
+
+    private static class HostConfigStub implements HostConfig {
+        @Override
+        public Optional<Boolean> compression() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<List<String>> acceptEncoding() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Integer> requestCompressionThreshold() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Integer> connectTimeoutMillis() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Integer> firstByteTimeoutMillis() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Integer> idleTimeoutMillis() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> tcpNoDelay() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> tcpFastOpen() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> tcpKeepAlive() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> dnsBalancing() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Double> rateLimitPerSecond() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Integer> rateLimitBurst() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Double> traceSampleRate() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> traceErrors() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Double> traceMaxPerSecond() {
+            return Optional.empty();
+        }
+    }
+
     private TrustStoreConfig createTrustStoreConfig(String path, String password) {
         return new TrustStoreConfig() {
             @Override
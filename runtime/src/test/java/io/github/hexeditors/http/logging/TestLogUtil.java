@@ -1,7 +1,13 @@
 package io.github.hexeditors.http.logging;
 
+import io.github.hexeditors.http.TestInjectionUtil;
+import io.github.hexeditors.http.pii.MaskStrategy;
 import io.github.hexeditors.http.pii.PiiClassifier;
+import io.github.hexeditors.http.pii.PiiConfigTestImpl;
 import io.github.hexeditors.http.pii.PiiLevel;
+import io.github.hexeditors.http.pii.PiiMasker;
+import io.github.hexeditors.http.pii.PiiMaskingConfig;
+import io.github.hexeditors.http.pii.PiiMaskingConfigTestImpl;
 import io.github.hexeditors.http.pii.RegexPiiDetector;
 import org.junit.jupiter.api.Test;
 
@@ -81,6 +87,43 @@ class TestLogUtil {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testMaskHeadersWithStrategies() {
+        PiiClassifier classifier = mock(PiiClassifier.class);
+        PiiMasker masker = new PiiMasker();
+        TestInjectionUtil.inject(masker, new PiiConfigTestImpl() {
+            @Override
+            public PiiMaskingConfig masking() {
+                return new PiiMaskingConfigTestImpl() {
+                    @Override
+                    public Map<String, MaskStrategy> headers() {
+                        return Map.of("x-api-key", MaskStrategy.LAST4);
+                    }
+
+                    @Override
+                    public Map<String, MaskStrategy> patterns() {
+                        return Map.of("CREDIT_CARD", MaskStrategy.FIRST6_LAST4);
+                    }
+                };
+            }
+        });
+
+        when(classifier.classifyHeader("X-Api-Key")).thenReturn(PiiLevel.HIGH);
+        when(classifier.classifyHeader("Authorization")).thenReturn(PiiLevel.SECRET);
+        when(classifier.classifyHeader("X-Card")).thenReturn(PiiLevel.NONE);
+
+        Map<String, String> headers = Map.of(
+                "X-Api-Key", "key-abcdef123456",
+                "Authorization", "Bearer token",
+                "X-Card", "4111111111111234"
+        );
+        Map<String, String> result = LogUtil.maskHeaders(headers, classifier, new RegexPiiDetector(), masker);
+
+        assertEquals("***-********3456", result.get("X-Api-Key"));
+        assertEquals("****", result.get("Authorization"));
+        assertEquals("411111******1234", result.get("X-Card"));
+    }
+
     @Test
     void testIsTraceEnabled() {
         // This is hard to test without controlling the logger level
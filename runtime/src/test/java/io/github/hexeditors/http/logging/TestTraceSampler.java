@@ -0,0 +1,108 @@
+package io.github.hexeditors.http.logging;
+
+import io.github.hexeditors.http.TestInjectionUtil;
+import io.github.hexeditors.http.impl.WebClientFactory;
+import io.github.hexeditors.http.logging.TraceSampler.Trace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TestTraceSampler {
+
+    private WebClientFactory factory;
+    private TraceSampler sampler;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        factory = mock(WebClientFactory.class);
+        when(factory.traceSampleRate(anyString())).thenReturn(1.0);
+        when(factory.traceErrors(anyString())).thenReturn(true);
+        when(factory.traceMaxPerSecond(anyString())).thenReturn(Optional.empty());
+        sampler = new TraceSampler();
+        TestInjectionUtil.inject(sampler, factory);
+    }
+
+    @Test
+    void testTracesEverythingByDefault() {
+        Trace trace = sampler.sampleHost("api.example.com");
+        trace.request(requests::incrementAndGet);
+
+        assertTrue(trace.isSampled());
+        assertEquals(1, requests.get());
+        assertTrue(trace.response(200));
+    }
+
+    @Test
+    void testSamplesAtHostRate() {
+        when(factory.traceSampleRate("api.example.com")).thenReturn(0.25);
+
+        sampler.random = () -> 0.1;
+        assertTrue(sampler.sampleHost("api.example.com").isSampled());
+        sampler.random = () -> 0.5;
+        assertFalse(sampler.sampleHost("api.example.com").isSampled());
+    }
+
+    @Test
+    void testTracesHeldBackRequestOnlyOnError() {
+        when(factory.traceSampleRate("api.example.com")).thenReturn(0.0);
+
+        Trace ok = sampler.sampleHost("api.example.com");
+        ok.request(requests::incrementAndGet);
+        assertTrue(ok.isActive());
+        assertFalse(ok.response(204));
+        assertEquals(0, requests.get());
+
+        Trace failed = sampler.sampleHost("api.example.com");
+        failed.request(requests::incrementAndGet);
+        assertEquals(0, requests.get());
+        assertTrue(failed.response(503));
+        assertEquals(1, requests.get());
+
+        Trace broken = sampler.sampleHost("api.example.com");
+        broken.request(requests::incrementAndGet);
+        broken.failure();
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testTracesNothingWithoutErrorSampling() {
+        when(factory.traceSampleRate("api.example.com")).thenReturn(0.0);
+        when(factory.traceErrors("api.example.com")).thenReturn(false);
+
+        Trace trace = sampler.sampleHost("api.example.com");
+        trace.request(requests::incrementAndGet);
+
+        assertSame(Trace.OFF, trace);
+        assertFalse(trace.response(500));
+        trace.failure();
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void testCapsTracesPerSecond() {
+        when(factory.traceMaxPerSecond("api.example.com")).thenReturn(Optional.of(1.0));
+
+        Trace first = sampler.sampleHost("api.example.com");
+        Trace second = sampler.sampleHost("api.example.com");
+        second.request(requests::incrementAndGet);
+
+        assertTrue(first.isSampled());
+        assertFalse(second.isSampled());
+        assertFalse(second.response(500));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void testOffWhenTraceLoggingDisabled() {
+        if (!LogUtil.isTraceEnabled()) {
+            assertSame(Trace.OFF, sampler.sample("https://api.example.com/users"));
+            verifyNoInteractions(factory);
+        }
+    }
+}
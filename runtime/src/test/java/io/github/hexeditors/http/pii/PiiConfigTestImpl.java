@@ -14,8 +14,23 @@ public class PiiConfigTestImpl implements PiiConfig {
         return Map.of("password", "SECRET", "card", "SECRET");
     }
 
+    @Override
+    public Map<String, PiiPatternConfig> patterns() {
+        return Map.of();
+    }
+
+    @Override
+    public PiiMaskingConfig masking() {
+        return new PiiMaskingConfigTestImpl();
+    }
+
     @Override
     public String mask() {
         return "****";
     }
+
+    @Override
+    public int maxLoggedBodyLength() {
+        return 16384;
+    }
 }
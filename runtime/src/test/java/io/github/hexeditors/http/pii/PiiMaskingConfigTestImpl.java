@@ -0,0 +1,32 @@
+package io.github.hexeditors.http.pii;
+
+import java.util.Map;
+import java.util.Optional;
+
+public class PiiMaskingConfigTestImpl implements PiiMaskingConfig {
+
+    @Override
+    public MaskStrategy strategy() {
+        return MaskStrategy.FULL;
+    }
+
+    @Override
+    public Map<String, MaskStrategy> headers() {
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, MaskStrategy> json() {
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, MaskStrategy> patterns() {
+        return Map.of();
+    }
+
+    @Override
+    public Optional<String> hmacKey() {
+        return Optional.of("test-key");
+    }
+}
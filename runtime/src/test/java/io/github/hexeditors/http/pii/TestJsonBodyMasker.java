@@ -1,10 +1,19 @@
 package io.github.hexeditors.http.pii;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.github.hexeditors.http.TestInjectionUtil;
+import io.github.hexeditors.http.codec.JacksonPayloadCodec;
+import io.github.hexeditors.http.codec.PayloadCodec;
+import io.github.hexeditors.http.codec.PayloadCodecs;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class TestJsonBodyMasker {
 
@@ -18,8 +27,11 @@ class TestJsonBodyMasker {
         PiiClassifier classifier = new PiiClassifier();
         RegexPiiDetector regex = new RegexPiiDetector();
 
+        PiiMasker piiMasker = new PiiMasker();
+
         TestInjectionUtil.inject(classifier, config);
-        TestInjectionUtil.inject(masker, mapper, classifier, regex, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
 
         MaskingResult result =
                 masker.mask(mapper.readTree("""
@@ -42,8 +54,11 @@ class TestJsonBodyMasker {
         PiiClassifier classifier = new PiiClassifier();
         RegexPiiDetector regex = new RegexPiiDetector();
 
+        PiiMasker piiMasker = new PiiMasker();
+
         TestInjectionUtil.inject(classifier, config);
-        TestInjectionUtil.inject(masker, mapper, classifier, regex, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
 
         MaskingResult result = masker.mask(null);
 
@@ -60,12 +75,201 @@ class TestJsonBodyMasker {
         PiiClassifier classifier = new PiiClassifier();
         RegexPiiDetector regex = new RegexPiiDetector();
 
+        PiiMasker piiMasker = new PiiMasker();
+
         TestInjectionUtil.inject(classifier, config);
-        TestInjectionUtil.inject(masker, mapper, classifier, regex, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
 
         MaskingResult result = masker.mask("plain text");
 
         assertEquals("<unparseable-body>", result.getMaskedValue());
         assertEquals(PiiLevel.HIGH, result.getHighestLevel());
     }
+
+    @Test
+    void masksEncodedJsonBody() {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonBodyMasker masker = new JsonBodyMasker();
+
+        PiiConfig config = new PiiConfigTestImpl();
+        PiiClassifier classifier = new PiiClassifier();
+        RegexPiiDetector regex = new RegexPiiDetector();
+
+        PiiMasker piiMasker = new PiiMasker();
+
+        TestInjectionUtil.inject(classifier, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
+
+        MaskingResult result = masker.maskJson("{\"password\":\"secret\",\"name\":\"bob\"}".getBytes());
+
+        assertEquals("{\"password\":\"****\",\"name\":\"bob\"}", result.getMaskedValue());
+        assertEquals(PiiLevel.SECRET, result.getHighestLevel());
+        assertNull(masker.maskJson(null).getMaskedValue());
+        assertEquals("<unparseable-body>", masker.maskJson("not json".getBytes()).getMaskedValue());
+    }
+
+    @Test
+    void masksOnlyFieldsAtConfiguredPaths() {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonBodyMasker masker = new JsonBodyMasker();
+
+        PiiConfig config = new PiiConfigTestImpl() {
+            @Override
+            public Map<String, String> json() {
+                return Map.of(
+                        "$.customer.card.number", "SECRET",
+                        "items[*].ssn", "SECRET",
+                        "$.tokens[*]", "HIGH"
+                );
+            }
+        };
+        PiiClassifier classifier = new PiiClassifier();
+        RegexPiiDetector regex = new RegexPiiDetector();
+
+        PiiMasker piiMasker = new PiiMasker();
+
+        TestInjectionUtil.inject(classifier, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
+
+        MaskingResult result = masker.maskJson("""
+                {"customer":{"card":{"number":"x-1"}},"order":{"number":"o-1"},
+                 "items":[{"ssn":"s-1","sku":"a"},{"ssn":"s-2"}],"ssn":"top","tokens":["t-1","t-2"]}
+                """.getBytes());
+
+        assertEquals("{\"customer\":{\"card\":{\"number\":\"****\"}},\"order\":{\"number\":\"o-1\"},"
+                        + "\"items\":[{\"ssn\":\"****\",\"sku\":\"a\"},{\"ssn\":\"****\"}],\"ssn\":\"top\","
+                        + "\"tokens\":[\"****\",\"****\"]}",
+                result.getMaskedValue());
+        assertEquals(PiiLevel.SECRET, result.getHighestLevel());
+    }
+
+    @Test
+    void masksWithStrategyOfMatchingRule() {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonBodyMasker masker = new JsonBodyMasker();
+
+        PiiConfig config = new PiiConfigTestImpl() {
+            @Override
+            public Map<String, String> json() {
+                return Map.of("$.card.number", "SECRET", "$.codes[*]", "HIGH", "$.card.holder", "HIGH");
+            }
+
+            @Override
+            public PiiMaskingConfig masking() {
+                return new PiiMaskingConfigTestImpl() {
+                    @Override
+                    public Map<String, MaskStrategy> json() {
+                        return Map.of("$.card.number", MaskStrategy.FIRST6_LAST4, "$.codes[*]", MaskStrategy.LAST4);
+                    }
+
+                    @Override
+                    public Map<String, MaskStrategy> patterns() {
+                        return Map.of("SSN", MaskStrategy.LAST4);
+                    }
+                };
+            }
+        };
+        PiiClassifier classifier = new PiiClassifier();
+        RegexPiiDetector regex = new RegexPiiDetector();
+        PiiMasker piiMasker = new PiiMasker();
+
+        TestInjectionUtil.inject(classifier, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
+
+        MaskingResult result = masker.maskJson("""
+                {"card":{"number":4111111111111234,"holder":{"name":"x"}},"codes":["ABCD-1234-5678"],
+                 "note":"ssn 123-45-6789"}
+                """.getBytes());
+
+        assertEquals("{\"card\":{\"number\":\"411111******1234\",\"holder\":\"****\"},"
+                        + "\"codes\":[\"****-****-5678\"],\"note\":\"*** ***-**-6789\"}",
+                result.getMaskedValue());
+        assertEquals(PiiLevel.SECRET, result.getHighestLevel());
+    }
+
+    @Test
+    void masksBinaryBodyThroughTokenStream() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        JsonBodyMasker masker = new JsonBodyMasker();
+
+        PiiConfig config = new PiiConfigTestImpl();
+        PiiClassifier classifier = new PiiClassifier();
+        RegexPiiDetector regex = new RegexPiiDetector();
+
+        PiiMasker piiMasker = new PiiMasker();
+
+        TestInjectionUtil.inject(classifier, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
+
+        byte[] body = smile.writeValueAsBytes(Map.of("password", "secret"));
+        MaskingResult result = masker.maskEncoded(body, new JacksonPayloadCodec(PayloadCodecs.SMILE, smile));
+
+        assertEquals("{\"password\":\"****\"}", result.getMaskedValue());
+        assertEquals(PiiLevel.SECRET, result.getHighestLevel());
+    }
+
+    @Test
+    void summarizesOpaqueBinaryBody() {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonBodyMasker masker = new JsonBodyMasker();
+        TestInjectionUtil.inject(masker, mapper);
+
+        PayloadCodec opaque = mock(PayloadCodec.class);
+        when(opaque.tokenFactory()).thenReturn(Optional.empty());
+        when(opaque.mediaType()).thenReturn("application/x-protobuf");
+
+        MaskingResult result = masker.maskEncoded(new byte[]{8, 1}, opaque);
+
+        assertEquals("<binary content-type=application/x-protobuf length=2>", result.getMaskedValue());
+        assertEquals(PiiLevel.HIGH, result.getHighestLevel());
+        assertNull(masker.maskEncoded(null, opaque).getMaskedValue());
+    }
+
+    @Test
+    void truncatesLongBodyButScansAllOfIt() {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonBodyMasker masker = new JsonBodyMasker();
+
+        PiiConfig config = new PiiConfigTestImpl() {
+            @Override
+            public int maxLoggedBodyLength() {
+                return 40;
+            }
+        };
+        PiiClassifier classifier = new PiiClassifier();
+        RegexPiiDetector regex = new RegexPiiDetector();
+        PiiMasker piiMasker = new PiiMasker();
+
+        TestInjectionUtil.inject(classifier, config);
+        TestInjectionUtil.inject(piiMasker, config);
+        TestInjectionUtil.inject(masker, mapper, classifier, regex, config, piiMasker);
+
+        byte[] body = ("{\"notes\":\"" + "x".repeat(100) + "\",\"items\":[1,2,3],\"password\":\"secret\"}").getBytes();
+        MaskingResult result = masker.maskJson(body);
+
+        assertEquals("{\"notes\":\"" + "x".repeat(30) + "...<truncated, " + body.length + " bytes>",
+                result.getMaskedValue());
+        assertEquals(PiiLevel.SECRET, result.getHighestLevel());
+
+        MaskingResult small = masker.mask(Map.of("name", "bob"));
+        assertEquals("{\"name\":\"bob\"}", small.getMaskedValue());
+        assertEquals(PiiLevel.NONE, small.getHighestLevel());
+        assertTrue(masker.mask(Map.of("notes", "x".repeat(100))).getMaskedValue().endsWith("...<truncated>"));
+    }
+
+    @Test
+    void summarizesUnstructuredBody() {
+        JsonBodyMasker masker = new JsonBodyMasker();
+
+        MaskingResult result = masker.summarize("image/png", 2048);
+
+        assertEquals("<binary content-type=image/png length=2048>", result.getMaskedValue());
+        assertEquals(PiiLevel.NONE, result.getHighestLevel());
+    }
 }
@@ -0,0 +1,110 @@
+package io.github.hexeditors.http.pii;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestJsonPathMatcher {
+
+    @Test
+    void testAbsolutePathMatchesOnlyAtThatPosition() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(Map.of("$.customer.card.number", "SECRET"));
+
+        assertEquals(PiiLevel.SECRET, matcher.classify("$.customer.card.number"));
+        assertEquals(PiiLevel.SECRET, matcher.classify("customer.card.number"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.order.number"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.customer.card"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.wrapper.customer.card.number"));
+    }
+
+    @Test
+    void testDescendantMatchesAtAnyDepth() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(Map.of("$..password", "SECRET"));
+
+        assertEquals(PiiLevel.SECRET, matcher.classify("password"));
+        assertEquals(PiiLevel.SECRET, matcher.classify("$.user.credentials.password"));
+        assertEquals(PiiLevel.SECRET, matcher.classify("$.users[3].password"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.user.passwordHint"));
+    }
+
+    @Test
+    void testBareNamesMatchAtAnyDepthCaseInsensitively() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(Map.of("Email", "MEDIUM", "items[*].ssn", "SECRET"));
+
+        assertEquals(PiiLevel.MEDIUM, matcher.classify("email"));
+        assertEquals(PiiLevel.MEDIUM, matcher.classify("$.contact.EMAIL"));
+        assertEquals(PiiLevel.SECRET, matcher.classify("$.order.items[0].ssn"));
+        assertEquals(PiiLevel.SECRET, matcher.classify("items[1].SSN"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.order.items.ssn"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.order.ssn"));
+    }
+
+    @Test
+    void testWildcardsAndBracketNames() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(Map.of(
+                "$.secrets.*", "SECRET",
+                "$.tokens[*]", "HIGH",
+                "$['odd.name']", "LOW"
+        ));
+
+        assertEquals(PiiLevel.SECRET, matcher.classify("$.secrets.anything"));
+        assertEquals(PiiLevel.NONE, matcher.classify("$.secrets"));
+        assertEquals(PiiLevel.HIGH, matcher.classify("$.tokens[7]"));
+        assertEquals(PiiLevel.LOW, matcher.root().field("odd.name").level());
+    }
+
+    @Test
+    void testHighestOverlappingRuleWins() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(Map.of(
+                "$..number", "MEDIUM",
+                "$.card.number", "SECRET"
+        ));
+
+        assertEquals(PiiLevel.SECRET, matcher.classify("$.card.number"));
+        assertEquals(PiiLevel.MEDIUM, matcher.classify("$.phone.number"));
+    }
+
+    @Test
+    void testStatesAreSharedAndDeadBranchesStayDead() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(Map.of("$.customer.card.number", "SECRET"));
+
+        JsonPathMatcher.State first = matcher.root().field("customer").field("card");
+        JsonPathMatcher.State second = matcher.root().field("Customer").field("CARD");
+        JsonPathMatcher.State dead = matcher.root().field("order");
+
+        assertSame(first, second);
+        assertTrue(dead.isDead());
+        assertSame(dead, dead.field("card").element());
+    }
+
+    @Test
+    void testRejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatcher.compile(Map.of("$.items[0]", "HIGH")));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatcher.compile(Map.of("$.items[*", "HIGH")));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatcher.compile(Map.of("$", "HIGH")));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatcher.compile(Map.of("$..", "HIGH")));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatcher.compile(Map.of("$.a", "VERY_HIGH")));
+    }
+
+    @Test
+    void testStrategyOfStrictestRuleAtHighestLevel() {
+        JsonPathMatcher matcher = JsonPathMatcher.compile(
+                Map.of("number", "SECRET", "$.card.number", "SECRET", "$.card.*", "HIGH", "cvv", "SECRET"),
+                Map.of("number", MaskStrategy.FIRST6_LAST4, "$.card.number", MaskStrategy.HMAC,
+                        "$.card.*", MaskStrategy.LAST4));
+
+        JsonPathMatcher.State card = matcher.root().field("card");
+        assertEquals(MaskStrategy.HMAC, card.field("number").strategy());
+        assertEquals(MaskStrategy.FIRST6_LAST4, matcher.root().field("order").field("number").strategy());
+        assertEquals(MaskStrategy.LAST4, card.field("holder").strategy());
+        assertNull(card.field("cvv").strategy());
+        assertNull(matcher.root().field("other").strategy());
+    }
+
+    @Test
+    void testEmptyMatcher() {
+        assertEquals(PiiLevel.NONE, JsonPathMatcher.empty().classify("$.password"));
+    }
+}
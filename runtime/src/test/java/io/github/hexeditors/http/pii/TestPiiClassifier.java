@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TestPiiClassifier {
 
@@ -66,6 +67,24 @@ class TestPiiClassifier {
         assertEquals(PiiLevel.NONE, classifier.classifyJsonField("username"));
     }
 
+    @Test
+    void testClassifyJsonFieldPath() {
+        PiiConfig config = new PiiConfigTestImpl() {
+            @Override
+            public Map<String, String> json() {
+                return Map.of("$.customer.card.number", "SECRET", "$..password", "SECRET");
+            }
+        };
+        PiiClassifier classifier = new PiiClassifier();
+
+        TestInjectionUtil.inject(classifier, config);
+
+        assertEquals(PiiLevel.SECRET, classifier.classifyJsonField("$.customer.card.number"));
+        assertEquals(PiiLevel.SECRET, classifier.classifyJsonField("users[0].password"));
+        assertEquals(PiiLevel.NONE, classifier.classifyJsonField("number"));
+        assertSame(classifier.jsonPaths(), classifier.jsonPaths());
+    }
+
     @Test
     void testClassifyWithEmptyConfig() {
         PiiConfig config = new PiiConfigTestImpl() {
@@ -0,0 +1,148 @@
+package io.github.hexeditors.http.pii;
+
+import io.github.hexeditors.http.TestInjectionUtil;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPiiMasker {
+
+    private static PiiMasker masker(PiiMaskingConfig masking) {
+        PiiMasker masker = new PiiMasker();
+        TestInjectionUtil.inject(masker, new PiiConfigTestImpl() {
+            @Override
+            public PiiMaskingConfig masking() {
+                return masking;
+            }
+        });
+        return masker;
+    }
+
+    private static PiiMasker masker() {
+        return masker(new PiiMaskingConfigTestImpl());
+    }
+
+    @Test
+    void testFullMaskReplacesValue() {
+        assertEquals("****", masker().mask("secret", MaskStrategy.FULL));
+        assertEquals("****", masker().mask(null, MaskStrategy.LAST4));
+    }
+
+    @Test
+    void testLast4KeepsSeparators() {
+        assertEquals("**** **** **** 1234", masker().mask("4111 1111 1111 1234", MaskStrategy.LAST4));
+        assertEquals("****5678", masker().mask("12345678", MaskStrategy.LAST4));
+    }
+
+    @Test
+    void testFirst6Last4() {
+        assertEquals("411111******1234", masker().mask("4111111111111234", MaskStrategy.FIRST6_LAST4));
+        assertEquals("4111-11**-****-1234", masker().mask("4111-1111-1111-1234", MaskStrategy.FIRST6_LAST4));
+    }
+
+    @Test
+    void testShortValuesAreMaskedEntirely() {
+        assertEquals("*******", masker().mask("1234567", MaskStrategy.LAST4));
+        assertEquals("*************", masker().mask("4111111111123", MaskStrategy.FIRST6_LAST4));
+    }
+
+    @Test
+    void testHmacTokenIsDeterministicAndKeyed() throws Exception {
+        String token = masker().mask("alice@example.com", MaskStrategy.HMAC);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("test-key".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] expected = mac.doFinal("alice@example.com".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("tok_" + HexFormat.of().formatHex(expected, 0, 8), token);
+        assertEquals(token, masker().mask("alice@example.com", MaskStrategy.HMAC));
+        assertNotEquals(token, masker().mask("bob@example.com", MaskStrategy.HMAC));
+        assertNotEquals(token, masker(new PiiMaskingConfigTestImpl() {
+            @Override
+            public Optional<String> hmacKey() {
+                return Optional.of("other-key");
+            }
+        }).mask("alice@example.com", MaskStrategy.HMAC));
+    }
+
+    @Test
+    void testHmacTokenEncodesUtf8() throws Exception {
+        String value = "Zoë 😀 日本";
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("test-key".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] expected = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("tok_" + HexFormat.of().formatHex(expected, 0, 8), masker().mask(value, MaskStrategy.HMAC));
+    }
+
+    @Test
+    void testFormatPreservingKeepsShape() {
+        PiiMasker masker = masker();
+
+        String card = masker.mask("4111-1111-1111-1111", MaskStrategy.FORMAT_PRESERVING);
+        String email = masker.mask("John.Doe@example.com", MaskStrategy.FORMAT_PRESERVING);
+        String longValue = masker.mask("a".repeat(100), MaskStrategy.FORMAT_PRESERVING);
+
+        assertTrue(Pattern.matches("\\d{4}-\\d{4}-\\d{4}-\\d{4}", card), card);
+        assertNotEquals("4111-1111-1111-1111", card);
+        assertTrue(Pattern.matches("[A-Z][a-z]{3}\\.[A-Z][a-z]{2}@[a-z]{7}\\.[a-z]{3}", email), email);
+        assertTrue(Pattern.matches("[a-z]{100}", longValue), longValue);
+        assertNotEquals("a".repeat(100), longValue);
+        assertEquals(card, masker().mask("4111-1111-1111-1111", MaskStrategy.FORMAT_PRESERVING));
+        assertEquals("*", masker.mask("ë", MaskStrategy.FORMAT_PRESERVING));
+    }
+
+    @Test
+    void testMasksRangeIntoBuffer() {
+        PiiMasker masker = masker();
+        char[] buffer = "card=4111111111111234;".toCharArray();
+        StringBuilder out = new StringBuilder("card=");
+
+        for (MaskStrategy strategy : MaskStrategy.values()) {
+            out.setLength(5);
+            masker.mask(CharBuffer.wrap(buffer), 5, 21, strategy, out);
+            assertEquals("card=" + masker.mask("4111111111111234", strategy), out.toString());
+        }
+    }
+
+    @Test
+    void testResolvesStrategyPerRule() {
+        PiiMasker masker = masker(new PiiMaskingConfigTestImpl() {
+            @Override
+            public MaskStrategy strategy() {
+                return MaskStrategy.HMAC;
+            }
+
+            @Override
+            public Map<String, MaskStrategy> headers() {
+                return Map.of("Authorization", MaskStrategy.LAST4);
+            }
+
+            @Override
+            public Map<String, MaskStrategy> patterns() {
+                return Map.of("CREDIT_CARD", MaskStrategy.FIRST6_LAST4);
+            }
+        });
+        JsonPathMatcher paths = JsonPathMatcher.compile(Map.of("card", "SECRET", "ssn", "SECRET"),
+                Map.of("card", MaskStrategy.FORMAT_PRESERVING));
+
+        assertEquals(MaskStrategy.LAST4, masker.forHeader("authorization"));
+        assertEquals(MaskStrategy.HMAC, masker.forHeader("Cookie"));
+        assertEquals(MaskStrategy.FIRST6_LAST4, masker.forRule(RegexPiiDetector.BUILT_IN_RULES.get(0)));
+        assertEquals(MaskStrategy.HMAC, masker.forRule(new RegexPiiRule(RegexPiiType.CUSTOM,
+                Pattern.compile("x"), PiiLevel.HIGH, "custom", List.of())));
+        assertEquals(MaskStrategy.FORMAT_PRESERVING, masker.forPath(paths.root().field("card")));
+        assertEquals(MaskStrategy.HMAC, masker.forPath(paths.root().field("ssn")));
+    }
+}
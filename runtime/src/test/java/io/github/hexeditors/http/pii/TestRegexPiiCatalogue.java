@@ -0,0 +1,143 @@
+package io.github.hexeditors.http.pii;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRegexPiiCatalogue {
+
+    @Test
+    void testOrdersRulesByLevel() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.EMAIL, Pattern.compile("a"), PiiLevel.MEDIUM),
+                new RegexPiiRule(RegexPiiType.SSN, Pattern.compile("b"), PiiLevel.SECRET)
+        ));
+
+        assertEquals(List.of(RegexPiiType.SSN, RegexPiiType.EMAIL),
+                catalogue.rules().stream().map(RegexPiiRule::type).toList());
+    }
+
+    @Test
+    void testHigherLevelWinsAtSamePosition() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.PHONE, Pattern.compile("\\d{5}"), PiiLevel.MEDIUM),
+                new RegexPiiRule(RegexPiiType.CREDIT_CARD, Pattern.compile("\\d{8}"), PiiLevel.SECRET)
+        ));
+
+        assertEquals(PiiLevel.SECRET, catalogue.detect("12345678"));
+        assertEquals(PiiLevel.MEDIUM, catalogue.detect("12345"));
+    }
+
+    @Test
+    void testLowerMatchDoesNotHideLaterHigherMatch() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.PHONE, Pattern.compile("x\\d{4}"), PiiLevel.MEDIUM),
+                new RegexPiiRule(RegexPiiType.SSN, Pattern.compile("\\d{4}y"), PiiLevel.SECRET)
+        ));
+
+        assertEquals(PiiLevel.SECRET, catalogue.detect("x1234y"));
+    }
+
+    @Test
+    void testRulesWithoutTheirLiteralsAreSkipped() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("secret-\\w+"), PiiLevel.SECRET,
+                        "secret", List.of("secret-")),
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("\\w+-token"), PiiLevel.HIGH,
+                        "token", List.of("-token"))
+        ));
+
+        assertEquals(PiiLevel.SECRET, catalogue.detect("a secret-value"));
+        assertEquals(PiiLevel.HIGH, catalogue.detect("an api-token"));
+        assertEquals(PiiLevel.NONE, catalogue.detect("nothing here"));
+    }
+
+    @Test
+    void testKeepsFlagsOfEachRule() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("password", Pattern.CASE_INSENSITIVE),
+                        PiiLevel.SECRET, "password", List.of()),
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("token"), PiiLevel.HIGH, "token", List.of())
+        ));
+
+        assertEquals(PiiLevel.SECRET, catalogue.detect("PASSWORD"));
+        assertEquals(PiiLevel.NONE, catalogue.detect("TOKEN"));
+    }
+
+    @Test
+    void testMatchReturnsRuleOfHighestLevel() {
+        RegexPiiRule phone = new RegexPiiRule(RegexPiiType.PHONE, Pattern.compile("x\\d{4}"), PiiLevel.MEDIUM);
+        RegexPiiRule ssn = new RegexPiiRule(RegexPiiType.SSN, Pattern.compile("\\d{4}y"), PiiLevel.SECRET);
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(phone, ssn));
+
+        assertEquals(ssn, catalogue.match("x1234y"));
+        assertEquals(phone, catalogue.match("x1234"));
+        assertNull(catalogue.match("nothing"));
+        assertNull(catalogue.match(null));
+    }
+
+    @Test
+    void testLowerMatchesDoNotRescanTheValue() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("[a-z]+@x\\.com"), PiiLevel.MEDIUM, "email",
+                        List.of("@")),
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("\\d{16}"), PiiLevel.SECRET, "pan", List.of())
+        ));
+        String value = "a".repeat(200_000) + "@x.com";
+
+        long start = System.nanoTime();
+        assertEquals(PiiLevel.MEDIUM, catalogue.detect(value));
+        // restarting the lower-level match at every position of the run takes several seconds
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    }
+
+    @Test
+    void testKeepsBackReferencesAndNamedGroupsOfEachRule() {
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(List.of(
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("q(z)"), PiiLevel.SECRET, "qz", List.of()),
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("(\\w)\\1{3}"), PiiLevel.HIGH, "repeat", List.of()),
+                new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("(?<pii0>#)\\d"), PiiLevel.MEDIUM, "tag", List.of())
+        ));
+
+        assertEquals(PiiLevel.HIGH, catalogue.detect("id aaaa and #1"));
+        assertEquals(PiiLevel.MEDIUM, catalogue.detect("id abcd and #1"));
+        assertEquals(PiiLevel.SECRET, catalogue.detect("qz aaaa"));
+        assertEquals(PiiLevel.NONE, catalogue.detect("abcd"));
+        assertTrue(RegexPiiCatalogue.needsOwnPattern("(?<name>x)\\k<name>"));
+        assertFalse(RegexPiiCatalogue.needsOwnPattern("(?<=a)\\\\1\\Q\\1\\E(?<!b)"));
+    }
+
+    @Test
+    void testBoundsCachedCombinations() {
+        List<RegexPiiRule> rules = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rules.add(new RegexPiiRule(RegexPiiType.CUSTOM, Pattern.compile("k" + i + "\\d"),
+                    PiiLevel.values()[1 + i % 4], "k" + i, List.of("k" + i)));
+        }
+        RegexPiiCatalogue catalogue = new RegexPiiCatalogue(rules);
+
+        for (int subset = 1; subset < 1 << 10; subset++) {
+            StringBuilder value = new StringBuilder();
+            PiiLevel expected = PiiLevel.NONE;
+            for (int i = 0; i < 10; i++) {
+                if ((subset & 1 << i) != 0) {
+                    value.append(" k").append(i).append(i % 2 == 0 ? "7" : "x");
+                    if (i % 2 == 0 && rules.get(i).level().compareTo(expected) > 0) {
+                        expected = rules.get(i).level();
+                    }
+                }
+            }
+            assertEquals(expected, catalogue.detect(value.toString()), value::toString);
+        }
+        assertTrue(catalogue.combinations() <= RegexPiiCatalogue.MAX_COMBINATIONS);
+    }
+
+    @Test
+    void testEmptyCatalogue() {
+        assertEquals(PiiLevel.NONE, new RegexPiiCatalogue(List.of()).detect("4111111111111111"));
+    }
+}
@@ -2,6 +2,7 @@ package io.github.hexeditors.http.pii;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +40,20 @@ class TestRegexPiiRule {
         assertNotEquals(rule1, rule2);
     }
 
+    @Test
+    void testNameAndLiteralsDefaultToType() {
+        Pattern pattern = Pattern.compile("eyJ\\S+");
+
+        RegexPiiRule unconditional = new RegexPiiRule(RegexPiiType.JWT, pattern, PiiLevel.HIGH);
+        RegexPiiRule prefiltered = new RegexPiiRule(RegexPiiType.JWT, pattern, PiiLevel.HIGH, List.of("eyJ"));
+
+        assertEquals("JWT", unconditional.name());
+        assertEquals(List.of(), unconditional.literals());
+        assertEquals(List.of("eyJ"), prefiltered.literals());
+        assertThrows(IllegalArgumentException.class,
+                () -> new RegexPiiRule(RegexPiiType.CUSTOM, pattern, PiiLevel.HIGH, "custom", List.of("")));
+    }
+
     @Test
     void testToString() {
         Pattern pattern = Pattern.compile("simple");
@@ -8,9 +8,15 @@ class TestRegexPiiType {
 
     @Test
     void testEnumValues() {
-        assertEquals(2, RegexPiiType.values().length);
+        assertEquals(8, RegexPiiType.values().length);
         assertEquals(RegexPiiType.CREDIT_CARD, RegexPiiType.valueOf("CREDIT_CARD"));
         assertEquals(RegexPiiType.SSN, RegexPiiType.valueOf("SSN"));
+        assertEquals(RegexPiiType.IBAN, RegexPiiType.valueOf("IBAN"));
+        assertEquals(RegexPiiType.EMAIL, RegexPiiType.valueOf("EMAIL"));
+        assertEquals(RegexPiiType.PHONE, RegexPiiType.valueOf("PHONE"));
+        assertEquals(RegexPiiType.JWT, RegexPiiType.valueOf("JWT"));
+        assertEquals(RegexPiiType.AWS_ACCESS_KEY, RegexPiiType.valueOf("AWS_ACCESS_KEY"));
+        assertEquals(RegexPiiType.CUSTOM, RegexPiiType.valueOf("CUSTOM"));
     }
 
     @Test
@@ -0,0 +1,99 @@
+package io.github.hexeditors.http.ratelimit;
+
+import io.github.hexeditors.http.impl.WebClientFactory;
+import io.vertx.mutiny.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestRateLimiters {
+
+    private Vertx vertx;
+    private RateLimiters rateLimiters;
+
+    @BeforeEach
+    void setUp() {
+        WebClientFactory factory = mock(WebClientFactory.class);
+        when(factory.rateLimitPerSecond("quota.example.com")).thenReturn(Optional.of(20.0));
+        when(factory.rateLimitBurst("quota.example.com")).thenReturn(Optional.of(1));
+        when(factory.rateLimitPerSecond("free.example.com")).thenReturn(Optional.empty());
+
+        vertx = Vertx.vertx();
+        rateLimiters = new RateLimiters();
+        rateLimiters.factory = factory;
+        rateLimiters.vertx = vertx;
+    }
+
+    @AfterEach
+    void tearDown() {
+        vertx.closeAndAwait();
+    }
+
+    @Test
+    void testUnlimitedHostNeverWaits() {
+        for (int i = 0; i < 100; i++) {
+            assertDoesNotThrow(() -> rateLimiters.acquire("free.example.com", 0).await().atMost(Duration.ofMillis(100)));
+        }
+    }
+
+    @Test
+    void testWaitsAsynchronouslyForPermit() {
+        rateLimiters.acquire("quota.example.com", 0).await().atMost(Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        rateLimiters.acquire("quota.example.com", 1000).await().atMost(Duration.ofSeconds(1));
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(40).toNanos());
+    }
+
+    @Test
+    void testFailsWhenWaitExceedsMaximum() {
+        rateLimiters.acquire("quota.example.com", 0).await().atMost(Duration.ofSeconds(1));
+
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiters.acquire("quota.example.com", 0).await().atMost(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testRetryAfterPausesHost() {
+        rateLimiters.observe("quota.example.com", 429, Map.of("Retry-After", "5")::get);
+
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiters.acquire("quota.example.com", 1000).await().atMost(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testPauseFromRetryAfter() {
+        assertEquals(5000, RateLimiters.pauseMillis(429, Map.of("Retry-After", "5")::get));
+        assertEquals(3000, RateLimiters.pauseMillis(503, Map.of("Retry-After", " 3 ")::get));
+        assertEquals(0, RateLimiters.pauseMillis(200, Map.of("Retry-After", "5")::get));
+        assertEquals(0, RateLimiters.pauseMillis(429, Map.of("Retry-After", "soon")::get));
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        long pause = RateLimiters.pauseMillis(429, Map.of("Retry-After", date)::get);
+        assertTrue(pause > 28_000 && pause <= 30_000, "pause " + pause);
+    }
+
+    @Test
+    void testPauseFromRateLimitHeaders() {
+        assertEquals(7000, RateLimiters.pauseMillis(200,
+                Map.of("RateLimit-Remaining", "0", "RateLimit-Reset", "7")::get));
+        assertEquals(0, RateLimiters.pauseMillis(200,
+                Map.of("RateLimit-Remaining", "12", "RateLimit-Reset", "7")::get));
+        assertEquals(4000, RateLimiters.pauseMillis(200,
+                Map.of("RateLimit", "limit=100, remaining=0, reset=4")::get));
+        assertEquals(9000, RateLimiters.pauseMillis(429,
+                Map.of("Retry-After", "2", "RateLimit-Remaining", "0", "RateLimit-Reset", "9")::get));
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.hexeditors.http.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTokenBucket {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void testAllowsBurstThenSpacesRequests() {
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        assertEquals(0, bucket.reserve(SECOND));
+        assertEquals(0, bucket.reserve(SECOND));
+        assertEquals(SECOND / 10, bucket.reserve(SECOND));
+        assertEquals(2 * SECOND / 10, bucket.reserve(SECOND));
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0));
+
+        now.addAndGet(SECOND / 10);
+
+        assertEquals(0, bucket.reserve(0));
+    }
+
+    @Test
+    void testRejectionReservesNothing() {
+        TokenBucket bucket = new TokenBucket(1, 1, now::get);
+        assertEquals(0, bucket.reserve(0));
+
+        assertEquals(-1, bucket.reserve(SECOND / 2));
+        assertEquals(-1, bucket.reserve(SECOND / 2));
+
+        assertEquals(SECOND, bucket.reserve(SECOND));
+    }
+
+    @Test
+    void testPauseHoldsBackPermits() {
+        TokenBucket bucket = new TokenBucket(100, 5, now::get);
+
+        bucket.pauseFor(2 * SECOND);
+
+        assertEquals(2 * SECOND, bucket.reserve(5 * SECOND));
+        assertEquals(2 * SECOND + SECOND / 100, bucket.reserve(5 * SECOND));
+    }
+
+    @Test
+    void testEarlierPauseIsIgnored() {
+        TokenBucket bucket = new TokenBucket(100, 1, now::get);
+
+        bucket.pauseFor(2 * SECOND);
+        bucket.pauseFor(SECOND);
+
+        assertEquals(2 * SECOND, bucket.reserve(5 * SECOND));
+    }
+}
@@ -1,12 +1,16 @@
 package io.github.hexeditors.http.util;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.core.Vertx;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.MDC;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @QuarkusTest
@@ -63,4 +67,64 @@ class TestCorrelationIdUtil {
     void testDefaultHeaderName() {
         assertEquals("X-Correlation-Id", correlationIdUtil.getHeaderName());
     }
+
+    @Test
+    void testOpenRestoresPreviousMDC() {
+        MDC.put(correlationIdUtil.getHeaderName(), "outer-1");
+
+        try (CorrelationIdUtil.Scope scope = correlationIdUtil.open("inner-2")) {
+            assertEquals("inner-2", scope.correlationId());
+            assertEquals("inner-2", MDC.get(correlationIdUtil.getHeaderName()));
+        }
+
+        assertEquals("outer-1", MDC.get(correlationIdUtil.getHeaderName()));
+    }
+
+    @Test
+    void testOpenClearsMDCWhenNothingWasBound() {
+        try (CorrelationIdUtil.Scope scope = correlationIdUtil.open(null)) {
+            assertNotNull(scope.correlationId());
+        }
+
+        assertNull(MDC.get(correlationIdUtil.getHeaderName()));
+    }
+
+    @Test
+    void testOpenRestoresPreviousIdOnDuplicatedContext() throws Exception {
+        CompletableFuture<String> restored = new CompletableFuture<>();
+
+        correlationIdUtil.callExecutor("inbound-1").execute(() -> {
+            try (CorrelationIdUtil.Scope scope = correlationIdUtil.open("call-2")) {
+                assertEquals("call-2", correlationIdUtil.current());
+            }
+            restored.complete(correlationIdUtil.current());
+        });
+
+        assertEquals("inbound-1", restored.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testOpenRemovesIdItBoundOnDuplicatedContext() throws Exception {
+        CompletableFuture<String> restored = new CompletableFuture<>();
+
+        correlationIdUtil.callExecutor("inbound-1").execute(() -> {
+            Vertx.currentContext().removeLocal(correlationIdUtil.getHeaderName());
+            try (CorrelationIdUtil.Scope scope = correlationIdUtil.open("call-2")) {
+                assertEquals("call-2", correlationIdUtil.current());
+            }
+            restored.complete(correlationIdUtil.current());
+        });
+
+        assertNull(restored.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCallExecutorBindsIdOnDuplicatedContext() throws Exception {
+        CompletableFuture<String> seen = new CompletableFuture<>();
+
+        correlationIdUtil.callExecutor("ctx-789").execute(() -> seen.complete(correlationIdUtil.current()));
+
+        assertEquals("ctx-789", seen.get(5, TimeUnit.SECONDS));
+        assertNull(MDC.get(correlationIdUtil.getHeaderName()));
+    }
 }
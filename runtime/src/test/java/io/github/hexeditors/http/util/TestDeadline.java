@@ -0,0 +1,56 @@
+package io.github.hexeditors.http.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDeadline {
+
+    @Test
+    void testNoneIsUnbounded() {
+        Deadline none = Deadline.none();
+
+        assertFalse(none.isBounded());
+        assertFalse(none.isExpired());
+        assertEquals(Long.MAX_VALUE, none.remainingMillis());
+    }
+
+    @Test
+    void testAfterCountsDown() {
+        Deadline deadline = Deadline.after(60_000);
+
+        assertTrue(deadline.isBounded());
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remainingMillis() > 59_000);
+        assertTrue(deadline.remainingMillis() <= 60_000);
+    }
+
+    @Test
+    void testZeroBudgetIsExpired() {
+        Deadline deadline = Deadline.after(0);
+
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingMillis());
+    }
+
+    @Test
+    void testHugeBudgetDoesNotOverflow() {
+        Deadline deadline = Deadline.after(Long.MAX_VALUE);
+
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remainingMillis() > 0);
+        assertTrue(Deadline.after(1_000).earliest(deadline).remainingMillis() <= 1_000);
+    }
+
+    @Test
+    void testEarliestPicksTighterDeadline() {
+        Deadline loose = Deadline.after(60_000);
+        Deadline tight = Deadline.after(1_000);
+
+        assertSame(tight, loose.earliest(tight));
+        assertSame(tight, tight.earliest(loose));
+        assertSame(tight, Deadline.none().earliest(tight));
+        assertSame(tight, tight.earliest(Deadline.none()));
+        assertSame(tight, tight.earliest(null));
+    }
+}
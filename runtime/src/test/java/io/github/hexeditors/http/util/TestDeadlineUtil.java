@@ -0,0 +1,75 @@
+package io.github.hexeditors.http.util;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.common.vertx.VertxContext;
+import io.vertx.core.Vertx;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class TestDeadlineUtil {
+
+    @Inject
+    DeadlineUtil deadlineUtil;
+
+    @Inject
+    Vertx vertx;
+
+    private <T> T onDuplicatedContext(Supplier<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        VertxContext.createNewDuplicatedContext(vertx.getOrCreateContext())
+                .runOnContext(ignored -> result.complete(action.get()));
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testDefaultHeaderName() {
+        assertEquals("X-Request-Deadline", deadlineUtil.getHeaderName());
+        assertTrue(deadlineUtil.isPropagated());
+    }
+
+    @Test
+    void testForCallUsesConfiguredBudget() {
+        Deadline deadline = deadlineUtil.forCall();
+
+        assertTrue(deadline.isBounded());
+        assertTrue(deadline.remainingMillis() <= 10_000);
+        assertFalse(deadlineUtil.current().isBounded());
+    }
+
+    @Test
+    void testInboundDeadlineBoundsCall() throws Exception {
+        Deadline deadline = onDuplicatedContext(() -> {
+            deadlineUtil.bind("250");
+            return deadlineUtil.forCall();
+        });
+
+        assertTrue(deadline.remainingMillis() <= 250);
+    }
+
+    @Test
+    void testLooseInboundDeadlineKeepsConfiguredBudget() throws Exception {
+        Deadline deadline = onDuplicatedContext(() -> {
+            deadlineUtil.bind("60000");
+            return deadlineUtil.forCall();
+        });
+
+        assertTrue(deadline.remainingMillis() <= 10_000);
+    }
+
+    @Test
+    void testMalformedInboundDeadlineIsIgnored() throws Exception {
+        Deadline inbound = onDuplicatedContext(() -> {
+            deadlineUtil.bind("soon");
+            return deadlineUtil.current();
+        });
+
+        assertFalse(inbound.isBounded());
+    }
+}
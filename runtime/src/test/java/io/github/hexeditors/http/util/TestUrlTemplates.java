@@ -0,0 +1,80 @@
+package io.github.hexeditors.http.util;
+
+import io.github.hexeditors.http.TestInjectionUtil;
+import io.github.hexeditors.http.config.HttpClientConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TestUrlTemplates {
+
+    private static UrlTemplates templates(List<String> configured, int cacheSize) {
+        HttpClientConfig config = mock(HttpClientConfig.class);
+        when(config.urlTemplates()).thenReturn(configured.isEmpty() ? Optional.empty() : Optional.of(configured));
+        when(config.urlTemplateCacheSize()).thenReturn(cacheSize);
+        UrlTemplates templates = new UrlTemplates();
+        TestInjectionUtil.inject(templates, config);
+        return templates;
+    }
+
+    @Test
+    void testTemplatesIdentifierSegments() {
+        UrlTemplates templates = templates(List.of(), 16);
+
+        assertEquals("/users/{id}/orders/{id}", templates.template("/users/123/orders/9"));
+        assertEquals("https://api.example.com/users/{id}/orders/{id}",
+                templates.template("https://api.example.com/users/123/orders/9?expand=items#top"));
+        assertEquals("https://api.example.com/v2/accounts/{id}/sha256",
+                templates.template("https://api.example.com/v2/accounts/3f2b9c1e-7a4d-4e8b-9c0a-1d2e3f4a5b6c/sha256"));
+        assertEquals("https://api.example.com/", templates.template("https://api.example.com?q=1"));
+        assertEquals("/customers/{id}/", templates.template("/customers/alice%40example.com/"));
+        assertNull(templates.template(null));
+    }
+
+    @Test
+    void testRecognisesIdentifiers() {
+        assertTrue(UrlTemplates.isIdentifier("42"));
+        assertTrue(UrlTemplates.isIdentifier("5f1d7a9e"));
+        assertTrue(UrlTemplates.isIdentifier("ord-123456"));
+        assertTrue(UrlTemplates.isIdentifier("2024-01-31"));
+        assertTrue(UrlTemplates.isIdentifier("cus_N1k2D3q4R5s6T7u8"));
+        assertTrue(UrlTemplates.isIdentifier("bob@example.com"));
+        assertFalse(UrlTemplates.isIdentifier("v1"));
+        assertFalse(UrlTemplates.isIdentifier("oauth2"));
+        assertFalse(UrlTemplates.isIdentifier("orders"));
+        assertFalse(UrlTemplates.isIdentifier("deadbeef"));
+    }
+
+    @Test
+    void testPrefersConfiguredTemplates() {
+        UrlTemplates templates = templates(List.of("/users/{userId}/orders/{orderId}", "reports/{name}"), 16);
+
+        assertEquals("https://shop.test/users/{userId}/orders/{orderId}",
+                templates.template("https://shop.test/users/alice/orders/9"));
+        assertEquals("/reports/{name}", templates.template("/reports/monthly"));
+        assertEquals("/users/{id}", templates.template("/users/77"));
+    }
+
+    @Test
+    void testCachesByUrlWithoutQuery() {
+        UrlTemplates templates = templates(List.of(), 2);
+
+        String first = templates.template("/users/1?a=1");
+        assertSame(first, templates.template("/users/1?a=2"));
+        templates.template("/users/2");
+        templates.template("/users/3");
+        assertNotSame(first, templates.template("/users/1"));
+        assertEquals(first, templates.template("/users/1"));
+    }
+
+    @Test
+    void testWorksWithoutCache() {
+        UrlTemplates templates = templates(List.of(), 0);
+
+        assertEquals("/users/{id}", templates.template("/users/1"));
+    }
+}